@@ -0,0 +1,45 @@
+package com.edilson.justiniano.kalah.api.service;
+
+import com.edilson.justiniano.kalah.api.model.GameRequest;
+import com.edilson.justiniano.kalah.api.model.GameResponse;
+import com.edilson.justiniano.kalah.persistence.game.id.TimeOrderedGameIdGenerator;
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for {@link GameBuilder#buildGameStatusResponse(Game)}, the response of every movement
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameBuilderBenchmark {
+
+    private GameBuilder gameBuilder;
+    private Game game;
+
+    @Setup
+    public void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources()
+                .addFirst(new MapPropertySource("benchmark", Collections.singletonMap("server.port", "8080")));
+
+        gameBuilder = new GameBuilder(environment, new TimeOrderedGameIdGenerator(environment));
+        game = gameBuilder.buildGame(new GameRequest());
+    }
+
+    @Benchmark
+    public GameResponse buildGameStatusResponse() {
+        return gameBuilder.buildGameStatusResponse(game);
+    }
+}
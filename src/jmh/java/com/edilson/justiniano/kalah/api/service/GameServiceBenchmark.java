@@ -0,0 +1,103 @@
+package com.edilson.justiniano.kalah.api.service;
+
+import com.edilson.justiniano.kalah.ai.ComputerPlayer;
+import com.edilson.justiniano.kalah.api.exception.GameApiException;
+import com.edilson.justiniano.kalah.api.model.GameResponse;
+import com.edilson.justiniano.kalah.endgame.EndgameDatabase;
+import com.edilson.justiniano.kalah.engine.BoardGeometry;
+import com.edilson.justiniano.kalah.persistence.game.cache.GameLoader;
+import com.edilson.justiniano.kalah.persistence.game.cache.RunningGameCache;
+import com.edilson.justiniano.kalah.persistence.game.id.TimeOrderedGameIdGenerator;
+import com.edilson.justiniano.kalah.persistence.game.model.Board;
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import com.edilson.justiniano.kalah.persistence.game.repository.GameRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.RUNNING;
+import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_ONE;
+import static java.time.Instant.now;
+
+/**
+ * Benchmark for {@link GameService#makeMovement(String, int)}: validation, sowing, capture, game over check and the
+ * response. The repository keeps the game in memory so Mongo is not part of the numbers, and the logs of the service
+ * are off on the benchmark JVM (logback-jmh.xml) so the console is not either.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameServiceBenchmark {
+
+    private static final String GAME_ID = "gameId";
+    private static final int PIT_ID = 3;
+
+    private GameService gameService;
+
+    @Setup
+    public void setUp() {
+        Game game = Game.builder()
+                .gameId(GAME_ID)
+                .version(0L)
+                .startedTime(now().toEpochMilli())
+                .gameStatus(RUNNING)
+                .nextPlayer(PLAYER_ONE)
+                .board(Board.builder().pits(BoardGeometry.standard().initialPits(BoardGeometry.STANDARD_SEEDS_PER_PIT)).build())
+                .build();
+
+        // The cache of the running games is disabled, every movement reads and writes the in memory repository
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", "8080");
+        properties.put("kalah.cache.max-games", "0");
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+
+        GameRepository gameRepository = inMemoryRepository(game);
+        gameService = new GameService(new GameBuilder(environment, new TimeOrderedGameIdGenerator(environment)), new GameDataValidator(), gameRepository,
+                                      new GamePlay(new ComputerPlayer(environment, EndgameDatabase.empty())),
+                                      new RunningGameCache(gameRepository, environment),
+                                      new GameMovementSequencer(environment, new SimpleMeterRegistry()),
+                                      new GameLoader(gameRepository, environment, new SimpleMeterRegistry()),
+                                      event -> { });
+    }
+
+    @Benchmark
+    public GameResponse makeMovement() throws GameApiException {
+        // Every invocation plays the same first movement on a new game
+        return gameService.makeMovement(GAME_ID, PIT_ID);
+    }
+
+    /*
+     * Every read gets a copy of the new game, like from the database, so the movements written (the journal) are not
+     * played again by the next invocation
+     */
+    private static GameRepository inMemoryRepository(Game game) {
+        return (GameRepository) Proxy.newProxyInstance(GameRepository.class.getClassLoader(),
+                new Class<?>[] {GameRepository.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findById":
+                            return Optional.of(game.copy());
+                        case "save":
+                            return args[0];
+                        case "updateMovement":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
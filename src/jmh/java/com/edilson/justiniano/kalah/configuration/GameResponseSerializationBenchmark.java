@@ -0,0 +1,63 @@
+package com.edilson.justiniano.kalah.configuration;
+
+import com.edilson.justiniano.kalah.api.model.GameResponse;
+import com.edilson.justiniano.kalah.api.model.PitStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the JSON serialization of {@link GameResponse} with the object mapper of {@link JsonMapperConfig}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameResponseSerializationBenchmark {
+
+    private ObjectWriter writer;
+    // The board as it is built by the application and as a map, like the ones read from a JSON
+    private GameResponse gameResponse;
+    private GameResponse gameResponseWithMap;
+
+    @Setup
+    public void setUp() {
+        writer = new JsonMapperConfig().objectMapper().writerFor(GameResponse.class);
+
+        int[] pits = new int[14];
+        Map<Integer, Integer> status = new HashMap<>();
+        for (int i = 1; i <= 14; i++) {
+            pits[i - 1] = i % 7 == 0 ? 0 : 6;
+            status.put(i, pits[i - 1]);
+        }
+        gameResponse = GameResponse.builder()
+                .id("8d8e7a6c-4b0e-4b1e-9f4e-3c3b2a1d0e9f")
+                .url("127.0.0.1:8080/games/8d8e7a6c-4b0e-4b1e-9f4e-3c3b2a1d0e9f")
+                .status(new PitStatus(pits))
+                .build();
+        gameResponseWithMap = GameResponse.builder()
+                .id(gameResponse.getId())
+                .url(gameResponse.getUrl())
+                .status(status)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] writeGameResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(gameResponse);
+    }
+
+    @Benchmark
+    public byte[] writeGameResponseWithMap() throws JsonProcessingException {
+        return writer.writeValueAsBytes(gameResponseWithMap);
+    }
+}
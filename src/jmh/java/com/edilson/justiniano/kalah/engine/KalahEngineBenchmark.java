@@ -0,0 +1,117 @@
+package com.edilson.justiniano.kalah.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_ONE;
+
+/**
+ * Benchmarks for {@link KalahEngine}: a single move (sowing, capture and game over check), a whole game and random
+ * games like the simulations, over the pits array and over a {@link PackedBoard}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KalahEngineBenchmark {
+
+    @Param({"6"})
+    private int pitsPerSide;
+
+    // 6 is the standard game, 48 is the high-seed variant where a move sows several laps
+    @Param({"6", "48"})
+    private int seedsPerPit;
+
+    private KalahEngine engine;
+    private int[] initialPits;
+    private int[] pits;
+    private PackedBoard initialBoard;
+    private PackedBoard board;
+    // The same seed on every run, so both boards play the same games
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        BoardGeometry geometry = BoardGeometry.of(pitsPerSide);
+        engine = KalahEngine.of(geometry);
+        initialPits = geometry.initialPits(seedsPerPit);
+        pits = new int[initialPits.length];
+        initialBoard = PackedBoard.of(initialPits);
+        board = initialBoard.copy();
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public int move() {
+        System.arraycopy(initialPits, 0, pits, 0, pits.length);
+        return engine.move(pits, PLAYER_ONE, 2);
+    }
+
+    @Benchmark
+    public int playGame() {
+        System.arraycopy(initialPits, 0, pits, 0, pits.length);
+        BoardGeometry geometry = engine.getGeometry();
+        int player = PLAYER_ONE;
+        int outcome = 0;
+
+        // Deterministic game: every player always plays its first pit with stones
+        while (!KalahEngine.isGameOver(outcome)) {
+            int pitIndex = geometry.firstPitIndex(player);
+            while (pits[pitIndex] == 0) {
+                pitIndex++;
+            }
+            outcome = engine.move(pits, player, pitIndex);
+            player = KalahEngine.nextPlayer(outcome, player);
+        }
+        return engine.score(pits, PLAYER_ONE);
+    }
+
+    @Benchmark
+    public int movePacked() {
+        board.copyFrom(initialBoard);
+        return engine.move(board, PLAYER_ONE, 2);
+    }
+
+    /*
+     * Random games like the simulations: every move goes through the legal movements of the player
+     */
+    @Benchmark
+    public int playout() {
+        System.arraycopy(initialPits, 0, pits, 0, pits.length);
+        int player = PLAYER_ONE;
+        int outcome = 0;
+        while (!KalahEngine.isGameOver(outcome)) {
+            outcome = engine.move(pits, player, randomMove(engine.legalMoves(pits, player)));
+            player = KalahEngine.nextPlayer(outcome, player);
+        }
+        return engine.score(pits, PLAYER_ONE);
+    }
+
+    @Benchmark
+    public int playoutPacked() {
+        board.copyFrom(initialBoard);
+        int player = PLAYER_ONE;
+        int outcome = 0;
+        while (!KalahEngine.isGameOver(outcome)) {
+            outcome = engine.move(board, player, randomMove(engine.legalMoves(board, player)));
+            player = KalahEngine.nextPlayer(outcome, player);
+        }
+        return engine.score(board, PLAYER_ONE);
+    }
+
+    private int randomMove(int legalMoves) {
+        int remainingMoves = legalMoves;
+        for (int skip = random.nextInt(Integer.bitCount(legalMoves)); skip > 0; skip--) {
+            remainingMoves &= remainingMoves - 1;
+        }
+        return Integer.numberOfTrailingZeros(remainingMoves);
+    }
+}
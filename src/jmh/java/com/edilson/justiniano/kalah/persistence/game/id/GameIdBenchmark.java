@@ -0,0 +1,54 @@
+package com.edilson.justiniano.kalah.persistence.game.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the {@link GameIdGenerator} implementations. It runs with several threads to also show the contention
+ * of the id generation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameIdBenchmark {
+
+    private GameIdGenerator uuidGenerator;
+    private GameIdGenerator timeOrderedGenerator;
+
+    @Setup
+    public void setUp() {
+        uuidGenerator = new UuidGameIdGenerator();
+        timeOrderedGenerator = new TimeOrderedGameIdGenerator(new StandardEnvironment());
+    }
+
+    @Benchmark
+    public String generateUuid() {
+        return uuidGenerator.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateUuidConcurrently() {
+        return uuidGenerator.nextId();
+    }
+
+    @Benchmark
+    public String generateTimeOrderedId() {
+        return timeOrderedGenerator.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateTimeOrderedIdConcurrently() {
+        return timeOrderedGenerator.nextId();
+    }
+}
@@ -0,0 +1,202 @@
+package com.edilson.justiniano.kalah.ai;
+
+import com.edilson.justiniano.kalah.endgame.EndgameDatabase;
+import com.edilson.justiniano.kalah.engine.BoardGeometry;
+import com.edilson.justiniano.kalah.engine.KalahEngine;
+
+import static com.edilson.justiniano.kalah.ai.TranspositionTable.EMPTY;
+import static com.edilson.justiniano.kalah.ai.TranspositionTable.EXACT;
+import static com.edilson.justiniano.kalah.ai.TranspositionTable.LOWER_BOUND;
+import static com.edilson.justiniano.kalah.ai.TranspositionTable.UPPER_BOUND;
+
+/**
+ * Negamax search with alpha-beta pruning and iterative deepening until the deadline. The movements are applied by the
+ * {@link KalahEngine}, so the extra turns and captures are exactly the same of the game: after an extra turn the same
+ * player searches again (no negation), otherwise the value is negated for the opponent.
+ *
+ * The values are the difference of stones for the player to play: the kalahs while searching and the final score
+ * when the game is over. The positions on the endgame database are not searched, their exact value is read from it.
+ * One instance is used per search (it keeps one board per ply), the table and the database are shared.
+ */
+class AlphaBetaSearch {
+
+    static final int MAX_DEPTH = 64;
+
+    // Depth stored for a position searched until the end of the game: it is valid for any depth
+    private static final int SOLVED_DEPTH = TranspositionTable.MAX_STORED_DEPTH;
+    private static final int INFINITY = Short.MAX_VALUE;
+    private static final int CLOCK_CHECK_MASK = 0x3FF;
+
+    private final KalahEngine engine;
+    private final BoardGeometry geometry;
+    private final TranspositionTable table;
+    private final EndgameDatabase endgameDatabase;
+    private final long deadline;
+    private final int[][] boards;
+
+    private long nodes;
+    private int completedDepth;
+    private boolean aborted;
+    // Set when a position was evaluated because of the depth, so the search was not until the end of the game
+    private boolean depthLimitReached;
+    private int rootMove;
+
+    AlphaBetaSearch(KalahEngine engine, TranspositionTable table, EndgameDatabase endgameDatabase, long deadline) {
+        this.engine = engine;
+        this.geometry = engine.getGeometry();
+        this.table = table;
+        this.endgameDatabase = endgameDatabase;
+        this.deadline = deadline;
+        this.boards = new int[MAX_DEPTH + 1][engine.getBoardSize()];
+    }
+
+    /*
+     * The best pit index for the player found before the deadline. The player must have at least one legal movement
+     */
+    int search(int[] pits, int player) {
+        int legalMoves = engine.legalMoves(pits, player);
+        int bestMove = Integer.numberOfTrailingZeros(legalMoves);
+        if (Integer.bitCount(legalMoves) == 1) {
+            return bestMove;
+        }
+
+        System.arraycopy(pits, 0, boards[0], 0, pits.length);
+        for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+            depthLimitReached = false;
+            negamax(0, player, depth, -INFINITY, INFINITY);
+            if (aborted) {
+                break;
+            }
+            bestMove = rootMove;
+            completedDepth = depth;
+            if (!depthLimitReached) {
+                // Every line was played until the end of the game, a deeper search gives the same result
+                break;
+            }
+        }
+        return bestMove;
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+
+    int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    private int negamax(int ply, int player, int depth, int alpha, int beta) {
+        if ((++nodes & CLOCK_CHECK_MASK) == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        int[] pits = boards[ply];
+        if (ply > 0 && endgameDatabase.contains(pits)) {
+            return evaluate(pits, player) + endgameDatabase.value(pits, player);
+        }
+        if (depth == 0) {
+            depthLimitReached = true;
+            return evaluate(pits, player);
+        }
+
+        long hash = ZobristKeys.hash(pits, player);
+        int tableMove = -1;
+        long entry = table.probe(hash);
+        if (entry != EMPTY) {
+            tableMove = TranspositionTable.move(entry);
+            int storedDepth = TranspositionTable.depth(entry);
+            if (ply > 0 && storedDepth >= depth) {
+                int value = TranspositionTable.value(entry);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == EXACT || (bound == LOWER_BOUND && value >= beta) || (bound == UPPER_BOUND && value <= alpha)) {
+                    depthLimitReached |= storedDepth != SOLVED_DEPTH;
+                    return value;
+                }
+            }
+        }
+
+        boolean parentDepthLimitReached = depthLimitReached;
+        depthLimitReached = false;
+
+        int legalMoves = engine.legalMoves(pits, player);
+        int extraTurnMoves = extraTurnMoves(pits, player, legalMoves);
+        int originalAlpha = alpha;
+        int bestValue = -INFINITY;
+        int bestMove = -1;
+        int[] child = boards[ply + 1];
+
+        // Move ordering: the best movement of the table first, then the extra turns and then the others
+        int pendingMoves = legalMoves;
+        int move = KalahEngine.isLegalMove(legalMoves, tableMove) ? tableMove : nextMove(pendingMoves, extraTurnMoves);
+        while (pendingMoves != 0) {
+            pendingMoves &= ~(1 << move);
+
+            System.arraycopy(pits, 0, child, 0, pits.length);
+            int outcome = engine.move(child, player, move);
+            int value;
+            if (KalahEngine.isGameOver(outcome)) {
+                value = engine.score(child, player) - engine.score(child, KalahEngine.opponent(player));
+            } else if (KalahEngine.isExtraTurn(outcome)) {
+                value = negamax(ply + 1, player, depth - 1, alpha, beta);
+            } else {
+                value = -negamax(ply + 1, KalahEngine.opponent(player), depth - 1, -beta, -alpha);
+            }
+            if (aborted) {
+                return 0;
+            }
+
+            if (value > bestValue) {
+                bestValue = value;
+                bestMove = move;
+                if (value > alpha) {
+                    alpha = value;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+            move = nextMove(pendingMoves, extraTurnMoves);
+        }
+
+        int bound = bestValue <= originalAlpha ? UPPER_BOUND : bestValue >= beta ? LOWER_BOUND : EXACT;
+        table.store(hash, bestValue, depthLimitReached ? depth : SOLVED_DEPTH, bound, bestMove);
+        if (ply == 0) {
+            rootMove = bestMove;
+        }
+
+        depthLimitReached |= parentDepthLimitReached;
+        return bestValue;
+    }
+
+    private int evaluate(int[] pits, int player) {
+        return pits[geometry.kalahIndex(player)] - pits[geometry.kalahIndex(KalahEngine.opponent(player))];
+    }
+
+    /*
+     * The own pits are just before the own kalah, so the last stone ends there when the remainder of the laps is
+     * exactly the distance to it
+     */
+    private int extraTurnMoves(int[] pits, int player, int legalMoves) {
+        int kalahIndex = geometry.kalahIndex(player);
+        int lapSize = geometry.getBoardSize() - 1;
+        int extraTurnMoves = 0;
+        for (int pitIndex = geometry.firstPitIndex(player); pitIndex < kalahIndex; pitIndex++) {
+            if (pits[pitIndex] % lapSize == kalahIndex - pitIndex) {
+                extraTurnMoves |= 1 << pitIndex;
+            }
+        }
+        return extraTurnMoves & legalMoves;
+    }
+
+    /*
+     * The extra turn closest to the kalah first (it does not change the other pits), then the remaining ones in order
+     */
+    private static int nextMove(int pendingMoves, int extraTurnMoves) {
+        int pendingExtraTurnMoves = pendingMoves & extraTurnMoves;
+        return pendingExtraTurnMoves != 0 ? 31 - Integer.numberOfLeadingZeros(pendingExtraTurnMoves)
+                : Integer.numberOfTrailingZeros(pendingMoves);
+    }
+}
@@ -0,0 +1,60 @@
+package com.edilson.justiniano.kalah.ai;
+
+import com.edilson.justiniano.kalah.endgame.EndgameDatabase;
+import com.edilson.justiniano.kalah.engine.KalahEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The computer opponent. Every movement is chosen by an alpha-beta search limited by a time budget, the transposition
+ * table is kept between the searches (and shared by all the games), so the following movements start already warm.
+ * Once there are few stones left on the pits, the perfect movement is taken from the endgame database instead
+ */
+@Slf4j
+@Service
+public class ComputerPlayer {
+
+    private static final String PROPERTY_MOVE_TIME_BUDGET = "kalah.ai.move-time-budget-ms";
+    private static final String PROPERTY_TRANSPOSITION_TABLE_ENTRIES = "kalah.ai.transposition-table-entries";
+
+    private static final long DEFAULT_MOVE_TIME_BUDGET = 50;
+    // 16 bytes per entry, so 16MB
+    private static final int DEFAULT_TRANSPOSITION_TABLE_ENTRIES = 1 << 20;
+
+    private final long moveTimeBudgetNanos;
+    private final TranspositionTable transpositionTable;
+    private final EndgameDatabase endgameDatabase;
+
+    public ComputerPlayer(Environment environment, EndgameDatabase endgameDatabase) {
+        long moveTimeBudget = environment.getProperty(PROPERTY_MOVE_TIME_BUDGET, Long.class, DEFAULT_MOVE_TIME_BUDGET);
+        int transpositionTableEntries = environment.getProperty(PROPERTY_TRANSPOSITION_TABLE_ENTRIES, Integer.class,
+                                                                DEFAULT_TRANSPOSITION_TABLE_ENTRIES);
+        this.moveTimeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(moveTimeBudget);
+        this.transpositionTable = new TranspositionTable(transpositionTableEntries);
+        this.endgameDatabase = endgameDatabase;
+    }
+
+    /*
+     * The index of the pit the player plays. The player must have at least one legal movement
+     */
+    public int selectMove(int[] pits, int player) {
+        if (endgameDatabase.contains(pits)) {
+            int pitIndex = endgameDatabase.bestMove(pits, player);
+
+            log.debug("Computer movement selected from the endgame database. PitIndex: {}.", pitIndex);
+            return pitIndex;
+        }
+
+        long deadline = System.nanoTime() + moveTimeBudgetNanos;
+        AlphaBetaSearch search = new AlphaBetaSearch(KalahEngine.forPits(pits), transpositionTable, endgameDatabase,
+                                                     deadline);
+        int pitIndex = search.search(pits, player);
+
+        log.debug("Computer movement selected. PitIndex: {}, depth: {} and nodes: {}.", pitIndex,
+                  search.getCompletedDepth(), search.getNodes());
+        return pitIndex;
+    }
+}
@@ -0,0 +1,83 @@
+package com.edilson.justiniano.kalah.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size transposition table shared by all the searches, without locks. Every entry is two longs: the hash XOR
+ * the data and the data itself. A torn entry (written by two threads at the same time) does not match the hash anymore
+ * when it is read back, so it is just a miss. Newer entries always replace the older ones
+ */
+class TranspositionTable {
+
+    static final long EMPTY = 0;
+
+    static final int EXACT = 0;
+    static final int LOWER_BOUND = 1;
+    static final int UPPER_BOUND = 2;
+
+    // Data layout: value (16 bits, shifted to be positive), depth (7 bits), bound (2 bits), move (5 bits) and a bit
+    // that is always set so a stored entry is never EMPTY
+    private static final int VALUE_OFFSET = 1 << 15;
+    private static final int DEPTH_SHIFT = 16;
+    private static final int BOUND_SHIFT = 23;
+    private static final int MOVE_SHIFT = 25;
+    private static final long STORED = 1L << 30;
+
+    static final int MAX_STORED_DEPTH = 0x7F;
+
+    private final AtomicLongArray entries;
+    private final int indexMask;
+
+    /*
+     * The number of entries is rounded down to a power of two
+     */
+    TranspositionTable(int numberOfEntries) {
+        if (numberOfEntries < 1) {
+            throw new IllegalArgumentException("The transposition table must have at least one entry.");
+        }
+        int size = Integer.highestOneBit(numberOfEntries);
+        this.entries = new AtomicLongArray(size * 2);
+        this.indexMask = size - 1;
+    }
+
+    long probe(long hash) {
+        int index = index(hash);
+        long data = entries.get(index + 1);
+        return data != EMPTY && (entries.get(index) ^ data) == hash ? data : EMPTY;
+    }
+
+    void store(long hash, int value, int depth, int bound, int move) {
+        long data = STORED
+                | (long) (value + VALUE_OFFSET)
+                | (long) depth << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) move << MOVE_SHIFT;
+        int index = index(hash);
+        entries.set(index, hash ^ data);
+        entries.set(index + 1, data);
+    }
+
+    int size() {
+        return entries.length() / 2;
+    }
+
+    static int value(long data) {
+        return (int) (data & 0xFFFF) - VALUE_OFFSET;
+    }
+
+    static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & MAX_STORED_DEPTH;
+    }
+
+    static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+
+    static int move(long data) {
+        return (int) (data >>> MOVE_SHIFT) & 0x1F;
+    }
+
+    private int index(long hash) {
+        return ((int) hash & indexMask) * 2;
+    }
+}
@@ -0,0 +1,50 @@
+package com.edilson.justiniano.kalah.ai;
+
+import com.edilson.justiniano.kalah.engine.BoardGeometry;
+
+import java.util.SplittableRandom;
+
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_TWO;
+
+/**
+ * Zobrist hashing of a position (the pits and the player to play): one random key per pit and number of stones, the
+ * hash is the XOR of the keys of every pit. The keys are generated once from a fixed seed, so the hashes are stable
+ */
+final class ZobristKeys {
+
+    // The biggest board accepted by the API: Kalah(12,48)
+    private static final int MAX_BOARD_SIZE = (BoardGeometry.MAX_PITS_PER_SIDE + 1) * 2;
+    private static final int MAX_STONES = BoardGeometry.MAX_PITS_PER_SIDE * 2 * 48;
+    private static final int STONE_KEYS_PER_PIT = MAX_STONES + 1;
+
+    private static final long[] PIT_KEYS = new long[MAX_BOARD_SIZE * STONE_KEYS_PER_PIT];
+    // Different board sizes can share a transposition table, so the geometry is also part of the hash
+    private static final long[] GEOMETRY_KEYS = new long[BoardGeometry.MAX_PITS_PER_SIDE + 1];
+    private static final long PLAYER_TWO_KEY;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x6B616C6168L);
+        for (int i = 0; i < PIT_KEYS.length; i++) {
+            PIT_KEYS[i] = random.nextLong();
+        }
+        for (int i = 0; i < GEOMETRY_KEYS.length; i++) {
+            GEOMETRY_KEYS[i] = random.nextLong();
+        }
+        PLAYER_TWO_KEY = random.nextLong();
+    }
+
+    private ZobristKeys() {
+    }
+
+    static long hash(int[] pits, int player) {
+        long hash = GEOMETRY_KEYS[pits.length / 2 - 1];
+        if (player == PLAYER_TWO) {
+            hash ^= PLAYER_TWO_KEY;
+        }
+        for (int pitIndex = 0; pitIndex < pits.length; pitIndex++) {
+            // Bigger boards than the API ones still work, they only share keys (more collisions)
+            hash ^= PIT_KEYS[pitIndex * STONE_KEYS_PER_PIT + pits[pitIndex] % STONE_KEYS_PER_PIT];
+        }
+        return hash;
+    }
+}
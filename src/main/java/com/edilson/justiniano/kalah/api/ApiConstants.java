@@ -6,4 +6,5 @@ public final class ApiConstants {
 
     public static final String PATH_PARAM_GAME_ID = "gameId";
     public static final String PATH_PARAM_PIT_ID = "pitId";
+    public static final String QUERY_PARAM_LEGAL_MOVES = "legalMoves";
 }
@@ -0,0 +1,119 @@
+package com.edilson.justiniano.kalah.api.broadcast;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The boards of a game on their way to one client. The sends never block the caller (a movement) and there is at most
+ * one of them in flight: the boards offered meanwhile replace each other, only the latest one waits. So a slow client
+ * drops the intermediate boards instead of holding a thread or filling the memory.
+ *
+ * Besides the boards, a message for this client only (e.g. an error) can wait as well, it is sent before the board.
+ * The transport starts a send on {@link #send(Object)} and tells how it ended by {@link #sent()} or
+ * {@link #failed(Throwable)}, a failed channel is closed and sends nothing else.
+ *
+ * @param <T> the encoded board, as the transport writes it
+ */
+public abstract class BoardChannel<T> {
+
+    private final AtomicReference<T> latestMessage = new AtomicReference<>();
+    private final AtomicReference<T> latestBoard = new AtomicReference<>();
+    // Whether a send is in flight, so they go one at a time
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private volatile long sendStartTime;
+    private volatile boolean closed;
+    // Guarded by this. Whether a board change was offered, which is newer than the first board
+    private boolean changed;
+
+    /*
+     * The board read when the client joined the game. Dropped when a board change was already offered, which is newer
+     */
+    public void offerFirst(T board) {
+        synchronized (this) {
+            if (changed) {
+                return;
+            }
+            latestBoard.set(board);
+        }
+        drain();
+    }
+
+    public void offer(T board) {
+        synchronized (this) {
+            changed = true;
+            latestBoard.set(board);
+        }
+        drain();
+    }
+
+    public void offerMessage(T message) {
+        latestMessage.set(message);
+        drain();
+    }
+
+    /*
+     * Whether a send is in flight for longer than the given time, the client is not reading
+     */
+    public boolean isSendingLongerThan(long nanos) {
+        return sending.get() && !closed && System.nanoTime() - sendStartTime > nanos;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /*
+     * Starts the send of a board or message, it must not block. The end is told by sent or failed
+     */
+    protected abstract void send(T payload);
+
+    /*
+     * Closes the connection of the client, called once
+     */
+    protected abstract void close();
+
+    protected void sent() {
+        sending.set(false);
+        drain();
+    }
+
+    protected void failed(Throwable cause) {
+        closeChannel();
+    }
+
+    /*
+     * Closes the channel, from the transport or because the client is too slow
+     */
+    public void closeChannel() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        latestMessage.set(null);
+        latestBoard.set(null);
+        close();
+    }
+
+    private void drain() {
+        while (!closed && sending.compareAndSet(false, true)) {
+            T payload = latestMessage.getAndSet(null);
+            if (payload == null) {
+                payload = latestBoard.getAndSet(null);
+            }
+            if (payload == null) {
+                sending.set(false);
+                // Something offered after the check above but before the flag was cleared is not left behind
+                if (latestMessage.get() == null && latestBoard.get() == null) {
+                    return;
+                }
+                continue;
+            }
+
+            sendStartTime = System.nanoTime();
+            send(payload);
+            return;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.edilson.justiniano.kalah.api.broadcast;
+
+import com.edilson.justiniano.kalah.api.exception.GameApiException;
+import com.edilson.justiniano.kalah.api.model.GameResponse;
+import com.edilson.justiniano.kalah.api.service.GameChangedEvent;
+import com.edilson.justiniano.kalah.api.service.GameService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The {@link BoardChannel}s of every game with at least one client, for one transport. A channel joins its game before
+ * the board is read, so no movement is missed, and the board read is only sent when no newer one was offered meanwhile.
+ * The board of every change is the JSON encoded once by the {@link GameChangedEvent}, turned once into what the
+ * transport writes and offered to all the channels of the game.
+ *
+ * @param <C> the channel of the transport
+ * @param <T> the encoded board, as the transport writes it
+ */
+public class GameChannels<C extends BoardChannel<T>, T> {
+
+    private final GameService gameService;
+    private final ObjectMapper objectMapper;
+    // From the JSON of the board
+    private final Function<byte[], T> boardEncoder;
+
+    private final ConcurrentMap<String, Set<C>> channels = new ConcurrentHashMap<>();
+
+    public GameChannels(GameService gameService, ObjectMapper objectMapper, Function<byte[], T> boardEncoder) {
+        this.gameService = gameService;
+        this.objectMapper = objectMapper;
+        this.boardEncoder = boardEncoder;
+    }
+
+    /*
+     * Joins the channel to the game and offers it the current board. The channel of an unknown game does not join it
+     */
+    public void join(String gameId, C channel) throws GameApiException {
+        channels.computeIfAbsent(gameId, id -> ConcurrentHashMap.newKeySet()).add(channel);
+        GameResponse gameResponse;
+        try {
+            gameResponse = gameService.searchGameStatus(gameId);
+        } catch (GameApiException ex) {
+            leave(gameId, channel);
+            throw ex;
+        }
+        channel.offerFirst(boardEncoder.apply(encode(gameResponse)));
+    }
+
+    public void leave(String gameId, C channel) {
+        channels.computeIfPresent(gameId, (id, gameChannels) -> {
+            gameChannels.remove(channel);
+            return gameChannels.isEmpty() ? null : gameChannels;
+        });
+    }
+
+    public void onGameChanged(GameChangedEvent event) {
+        Set<C> gameChannels = channels.get(event.getGameId());
+        if (gameChannels == null) {
+            return;
+        }
+
+        T board = boardEncoder.apply(event.getEncodedGame(objectMapper));
+        for (C channel : gameChannels) {
+            channel.offer(board);
+        }
+    }
+
+    public void forEach(Consumer<C> action) {
+        for (Set<C> gameChannels : channels.values()) {
+            gameChannels.forEach(action);
+        }
+    }
+
+    public int size(String gameId) {
+        Set<C> gameChannels = channels.get(gameId);
+        return gameChannels == null ? 0 : gameChannels.size();
+    }
+
+    private byte[] encode(GameResponse gameResponse) {
+        try {
+            return objectMapper.writeValueAsBytes(gameResponse);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("The board of the game could not be encoded.", ex);
+        }
+    }
+}
@@ -1,49 +1,139 @@
 package com.edilson.justiniano.kalah.api.controller;
 
 import com.edilson.justiniano.kalah.api.exception.GameApiException;
+import com.edilson.justiniano.kalah.api.model.BulkGameRequest;
+import com.edilson.justiniano.kalah.api.model.GameRequest;
 import com.edilson.justiniano.kalah.api.model.GameResponse;
+import com.edilson.justiniano.kalah.api.model.MovementsRequest;
 import com.edilson.justiniano.kalah.api.service.GameService;
+import com.edilson.justiniano.kalah.api.spectator.GameSpectators;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.OptionalInt;
 
 import static com.edilson.justiniano.kalah.api.ApiConstants.PATH_PARAM_GAME_ID;
 import static com.edilson.justiniano.kalah.api.ApiConstants.PATH_PARAM_PIT_ID;
+import static com.edilson.justiniano.kalah.api.ApiConstants.QUERY_PARAM_LEGAL_MOVES;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 @Slf4j
 @AllArgsConstructor
 @RestController
+// Spring MVC, the default. See ReactiveGameController for the reactive stack
+@ConditionalOnWebApplication(type = SERVLET)
 public class GameController {
 
     private static final String GAME_URL = "/games";
+    private static final String BULK_GAME_URL = "/games/bulk";
     private static final String GAME_URL_WITH_GAME_ID = "/games/{gameId}";
     private static final String MOVEMENT_URL = "/games/{gameId}/pits/{pitId}";
+    private static final String MOVEMENTS_URL = "/games/{gameId}/pits";
+    private static final String LEGAL_MOVES_URL = "/games/{gameId}/legal-moves";
+    private static final String HINT_URL = "/games/{gameId}/hint";
+    private static final String EVENTS_URL = "/games/{gameId}/events";
 
     private final GameService gameService;
+    private final ObjectMapper objectMapper;
+    private final GameSpectators spectators;
 
     @PostMapping(value = GAME_URL, consumes = APPLICATION_JSON_VALUE)
-    public ResponseEntity<GameResponse> createGame() {
+    public ResponseEntity<GameResponse> createGame(@RequestBody(required = false) GameRequest gameRequest) throws GameApiException {
         log.info("Requesting a new game.");
 
+        // No body means the standard game
+        GameRequest request = gameRequest == null ? new GameRequest() : gameRequest;
+
+        return ResponseEntity
+                .status(CREATED)
+                .body(gameService.createGame(request));
+    }
+
+    @PostMapping(value = BULK_GAME_URL, consumes = APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> createGames(@RequestBody BulkGameRequest bulkGameRequest) throws GameApiException {
+        log.info("Requesting a batch of games. Count: {}.", bulkGameRequest.getCount());
+
+        Iterator<List<GameResponse>> createdGames = gameService.createGames(bulkGameRequest);
+
         return ResponseEntity
                 .status(CREATED)
-                .body(gameService.createGame());
+                .contentType(APPLICATION_JSON)
+                .body(out -> writeGames(createdGames, out));
     }
 
+    /*
+     * The ETag is the number of movements of the game, so a client polling a game it already has gets 304 without a
+     * body. For a running game on the cache it is even answered without reading the game
+     */
     @GetMapping(GAME_URL_WITH_GAME_ID)
-    public ResponseEntity<GameResponse> getGame(@PathVariable(PATH_PARAM_GAME_ID) String gameId) throws GameApiException {
+    public ResponseEntity<GameResponse> getGame(@PathVariable(PATH_PARAM_GAME_ID) String gameId,
+                                                @RequestParam(value = QUERY_PARAM_LEGAL_MOVES, defaultValue = "false") boolean includeLegalMoves,
+                                                WebRequest webRequest) throws GameApiException {
         log.info("Getting the game. GameId: {}.", gameId);
 
+        OptionalInt moveCount = gameService.searchMoveCount(gameId);
+        if (moveCount.isPresent() && webRequest.checkNotModified(buildETag(moveCount.getAsInt()))) {
+            log.debug("The game was not changed. GameId: {}.", gameId);
+            return null;
+        }
+
+        GameResponse gameResponse = gameService.searchGame(gameId, includeLegalMoves);
+        if (gameResponse.getMoveCount() == null) {
+            return ResponseEntity.ok(gameResponse);
+        }
+        // Answered with 304 when it matches the If-None-Match of the request
+        return ResponseEntity
+                .ok()
+                .eTag(buildETag(gameResponse.getMoveCount()))
+                .body(gameResponse);
+    }
+
+    @GetMapping(LEGAL_MOVES_URL)
+    public ResponseEntity<GameResponse> getLegalMoves(@PathVariable(PATH_PARAM_GAME_ID) String gameId) throws GameApiException {
+        log.info("Getting the legal movements of the game. GameId: {}.", gameId);
+
+        return ResponseEntity
+                .ok(gameService.searchGame(gameId, true));
+    }
+
+    @GetMapping(HINT_URL)
+    public ResponseEntity<GameResponse> getHint(@PathVariable(PATH_PARAM_GAME_ID) String gameId) throws GameApiException {
+        log.info("Getting a movement hint for the game. GameId: {}.", gameId);
+
         return ResponseEntity
-                .ok(gameService.searchGame(gameId));
+                .ok(gameService.suggestMovement(gameId));
+    }
+
+    // A server-sent events stream, written asynchronously by the spectators
+    @GetMapping(EVENTS_URL)
+    public void getGameEvents(@PathVariable(PATH_PARAM_GAME_ID) String gameId, HttpServletRequest request,
+                              HttpServletResponse response) throws GameApiException, IOException {
+        log.info("Spectating the game. GameId: {}.", gameId);
+
+        spectators.subscribe(gameId, request, response);
     }
 
     @DeleteMapping(GAME_URL_WITH_GAME_ID)
@@ -66,4 +156,35 @@ public class GameController {
         return ResponseEntity
                 .ok(gameService.makeMovement(gameId, pitId));
     }
+
+    @PutMapping(value = MOVEMENTS_URL, consumes = APPLICATION_JSON_VALUE)
+    public ResponseEntity<GameResponse> moveGameInBatch(@PathVariable(PATH_PARAM_GAME_ID) String gameId,
+                                                        @RequestBody MovementsRequest movementsRequest) throws GameApiException {
+        log.info("Making a batch of movements in the game. GameId: {}.", gameId);
+
+        return ResponseEntity
+                .ok(gameService.makeMovements(gameId, movementsRequest.getPitIds()));
+    }
+
+    /*
+     * A JSON array of the created games (id and url). Every batch is sent as soon as it is stored, so the client gets
+     * the first games while the next ones are still being created
+     */
+    private void writeGames(Iterator<List<GameResponse>> createdGames, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.writeStartArray();
+            while (createdGames.hasNext()) {
+                for (GameResponse game : createdGames.next()) {
+                    json.writeObject(game);
+                }
+                json.flush();
+            }
+            json.writeEndArray();
+        }
+    }
+
+    // A strong ETag, the same movements always give the same game
+    private static String buildETag(int moveCount) {
+        return "\"" + moveCount + "\"";
+    }
 }
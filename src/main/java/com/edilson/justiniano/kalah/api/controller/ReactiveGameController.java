@@ -0,0 +1,123 @@
+package com.edilson.justiniano.kalah.api.controller;
+
+import com.edilson.justiniano.kalah.api.model.BulkGameRequest;
+import com.edilson.justiniano.kalah.api.model.GameRequest;
+import com.edilson.justiniano.kalah.api.model.GameResponse;
+import com.edilson.justiniano.kalah.api.model.MovementsRequest;
+import com.edilson.justiniano.kalah.api.service.ReactiveGameService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.edilson.justiniano.kalah.api.ApiConstants.PATH_PARAM_GAME_ID;
+import static com.edilson.justiniano.kalah.api.ApiConstants.PATH_PARAM_PIT_ID;
+import static com.edilson.justiniano.kalah.api.ApiConstants.QUERY_PARAM_LEGAL_MOVES;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * The same API of {@link GameController} on WebFlux, used with spring.main.web-application-type=reactive. The requests
+ * and responses (and the errors, by the same exception handler) are the same
+ */
+@Slf4j
+@AllArgsConstructor
+@RestController
+@ConditionalOnWebApplication(type = REACTIVE)
+public class ReactiveGameController {
+
+    private static final String GAME_URL = "/games";
+    private static final String BULK_GAME_URL = "/games/bulk";
+    private static final String GAME_URL_WITH_GAME_ID = "/games/{gameId}";
+    private static final String MOVEMENT_URL = "/games/{gameId}/pits/{pitId}";
+    private static final String MOVEMENTS_URL = "/games/{gameId}/pits";
+    private static final String LEGAL_MOVES_URL = "/games/{gameId}/legal-moves";
+    private static final String HINT_URL = "/games/{gameId}/hint";
+
+    private final ReactiveGameService gameService;
+
+    @PostMapping(value = GAME_URL, consumes = APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<GameResponse>> createGame(@RequestBody(required = false) GameRequest gameRequest) {
+        log.info("Requesting a new game.");
+
+        // No body means the standard game
+        GameRequest request = gameRequest == null ? new GameRequest() : gameRequest;
+
+        return gameService.createGame(request)
+                .map(gameResponse -> ResponseEntity.status(CREATED).body(gameResponse));
+    }
+
+    @PostMapping(value = BULK_GAME_URL, consumes = APPLICATION_JSON_VALUE)
+    public ResponseEntity<Flux<GameResponse>> createGames(@RequestBody BulkGameRequest bulkGameRequest) {
+        log.info("Requesting a batch of games. Count: {}.", bulkGameRequest.getCount());
+
+        return ResponseEntity
+                .status(CREATED)
+                .body(gameService.createGames(bulkGameRequest));
+    }
+
+    @GetMapping(GAME_URL_WITH_GAME_ID)
+    public Mono<ResponseEntity<GameResponse>> getGame(@PathVariable(PATH_PARAM_GAME_ID) String gameId,
+                                                      @RequestParam(value = QUERY_PARAM_LEGAL_MOVES, defaultValue = "false") boolean includeLegalMoves) {
+        log.info("Getting the game. GameId: {}.", gameId);
+
+        // Answered with 304 when the ETag (the movements of the game) matches the If-None-Match of the request
+        return gameService.searchGame(gameId, includeLegalMoves)
+                .map(gameResponse -> gameResponse.getMoveCount() == null
+                        ? ResponseEntity.ok(gameResponse)
+                        : ResponseEntity.ok().eTag("\"" + gameResponse.getMoveCount() + "\"").body(gameResponse));
+    }
+
+    @GetMapping(LEGAL_MOVES_URL)
+    public Mono<ResponseEntity<GameResponse>> getLegalMoves(@PathVariable(PATH_PARAM_GAME_ID) String gameId) {
+        log.info("Getting the legal movements of the game. GameId: {}.", gameId);
+
+        return gameService.searchGame(gameId, true)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(HINT_URL)
+    public Mono<ResponseEntity<GameResponse>> getHint(@PathVariable(PATH_PARAM_GAME_ID) String gameId) {
+        log.info("Getting a movement hint for the game. GameId: {}.", gameId);
+
+        return gameService.suggestMovement(gameId)
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping(GAME_URL_WITH_GAME_ID)
+    public Mono<ResponseEntity<Void>> deleteGame(@PathVariable(PATH_PARAM_GAME_ID) String gameId) {
+        log.info("Requesting the game deletion. GameId: {}.", gameId);
+
+        return gameService.removeGame(gameId)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @PutMapping(value = MOVEMENT_URL, consumes = APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<GameResponse>> moveGame(@PathVariable(PATH_PARAM_GAME_ID) String gameId,
+                                                       @PathVariable(PATH_PARAM_PIT_ID) int pitId) {
+        log.info("Making a movement in the game. GameId: {} and PitId: {}.", gameId, pitId);
+
+        return gameService.makeMovement(gameId, pitId)
+                .map(ResponseEntity::ok);
+    }
+
+    @PutMapping(value = MOVEMENTS_URL, consumes = APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<GameResponse>> moveGameInBatch(@PathVariable(PATH_PARAM_GAME_ID) String gameId,
+                                                              @RequestBody MovementsRequest movementsRequest) {
+        log.info("Making a batch of movements in the game. GameId: {}.", gameId);
+
+        return gameService.makeMovements(gameId, movementsRequest.getPitIds())
+                .map(ResponseEntity::ok);
+    }
+}
@@ -11,7 +11,10 @@ public enum GameApiErrorReason {
     GAME_NOT_FOUND("kalahgame.api.game.notfound", "The game was not found.", HttpStatus.NOT_FOUND),
     INVALID_MOVEMENT("kalahgame.api.game.invalid.movement", "The selected movement is not valid.", HttpStatus.BAD_REQUEST),
     PIT_WITH_NO_STONE("kalahgame.api.game.empty.pit", "The selected pit is empty.", HttpStatus.BAD_REQUEST),
-    GAME_IS_OVER("kalahgame.api.game.over", "The game is over.", HttpStatus.BAD_REQUEST);
+    GAME_IS_OVER("kalahgame.api.game.over", "The game is over.", HttpStatus.BAD_REQUEST),
+    INVALID_BOARD("kalahgame.api.game.invalid.board", "The number of pits or stones of the board is not valid.", HttpStatus.BAD_REQUEST),
+    INVALID_GAME_COUNT("kalahgame.api.game.invalid.count", "The number of games to create is not valid.", HttpStatus.BAD_REQUEST),
+    CONCURRENT_MOVEMENT("kalahgame.api.game.concurrent.movement", "The game was changed by another movement at the same time, please try again.", HttpStatus.CONFLICT);
 
     //ErrorCode: Used for Front-end applications to replace the message properly. It does also help the app internationalization
     private String errorCode;
@@ -0,0 +1,22 @@
+package com.edilson.justiniano.kalah.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Body of the bulk game creation: how many games and the game all of them are created like (the standard game when it
+ * is not provided)
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class BulkGameRequest {
+
+    private Integer count;
+    private GameRequest game;
+}
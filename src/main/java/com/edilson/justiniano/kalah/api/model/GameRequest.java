@@ -0,0 +1,24 @@
+package com.edilson.justiniano.kalah.api.model;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Opponent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Optional body of the game creation. When a field is not provided the standard kalah is used (six pits per side and
+ * six stones per pit) against a human
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class GameRequest {
+
+    private Integer pitsPerSide;
+    private Integer seedsPerPit;
+    private Opponent opponent;
+}
@@ -1,6 +1,8 @@
 package com.edilson.justiniano.kalah.api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -15,9 +17,27 @@ import java.util.Map;
 @Setter
 @Builder
 @JsonInclude(JsonInclude.Include.NON_NULL)
+// Written by hand, a response is serialized on every movement. A new field must be added to the serializer too
+@JsonSerialize(using = GameResponseSerializer.class)
 public class GameResponse {
 
     private String id;
     private String url;
+    // Stones of every pit by pit id, a PitStatus when it is built by the application
     private Map<Integer, Integer> status;
+
+    // Bit mask of the pits the next player can play: the bit N is set when the pit N + 1 is a legal movement
+    private Integer legalMoves;
+
+    // Pit id suggested to the next player (perfect play when the position is on the endgame database)
+    private Integer hint;
+
+    // Only present on a batch of movements when one of them was not valid. It is the position of the movement on the
+    // request and the error code of the reason, the movements after that one were not applied
+    private Integer rejectedMovementIndex;
+    private String rejectedMovementReason;
+
+    // Movements of the game when the response was built, its version for the ETag of the game. Not on the body
+    @JsonIgnore
+    private Integer moveCount;
 }
@@ -0,0 +1,95 @@
+package com.edilson.justiniano.kalah.api.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes a {@link GameResponse} with the same JSON as the default bean serializer (same fields, order and null
+ * handling), without its reflection and the boxed board: a {@link PitStatus} is written straight from the pits and the
+ * field names are encoded once.
+ */
+public class GameResponseSerializer extends StdSerializer<GameResponse> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final SerializableString FIELD_ID = new SerializedString("id");
+    private static final SerializableString FIELD_URL = new SerializedString("url");
+    private static final SerializableString FIELD_STATUS = new SerializedString("status");
+    private static final SerializableString FIELD_LEGAL_MOVES = new SerializedString("legalMoves");
+    private static final SerializableString FIELD_HINT = new SerializedString("hint");
+    private static final SerializableString FIELD_REJECTED_MOVEMENT_INDEX = new SerializedString("rejectedMovementIndex");
+    private static final SerializableString FIELD_REJECTED_MOVEMENT_REASON = new SerializedString("rejectedMovementReason");
+
+    // The pit ids of the biggest board, Kalah(12, n) has 26 pits
+    private static final SerializableString[] PIT_IDS = new SerializableString[26];
+
+    static {
+        for (int i = 0; i < PIT_IDS.length; i++) {
+            PIT_IDS[i] = new SerializedString(String.valueOf(i + 1));
+        }
+    }
+
+    public GameResponseSerializer() {
+        super(GameResponse.class);
+    }
+
+    @Override
+    public void serialize(GameResponse gameResponse, JsonGenerator json, SerializerProvider provider) throws IOException {
+        json.writeStartObject(gameResponse);
+        writeString(json, FIELD_ID, gameResponse.getId());
+        writeString(json, FIELD_URL, gameResponse.getUrl());
+        if (gameResponse.getStatus() != null) {
+            json.writeFieldName(FIELD_STATUS);
+            writeStatus(json, gameResponse.getStatus());
+        }
+        writeNumber(json, FIELD_LEGAL_MOVES, gameResponse.getLegalMoves());
+        writeNumber(json, FIELD_HINT, gameResponse.getHint());
+        writeNumber(json, FIELD_REJECTED_MOVEMENT_INDEX, gameResponse.getRejectedMovementIndex());
+        writeString(json, FIELD_REJECTED_MOVEMENT_REASON, gameResponse.getRejectedMovementReason());
+        json.writeEndObject();
+    }
+
+    private static void writeStatus(JsonGenerator json, Map<Integer, Integer> status) throws IOException {
+        json.writeStartObject();
+        if (status instanceof PitStatus) {
+            PitStatus pitStatus = (PitStatus) status;
+            for (int i = 0; i < pitStatus.pitCount(); i++) {
+                json.writeFieldName(pitId(i));
+                json.writeNumber(pitStatus.stones(i));
+            }
+        } else {
+            // Any other map, like the ones read from a JSON. The null stones are left out, like NON_NULL does
+            for (Map.Entry<Integer, Integer> entry : status.entrySet()) {
+                if (entry.getValue() != null) {
+                    json.writeFieldName(String.valueOf(entry.getKey()));
+                    json.writeNumber(entry.getValue());
+                }
+            }
+        }
+        json.writeEndObject();
+    }
+
+    private static SerializableString pitId(int pitIndex) {
+        return pitIndex < PIT_IDS.length ? PIT_IDS[pitIndex] : new SerializedString(String.valueOf(pitIndex + 1));
+    }
+
+    private static void writeString(JsonGenerator json, SerializableString field, String value) throws IOException {
+        if (value != null) {
+            json.writeFieldName(field);
+            json.writeString(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator json, SerializableString field, Integer value) throws IOException {
+        if (value != null) {
+            json.writeFieldName(field);
+            json.writeNumber(value);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.edilson.justiniano.kalah.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Body of a batch of movements. The pits are played in the same order they are sent
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class MovementsRequest {
+
+    private List<Integer> pitIds;
+}
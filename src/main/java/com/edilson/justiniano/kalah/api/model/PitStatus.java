@@ -0,0 +1,77 @@
+package com.edilson.justiniano.kalah.api.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Status of the board on a {@link GameResponse}: the stones of every pit by its pit id (the index + 1), in order. It is
+ * a read-only map over a copy of the pits, so the stones are not boxed when the response is built and
+ * {@link GameResponseSerializer} writes them straight from the array.
+ */
+public final class PitStatus extends AbstractMap<Integer, Integer> {
+
+    private final int[] pits;
+
+    public PitStatus(int[] pits) {
+        this.pits = pits.clone();
+    }
+
+    @Override
+    public int size() {
+        return pits.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && (Integer) key >= 1 && (Integer) key <= pits.length;
+    }
+
+    @Override
+    public Integer get(Object key) {
+        return containsKey(key) ? pits[(Integer) key - 1] : null;
+    }
+
+    @Override
+    public Set<Entry<Integer, Integer>> entrySet() {
+        return new AbstractSet<Entry<Integer, Integer>>() {
+
+            @Override
+            public int size() {
+                return pits.length;
+            }
+
+            @Override
+            public Iterator<Entry<Integer, Integer>> iterator() {
+                return new Iterator<Entry<Integer, Integer>>() {
+
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < pits.length;
+                    }
+
+                    @Override
+                    public Entry<Integer, Integer> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        index++;
+                        return new SimpleImmutableEntry<>(index, pits[index - 1]);
+                    }
+                };
+            }
+        };
+    }
+
+    int pitCount() {
+        return pits.length;
+    }
+
+    int stones(int pitIndex) {
+        return pits[pitIndex];
+    }
+}
@@ -1,17 +1,25 @@
 package com.edilson.justiniano.kalah.api.service;
 
+import com.edilson.justiniano.kalah.api.model.GameRequest;
 import com.edilson.justiniano.kalah.api.model.GameResponse;
+import com.edilson.justiniano.kalah.api.model.PitStatus;
+import com.edilson.justiniano.kalah.engine.BoardGeometry;
+import com.edilson.justiniano.kalah.persistence.game.id.GameIdGenerator;
 import com.edilson.justiniano.kalah.persistence.game.model.Board;
 import com.edilson.justiniano.kalah.persistence.game.model.Game;
-import lombok.AllArgsConstructor;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
 import java.net.InetAddress;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
+import static com.edilson.justiniano.kalah.engine.BoardGeometry.STANDARD_PITS_PER_SIDE;
+import static com.edilson.justiniano.kalah.engine.BoardGeometry.STANDARD_SEEDS_PER_PIT;
 import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.RUNNING;
+import static com.edilson.justiniano.kalah.persistence.game.model.Opponent.HUMAN;
 import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_ONE;
 import static java.time.Instant.now;
 
@@ -19,29 +27,66 @@ import static java.time.Instant.now;
  * This class is gonna be used to build any kind of objects regarding the game, even the response or Database entities
  */
 @Service
-@AllArgsConstructor
 public class GameBuilder {
 
     private static final String PROPERTY_SERVER_PORT = "server.port";
+    private static final String GAMES_PATH = "/games/";
 
     private Environment environment;
+    private GameIdGenerator gameIdGenerator;
+    // Host, port and path of the game urls, they do not change. Built on the first response
+    private volatile String gameUrlPrefix;
 
-    public Game buildGame() {
+    public GameBuilder(Environment environment, GameIdGenerator gameIdGenerator) {
+        this.environment = environment;
+        this.gameIdGenerator = gameIdGenerator;
+    }
+
+    public Game buildGame(GameRequest gameRequest) {
         return Game.builder()
-                .gameId(Game.generateGameId())
+                .gameId(gameIdGenerator.nextId())
                 .startedTime(now().toEpochMilli())
                 .gameStatus(RUNNING)
                 .nextPlayer(PLAYER_ONE)
-                .board(buildBoard())
+                .opponent(Optional.ofNullable(gameRequest.getOpponent()).orElse(HUMAN))
+                .board(buildBoard(gameRequest))
                 .build();
     }
 
+    /*
+     * The first game is built from the request and the others are copies of it with their own id and board, so the
+     * initial board is computed only once
+     */
+    public List<Game> buildGames(GameRequest gameRequest, int count) {
+        Game template = buildGame(gameRequest);
+        List<Game> games = new ArrayList<>(count);
+        games.add(template);
+        for (int i = 1; i < count; i++) {
+            Game game = template.copy();
+            game.setGameId(gameIdGenerator.nextId());
+            games.add(game);
+        }
+        return games;
+    }
+
     public GameResponse buildGameResponse(Game game) {
         return buildGameResponseBuilder(game)
                 .build();
 
     }
 
+    public GameResponse buildLegalMovesResponse(Game game) {
+        return buildGameResponseBuilder(game)
+                .legalMoves(game.legalMoves())
+                .build();
+    }
+
+    public GameResponse buildHintResponse(Game game, int pitId) {
+        return buildGameResponseBuilder(game)
+                .hint(pitId)
+                .build();
+    }
+
     public GameResponse buildGameStatusResponse(Game game) {
         return buildGameResponseBuilder(game)
                 .status(buildGameStatus(game))
@@ -49,45 +94,39 @@ public class GameBuilder {
     }
 
     private Map<Integer, Integer> buildGameStatus(Game game) {
-        int[] pits = game.getBoard().getPits();
-        Map<Integer, Integer> boardStatus = new HashMap<>();
-        for (int i = 0; i < pits.length; i++) {
-            boardStatus.put((i + 1), pits[i]);
-        }
-
-        return boardStatus;
+        return new PitStatus(game.getBoard().getPits());
     }
 
     private GameResponse.GameResponseBuilder buildGameResponseBuilder(Game game) {
         return GameResponse.builder()
                 .id(game.getGameId())
-                .url(generateGameUrl(game.getGameId()));
+                .url(generateGameUrl(game.getGameId()))
+                .moveCount(game.moveCount());
     }
 
-    private Board buildBoard() {
+    private Board buildBoard(GameRequest gameRequest) {
         return Board.builder()
-                .pits(initializePits())
+                .pits(initializePits(gameRequest))
                 .build();
     }
 
-    private int[] initializePits() {
-        return new int[] {
-                6, 6, 6, 6, 6, 6, 0,
-                6, 6, 6, 6, 6, 6, 0
-        };
+    private int[] initializePits(GameRequest gameRequest) {
+        int pitsPerSide = Optional.ofNullable(gameRequest.getPitsPerSide()).orElse(STANDARD_PITS_PER_SIDE);
+        int seedsPerPit = Optional.ofNullable(gameRequest.getSeedsPerPit()).orElse(STANDARD_SEEDS_PER_PIT);
+
+        return BoardGeometry.of(pitsPerSide).initialPits(seedsPerPit);
     }
 
     private String generateGameUrl(String gameId) {
-        String port = environment.getProperty(PROPERTY_SERVER_PORT);
-        String host = InetAddress.getLoopbackAddress().getHostAddress();
-
-        return new StringBuilder(host)
-                .append(":")
-                .append(port)
-                .append("/games/")
-                .append(gameId)
-                .toString();
+        String prefix = gameUrlPrefix;
+        if (prefix == null) {
+            String port = environment.getProperty(PROPERTY_SERVER_PORT);
+            String host = InetAddress.getLoopbackAddress().getHostAddress();
+            prefix = host + ":" + port + GAMES_PATH;
+            gameUrlPrefix = prefix;
+        }
 
+        return prefix + gameId;
     }
 
 
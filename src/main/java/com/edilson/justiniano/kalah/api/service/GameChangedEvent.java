@@ -0,0 +1,36 @@
+package com.edilson.justiniano.kalah.api.service;
+
+import com.edilson.justiniano.kalah.api.model.GameResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+/**
+ * Published by {@link GameService} after the movements of a game are written, with the new board. The events of a game
+ * are published in the order the movements were applied
+ */
+@Getter
+public class GameChangedEvent {
+
+    private final String gameId;
+    private final GameResponse game;
+
+    // The JSON of the board, encoded by the first listener asking for it and shared by all of them. Never changed
+    private byte[] encodedGame;
+
+    public GameChangedEvent(String gameId, GameResponse game) {
+        this.gameId = gameId;
+        this.game = game;
+    }
+
+    public synchronized byte[] getEncodedGame(ObjectMapper objectMapper) {
+        if (encodedGame == null) {
+            try {
+                encodedGame = objectMapper.writeValueAsBytes(game);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("The board of the game could not be encoded.", ex);
+            }
+        }
+        return encodedGame;
+    }
+}
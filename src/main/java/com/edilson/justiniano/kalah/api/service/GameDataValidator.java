@@ -1,13 +1,19 @@
 package com.edilson.justiniano.kalah.api.service;
 
 import com.edilson.justiniano.kalah.api.exception.GameApiException;
+import com.edilson.justiniano.kalah.api.model.GameRequest;
+import com.edilson.justiniano.kalah.engine.KalahEngine;
 import com.edilson.justiniano.kalah.persistence.game.model.Board;
 import com.edilson.justiniano.kalah.persistence.game.model.Game;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.GAME_IS_OVER;
+import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.INVALID_BOARD;
+import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.INVALID_GAME_COUNT;
 import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.INVALID_MOVEMENT;
 import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.PIT_WITH_NO_STONE;
 
@@ -16,18 +22,63 @@ import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.PIT_
 @Service
 public class GameDataValidator {
 
-    public void validateMovement(Game game, int selectedPitId) throws GameApiException {
-        Board board = game.getBoard();
+    // From Kalah(4,3) up to Kalah(12,48), the high number of stones is used to play the bot training variants
+    private static final int MIN_PITS_PER_SIDE = 4;
+    private static final int MAX_PITS_PER_SIDE = 12;
+    private static final int MIN_SEEDS_PER_PIT = 3;
+    private static final int MAX_SEEDS_PER_PIT = 48;
+    // Games created by a single bulk request
+    private static final int MAX_GAMES_PER_REQUEST = 10_000;
+
+    public void validateGameCreation(GameRequest gameRequest) throws GameApiException {
+        Integer pitsPerSide = gameRequest.getPitsPerSide();
+        Integer seedsPerPit = gameRequest.getSeedsPerPit();
+        if (pitsPerSide != null && (pitsPerSide < MIN_PITS_PER_SIDE || pitsPerSide > MAX_PITS_PER_SIDE)) {
+            log.error("The number of pits per side is not supported. PitsPerSide: {}.", pitsPerSide);
+            throw new GameApiException(INVALID_BOARD);
+        } else if (seedsPerPit != null && (seedsPerPit < MIN_SEEDS_PER_PIT || seedsPerPit > MAX_SEEDS_PER_PIT)) {
+            log.error("The number of stones per pit is not supported. SeedsPerPit: {}.", seedsPerPit);
+            throw new GameApiException(INVALID_BOARD);
+        }
+    }
+
+    public void validateGamesCreation(Integer count) throws GameApiException {
+        if (count == null || count < 1 || count > MAX_GAMES_PER_REQUEST) {
+            log.error("The number of games to create is not supported. Count: {}.", count);
+            throw new GameApiException(INVALID_GAME_COUNT);
+        }
+    }
+
+    public void validateMovements(List<Integer> pitIds) throws GameApiException {
+        if (pitIds == null || pitIds.isEmpty() || pitIds.contains(null)) {
+            log.error("The batch of movements is empty or it has an empty pit. PitIds: {}.", pitIds);
+            throw new GameApiException(INVALID_MOVEMENT);
+        }
+    }
+
+    public void validateGameRunning(Game game) throws GameApiException {
         if (game.isGameOver()) {
             log.error("The provided game is already over. GameId: {}.", game.getGameId());
             throw new GameApiException(GAME_IS_OVER);
-        } else if (game.isPlayerOneTurn() && !board.isPlayerOnePit(selectedPitId))  {
+        }
+    }
+
+    public void validateMovement(Game game, int selectedPitId) throws GameApiException {
+        validateGameRunning(game);
+
+        // The same mask exposed to the clients, the other checks are only used to find out the reason of the error
+        if (KalahEngine.isLegalMove(game.legalMoves(), selectedPitId)) {
+            return;
+        }
+
+        Board board = game.getBoard();
+        if (game.isPlayerOneTurn() && !board.isPlayerOnePit(selectedPitId))  {
             log.error("The selected Pit does not belong to the Player one. GameId: {} and PitId: {}.", game.getGameId(), selectedPitId);
             throw new GameApiException(INVALID_MOVEMENT);
         } else if (game.isPlayerTwoTurn() && !board.isPlayerTwoPit(selectedPitId)) {
             log.error("The selected Pit does not belong to the Player two. GameId: {} and PitId: {}.", game.getGameId(), selectedPitId);
             throw new GameApiException(INVALID_MOVEMENT);
-        } else if (board.getPits()[selectedPitId] == 0) {
+        } else {
             log.error("There is no more stone in the selected pit. GameId: {} and PitId: {}.", game.getGameId(), selectedPitId);
             throw new GameApiException(PIT_WITH_NO_STONE);
         }
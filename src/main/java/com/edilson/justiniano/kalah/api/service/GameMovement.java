@@ -0,0 +1,13 @@
+package com.edilson.justiniano.kalah.api.service;
+
+import com.edilson.justiniano.kalah.api.exception.GameApiException;
+import com.edilson.justiniano.kalah.api.model.GameResponse;
+
+/*
+ * A read, change and write of a game, run by the service
+ */
+@FunctionalInterface
+interface GameMovement {
+
+    GameResponse apply() throws GameApiException;
+}
@@ -0,0 +1,70 @@
+package com.edilson.justiniano.kalah.api.service;
+
+import com.edilson.justiniano.kalah.api.exception.GameApiException;
+import com.edilson.justiniano.kalah.api.model.GameResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+/**
+ * Runs the movements of the same game one at a time, in the order they arrive, while the movements of different games
+ * run in parallel. Every game id is mapped to one of a fixed set of locks (stripes), so there is nothing to create or
+ * clean up per game; two games sharing a stripe only wait for each other, which is rare with enough stripes.
+ *
+ * The time waiting for the lock is recorded on the {@code kalah.game.lock.wait} timer.
+ */
+@Component
+@ConditionalOnWebApplication(type = SERVLET)
+public class GameMovementSequencer {
+
+    static final String METRIC_LOCK_WAIT = "kalah.game.lock.wait";
+
+    private static final String PROPERTY_STRIPES = "kalah.sequencer.stripes";
+
+    private static final int DEFAULT_STRIPES = 1024;
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+    private final Timer lockWait;
+
+    public GameMovementSequencer(Environment environment, MeterRegistry meterRegistry) {
+        int stripes = environment.getProperty(PROPERTY_STRIPES, Integer.class, DEFAULT_STRIPES);
+        // Power of two, so the stripe is taken with a mask
+        int size = Integer.highestOneBit(Math.max(1, stripes));
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            // Fair, so the waiting movements of a game are applied in the order they arrived
+            locks[i] = new ReentrantLock(true);
+        }
+        this.mask = size - 1;
+        this.lockWait = Timer.builder(METRIC_LOCK_WAIT)
+                .description("Time a movement waits for the other movements of the same game")
+                .register(meterRegistry);
+    }
+
+    public GameResponse sequence(String gameId, GameMovement gameMovement) throws GameApiException {
+        ReentrantLock lock = lockFor(gameId);
+
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            lockWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return gameMovement.apply();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(String gameId) {
+        int hash = gameId.hashCode();
+        // The upper bits are spread over the lower ones, the mask only keeps those
+        return locks[(hash ^ (hash >>> 16)) & mask];
+    }
+}
@@ -0,0 +1,88 @@
+package com.edilson.justiniano.kalah.api.service;
+
+import com.edilson.justiniano.kalah.ai.ComputerPlayer;
+import com.edilson.justiniano.kalah.engine.KalahEngine;
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.FINISHED;
+import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_ONE;
+import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_TWO;
+import static java.time.Duration.between;
+import static java.time.Instant.now;
+
+/**
+ * The movements over a game already validated: the player movement, the answer of the computer and the end of the
+ * game. It only changes the game, so it is shared by the blocking and the reactive services
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class GamePlay {
+
+    private final ComputerPlayer computerPlayer;
+
+    public void applyMovement(Game game, int pitId) {
+        int player = game.isPlayerOneTurn() ? KalahEngine.PLAYER_ONE : KalahEngine.PLAYER_TWO;
+
+        // The rules are applied by the engine, here we only reflect the outcome of the movement on the game
+        int[] pits = game.getBoard().getPits();
+        KalahEngine engine = KalahEngine.forPits(pits);
+        int outcome = engine.move(pits, player, pitId);
+        game.recordMove(pitId, game.getNextPlayer(), now().toEpochMilli());
+
+        if (KalahEngine.isGameOver(outcome)) {
+            logGameOver(engine, pits);
+            setGameAsFinished(game);
+        } else {
+            // Set the next player according the rules
+            setNextPlayer(game, KalahEngine.nextPlayer(outcome, player));
+        }
+    }
+
+    /*
+     * When the game is against the computer, it answers right away. It keeps playing while it has extra turns
+     */
+    public void playComputerTurn(Game game) {
+        while (game.isComputerTurn()) {
+            int pitId = computerPlayer.selectMove(game.getBoard().getPits(), game.nextPlayerIndex());
+
+            log.debug("Making the computer movement. GameId: {} and PitId: {}.", game.getGameId(), pitId + 1);
+            applyMovement(game, pitId);
+        }
+    }
+
+    /*
+     * The pit id (from 1) the computer would play for the player to play
+     */
+    public int suggestMovement(Game game) {
+        return computerPlayer.selectMove(game.getBoard().getPits(), game.nextPlayerIndex()) + 1;
+    }
+
+    private void setNextPlayer(Game game, int player) {
+        game.setNextPlayer(player == KalahEngine.PLAYER_ONE ? PLAYER_ONE : PLAYER_TWO);
+    }
+
+    private void logGameOver(KalahEngine engine, int[] pits) {
+        if (engine.isPitsEmpty(pits, KalahEngine.PLAYER_ONE)) {
+            log.info("Player one has no more stone on its kalah. So, Player one lose, unfortunately. But thanks for play!");
+        } else {
+            log.info("Player two has no more stone on its kalah. So, Player two lose, unfortunately. But thanks for play!");
+        }
+    }
+
+    private void setGameAsFinished(Game game) {
+        game.setGameStatus(FINISHED);
+
+        // I added by myself at the model entity the field duration... It could be used in the future to check how long
+        // the game is taken. I though it could be helpful to have it
+        Instant startedTime = Instant.ofEpochMilli(game.getStartedTime());
+        Instant currentTime = now();
+        long duration = between(startedTime, currentTime).getSeconds();
+        game.setDuration(duration);
+    }
+}
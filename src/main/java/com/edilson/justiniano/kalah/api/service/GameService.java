@@ -1,22 +1,30 @@
 package com.edilson.justiniano.kalah.api.service;
 
 import com.edilson.justiniano.kalah.api.exception.GameApiException;
+import com.edilson.justiniano.kalah.api.model.BulkGameRequest;
+import com.edilson.justiniano.kalah.api.model.GameRequest;
 import com.edilson.justiniano.kalah.api.model.GameResponse;
-import com.edilson.justiniano.kalah.persistence.game.model.Board;
+import com.edilson.justiniano.kalah.persistence.game.cache.GameLoader;
+import com.edilson.justiniano.kalah.persistence.game.cache.RunningGameCache;
 import com.edilson.justiniano.kalah.persistence.game.model.Game;
 import com.edilson.justiniano.kalah.persistence.game.repository.GameRepository;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.stream.Collectors;
 
+import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.CONCURRENT_MOVEMENT;
 import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.GAME_NOT_FOUND;
-import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.FINISHED;
-import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_ONE;
-import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_TWO;
-import static java.time.Duration.between;
-import static java.time.Instant.now;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
 
 /**
  * Class used to attend all the game controller requests. Create a game, delete, update and retrieve it.
@@ -24,41 +32,120 @@ import static java.time.Instant.now;
 @Slf4j
 @AllArgsConstructor
 @Service
+@ConditionalOnWebApplication(type = SERVLET)
 public class GameService {
 
-    private static final int PLAYER_ONE_KALAH_INDEX = 6;
-    private static final int PLAYER_TWO_KALAH_INDEX = 13;
-    private static final int PLAYER_TWO_LAST_PIT_INDEX = 12;
+    private static final int MAX_MOVEMENT_ATTEMPTS = 3;
+    // Games built and written at once by the bulk creation
+    private static final int CREATION_BATCH_SIZE = 1_000;
 
     private final GameBuilder builder;
     private final GameDataValidator validator;
     private final GameRepository gameRepository;
+    private final GamePlay gamePlay;
+    private final RunningGameCache gameCache;
+    private final GameMovementSequencer sequencer;
+    private final GameLoader gameLoader;
+    private final ApplicationEventPublisher eventPublisher;
 
     /*
      * Method used to create a new game
      */
-    public GameResponse createGame() {
+    public GameResponse createGame(GameRequest gameRequest) throws GameApiException {
         log.info("Creating a new game.");
 
-        Game game = builder.buildGame();
+        validator.validateGameCreation(gameRequest);
+
+        Game game = builder.buildGame(gameRequest);
 
         log.debug("Saving the new game. GameId: {}.", game.getGameId());
-        gameRepository.save(game);
+        game = gameRepository.save(game);
+        gameCache.put(game);
 
         log.debug("Game successfully created. GameId: {}.", game.getGameId());
         return builder.buildGameResponse(game);
     }
 
+    /*
+     * Method used to create several games like the same one. The request is validated right away, the games are
+     * created batch by batch (one insert per batch) while the returned batches are read, so the caller can send the
+     * created games back as they are stored. They are not kept on the cache, nobody is playing them yet
+     */
+    public Iterator<List<GameResponse>> createGames(BulkGameRequest bulkGameRequest) throws GameApiException {
+        log.info("Creating a batch of games. Count: {}.", bulkGameRequest.getCount());
+
+        validator.validateGamesCreation(bulkGameRequest.getCount());
+        GameRequest gameRequest = Optional.ofNullable(bulkGameRequest.getGame()).orElseGet(GameRequest::new);
+        validator.validateGameCreation(gameRequest);
+
+        int count = bulkGameRequest.getCount();
+        return new Iterator<List<GameResponse>>() {
+
+            private int createdGames;
+
+            @Override
+            public boolean hasNext() {
+                return createdGames < count;
+            }
+
+            @Override
+            public List<GameResponse> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<Game> games = builder.buildGames(gameRequest, Math.min(CREATION_BATCH_SIZE, count - createdGames));
+                gameRepository.insertAll(games);
+                createdGames += games.size();
+
+                log.debug("Batch of games successfully created. Games: {} of {}.", createdGames, count);
+                return games.stream().map(builder::buildGameResponse).collect(Collectors.toList());
+            }
+        };
+    }
+
     /*
      * Method used to retrieve a game based on its id
      */
-    public GameResponse searchGame(String gameId) throws GameApiException {
+    public GameResponse searchGame(String gameId, boolean includeLegalMoves) throws GameApiException {
         log.info("Searching for the game. GameId: {}.", gameId);
 
         Game game = retrieveGame(gameId);
 
         log.debug("Game successfully found. GameId: {}.", game.getGameId());
-        return builder.buildGameResponse(game);
+        return includeLegalMoves ? builder.buildLegalMovesResponse(game) : builder.buildGameResponse(game);
+    }
+
+    /*
+     * Method used to know the movements of a game (its version) without reading it. Only the running games on the
+     * cache are known, empty for the others
+     */
+    public OptionalInt searchMoveCount(String gameId) {
+        return gameCache.moveCount(gameId);
+    }
+
+    /*
+     * Method used to retrieve the board of a game, like it is answered after a movement
+     */
+    public GameResponse searchGameStatus(String gameId) throws GameApiException {
+        log.info("Searching for the board of the game. GameId: {}.", gameId);
+
+        return builder.buildGameStatusResponse(retrieveGame(gameId));
+    }
+
+    /*
+     * Method used to suggest the next movement of the player to play. The computer opponent is asked for it
+     */
+    public GameResponse suggestMovement(String gameId) throws GameApiException {
+        log.info("Suggesting a movement. GameId: {}.", gameId);
+
+        Game game = retrieveGame(gameId);
+
+        validator.validateGameRunning(game);
+
+        int pitId = gamePlay.suggestMovement(game);
+
+        log.debug("Movement suggested. GameId: {} and PitId: {}.", game.getGameId(), pitId);
+        return builder.buildHintResponse(game, pitId);
     }
 
     /*
@@ -75,7 +162,9 @@ public class GameService {
         }
 
         log.debug("Deleting the game. GameId: {} and status: {}.", game.getGameId(), game.getGameStatus());
-        gameRepository.delete(game);
+        gameCache.remove(gameId);
+        // By id, the delete of the entity is conditional on its version and the cached one can be newer than the stored
+        gameRepository.deleteById(game.getGameId());
 
         log.debug("Game successfully deleted. GameId: {} and status: {}.", game.getGameId(), game.getGameStatus());
     }
@@ -86,134 +175,136 @@ public class GameService {
     public GameResponse makeMovement(String gameId, int pitId) throws GameApiException {
         log.info("Making a movement. GameId: {} and PitId: {}.", gameId, pitId);
 
-        int normalizePitId = pitId - 1;
-        Game game = retrieveGame(gameId);
+        return sequenceMovement(gameId, () -> {
+            int normalizePitId = pitId - 1;
+            Game game = retrieveGame(gameId);
 
-        validator.validateMovement(game, normalizePitId);
+            validator.validateMovement(game, normalizePitId);
 
-        startMovement(game, normalizePitId);
+            startMovement(game, normalizePitId);
 
-        log.debug("The movement has been done successfully. GameId: {} and PitId: {}.", game.getGameId(), pitId);
-        return builder.buildGameStatusResponse(game);
+            log.debug("The movement has been done successfully. GameId: {} and PitId: {}.", game.getGameId(), pitId);
+            GameResponse gameResponse = builder.buildGameStatusResponse(game);
+            eventPublisher.publishEvent(new GameChangedEvent(gameId, gameResponse));
+            return gameResponse;
+        });
     }
 
     /*
-     * Method that is responsible only to apply the movement according the selected pitId
+     * Method used to apply several movements in a row (e.g. a player chaining extra turns). The game is loaded and
+     * saved only once. The movements are applied until the first invalid one, which is reported in the response
      */
-    private void startMovement(Game game, int pitId) {
-
-        int nextPitIndex = moveStones(game, pitId);
-
-        // Check the opposite pit is empty
-        takeOppositeStones(game, nextPitIndex);
-
-        // Check the end's game after all turns
-        boolean isGameOver = isGameOver(game.getBoard());
-
-        if (isGameOver) {
-            setGameAsFinished(game);
-        } else {
-            // Set the next player according the rules
-            setNextPlayer(game, nextPitIndex);
-        }
-
-        log.debug("Saving the game after apply the movement. GameId: {}.", game.getGameId());
-        gameRepository.save(game);
-
-    }
-
-    private int moveStones(Game game, int pitId) {
-        Board board = game.getBoard();
-        int numberOfStones = board.getPits()[pitId];
-        board.getPits()[pitId] = 0;
-
-        int nextPitIndex = pitId;
-
-        do {
-            // We need to reset the next Pit index if it is the Player two's kalah
-            if (board.isPlayerTwoKalah(nextPitIndex)) {
-                nextPitIndex = 0;
-            } else {
-                nextPitIndex++;
+    public GameResponse makeMovements(String gameId, List<Integer> pitIds) throws GameApiException {
+        log.info("Making a batch of movements. GameId: {} and PitIds: {}.", gameId, pitIds);
+
+        validator.validateMovements(pitIds);
+
+        return sequenceMovement(gameId, () -> {
+            Game game = retrieveGame(gameId);
+
+            Integer rejectedMovementIndex = null;
+            String rejectedMovementReason = null;
+            for (int i = 0; i < pitIds.size(); i++) {
+                int normalizePitId = pitIds.get(i) - 1;
+                try {
+                    validator.validateMovement(game, normalizePitId);
+                } catch (GameApiException ex) {
+                    rejectedMovementIndex = i;
+                    rejectedMovementReason = ex.getErrorCode();
+                    break;
+                }
+
+                gamePlay.applyMovement(game, normalizePitId);
+                gamePlay.playComputerTurn(game);
             }
 
-            // The stones cannot be put in the opponent's kalah. So, skip it
-            if ((game.isPlayerOneTurn() && board.isNotPlayerTwoKalah(nextPitIndex)) ||
-                    (game.isPlayerTwoTurn() && board.isNotPlayerOneKalah(nextPitIndex))) {
-                board.getPits()[nextPitIndex] += 1;
-                numberOfStones--;
+            // Nothing to save when the first movement is already rejected
+            if (rejectedMovementIndex == null || rejectedMovementIndex > 0) {
+                log.debug("Saving the game after apply the movements. GameId: {}.", game.getGameId());
+                saveGame(game);
+                // Only the board is published, the rejected movement is an answer to this caller
+                GameResponse board = builder.buildGameStatusResponse(game);
+                eventPublisher.publishEvent(new GameChangedEvent(gameId, board));
+                if (rejectedMovementIndex == null) {
+                    return board;
+                }
             }
-        } while (numberOfStones > 0);
-
-        return nextPitIndex;
-    }
 
-    private void takeOppositeStones(Game game, int nextPitIndex) {
-        Board board = game.getBoard();
-        // If it is the player one turn and the last stone is put in his/her owns pit, get the opposite pits stone
-        if (game.isPlayerOneTurn() && board.isPlayerOnePit(nextPitIndex)) {
-            if (board.getPits()[nextPitIndex] == 1) {
-                collectOppositeStones(board, nextPitIndex, PLAYER_ONE_KALAH_INDEX);
-            }
-        } else if (game.isPlayerTwoTurn() && board.isPlayerTwoPit(nextPitIndex)) {
-            if (board.getPits()[nextPitIndex] == 1) {
-                collectOppositeStones(board, nextPitIndex, PLAYER_TWO_KALAH_INDEX);
-            }
-        }
+            log.debug("The batch of movements has been done. GameId: {} and rejected movement: {}.", game.getGameId(), rejectedMovementIndex);
+            GameResponse gameResponse = builder.buildGameStatusResponse(game);
+            gameResponse.setRejectedMovementIndex(rejectedMovementIndex);
+            gameResponse.setRejectedMovementReason(rejectedMovementReason);
+            return gameResponse;
+        });
     }
 
-    private void collectOppositeStones(Board board, int nextPitIndex, int kalahPalyerIndex) {
-        // In order to find the opposite pit index I did the following calc (assuming the following pit positions):
-        //   12 11 10  9  8  7
-        // 13                  6
-        //    0  1  2  3  4  5
-        // 12 = Last Player two pit
-        // So to get the opposite pit is just subtract the last player two pit index to the nextPitId.
-        // For example: 12 - 3 (nextPitId) = 9. So, the opposite pit of 3 is the pit of index 9
-        // The same logic but in inverse way
-        board.getPits()[nextPitIndex] = 0;
-        board.getPits()[PLAYER_TWO_LAST_PIT_INDEX - nextPitIndex] = 0;
-        int oppositeStones = board.getPits()[PLAYER_TWO_LAST_PIT_INDEX - nextPitIndex];
-        board.getPits()[kalahPalyerIndex] += (oppositeStones + 1);
+    /*
+     * The movements of a game run one at a time and the new board is published once it is written, before the next
+     * one starts, so the listeners get the boards in the order of the movements. The listeners only hand the board
+     * over, they do not send it on the caller thread
+     */
+    private GameResponse sequenceMovement(String gameId, GameMovement gameMovement) throws GameApiException {
+        return sequencer.sequence(gameId, () -> retryOnConcurrentMovement(gameId, gameMovement));
     }
 
-    private void setNextPlayer(Game game, int nextPitIndex) {
-        Board board = game.getBoard();
-        if (game.isPlayerOneTurn() && board.isNotPlayerOneKalah(nextPitIndex)) {
-            game.setNextPlayer(PLAYER_TWO);
-        } else if (game.isPlayerTwoTurn() && board.isNotPlayerTwoKalah(nextPitIndex)) {
-            game.setNextPlayer(PLAYER_ONE);
+    /*
+     * The movements of a game are sequenced on this instance, but another instance can still change the game. So they
+     * are written only if nobody else changed the game since it was read. Otherwise the game is read again and the
+     * movement is validated and applied over the new state, a few times before giving up
+     */
+    private GameResponse retryOnConcurrentMovement(String gameId, GameMovement gameMovement) throws GameApiException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return gameMovement.apply();
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= MAX_MOVEMENT_ATTEMPTS) {
+                    log.error("The game was changed by another movement, giving up. GameId: {}.", gameId);
+                    throw new GameApiException(CONCURRENT_MOVEMENT);
+                }
+                log.warn("The game was changed by another movement, trying again. GameId: {} and attempt: {}.", gameId, attempt);
+            }
         }
     }
 
-    private boolean isGameOver(Board board) {
-        boolean isGameOver = false;
-        if (board.isPlayerOnePitsEmpty()) {
-            log.info("Player one has no more stone on its kalah. So, Player one lose, unfortunately. But thanks for play!");
-            isGameOver = true;
-        } else if (board.isPlayerTwoPitsEmpty()) {
-            log.info("Player two has no more stone on its kalah. So, Player two lose, unfortunately. But thanks for play!");
-            isGameOver = true;
-        }
+    /*
+     * Method that is responsible only to apply the movement according the selected pitId and save it
+     */
+    private void startMovement(Game game, int pitId) {
+        gamePlay.applyMovement(game, pitId);
+        gamePlay.playComputerTurn(game);
 
-        return isGameOver;
+        log.debug("Saving the game after apply the movement. GameId: {}.", game.getGameId());
+        saveGame(game);
     }
 
-    private void setGameAsFinished(Game game) {
-        game.setGameStatus(FINISHED);
+    /*
+     * The running games are written by the cache (later, several movements at once), the database is only written
+     * here when the cache is disabled. Both reject the write when the game is not on the version it was read anymore.
+     * Only the movements after the stored ones are appended to the journal
+     */
+    private void saveGame(Game game) {
+        Long previousVersion = game.getVersion();
+        game.setVersion(game.nextVersion());
 
-        // I added by myself at the model entity the field duration... It could be used in the future to check how long
-        // the game is taken. I though it could be helpful to have it
-        Instant startedTime = Instant.ofEpochMilli(game.getStartedTime());
-        Instant currentTime = now();
-        long duration = between(startedTime, currentTime).getSeconds();
-        game.setDuration(duration);
+        if (!gameCache.update(game, previousVersion)) {
+            gameRepository.updateMovement(game, previousVersion, game.getStoredMoves());
+        }
     }
 
     private Game retrieveGame(String gameId) throws GameApiException {
-        return gameRepository.findById(gameId).orElseThrow(() -> {
-            log.error("The game was not found. GameId: {}.", gameId);
+        Optional<Game> cachedGame = gameCache.get(gameId);
+        if (cachedGame.isPresent()) {
+            return cachedGame.get();
+        }
+
+        Game game = gameLoader.findById(gameId).orElseThrow(() -> {
+            // Expected for the stale ids polled by the clients, so it is not an error of the application
+            log.debug("The game was not found. GameId: {}.", gameId);
             return new GameApiException(GAME_NOT_FOUND);
         });
+        game.replayJournal();
+        gameCache.put(game);
+        return game;
     }
+
 }
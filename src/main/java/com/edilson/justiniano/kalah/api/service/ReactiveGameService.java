@@ -0,0 +1,193 @@
+package com.edilson.justiniano.kalah.api.service;
+
+import com.edilson.justiniano.kalah.api.exception.GameApiException;
+import com.edilson.justiniano.kalah.api.model.BulkGameRequest;
+import com.edilson.justiniano.kalah.api.model.GameRequest;
+import com.edilson.justiniano.kalah.api.model.GameResponse;
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import com.edilson.justiniano.kalah.persistence.game.repository.ReactiveGameRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.CONCURRENT_MOVEMENT;
+import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.GAME_NOT_FOUND;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+
+/**
+ * The flow of {@link GameService} for the reactive stack, no thread waits for the database. The movements (and the
+ * computer search) run on the parallel scheduler, not on the event loop.
+ *
+ * There is no cache of the running games nor lock per game here: every movement reads and writes the database and the
+ * concurrent movements of a game are sorted out by the version only (read again and retried, 409 after three attempts)
+ */
+@Slf4j
+@AllArgsConstructor
+@Service
+@ConditionalOnWebApplication(type = REACTIVE)
+public class ReactiveGameService {
+
+    private static final int MAX_MOVEMENT_ATTEMPTS = 3;
+    private static final int CREATION_BATCH_SIZE = 1_000;
+
+    private final GameBuilder builder;
+    private final GameDataValidator validator;
+    private final ReactiveGameRepository gameRepository;
+    private final GamePlay gamePlay;
+
+    public Mono<GameResponse> createGame(GameRequest gameRequest) {
+        log.info("Creating a new game.");
+
+        return Mono.fromCallable(() -> {
+            validator.validateGameCreation(gameRequest);
+            return builder.buildGame(gameRequest);
+        })
+                .flatMap(gameRepository::save)
+                .map(builder::buildGameResponse);
+    }
+
+    public Flux<GameResponse> createGames(BulkGameRequest bulkGameRequest) {
+        log.info("Creating a batch of games. Count: {}.", bulkGameRequest.getCount());
+
+        return Mono.fromCallable(() -> {
+            validator.validateGamesCreation(bulkGameRequest.getCount());
+            GameRequest gameRequest = Optional.ofNullable(bulkGameRequest.getGame()).orElseGet(GameRequest::new);
+            validator.validateGameCreation(gameRequest);
+            return gameRequest;
+        })
+                .flatMapMany(gameRequest -> Flux.range(0, batches(bulkGameRequest.getCount()))
+                        // One batch at a time, each one is a single insertMany
+                        .concatMap(batch -> {
+                            int size = Math.min(CREATION_BATCH_SIZE, bulkGameRequest.getCount() - batch * CREATION_BATCH_SIZE);
+                            List<Game> games = builder.buildGames(gameRequest, size);
+                            return gameRepository.insert(games);
+                        }))
+                .map(builder::buildGameResponse);
+    }
+
+    public Mono<GameResponse> searchGame(String gameId, boolean includeLegalMoves) {
+        log.info("Searching for the game. GameId: {}.", gameId);
+
+        return retrieveGame(gameId)
+                .map(game -> includeLegalMoves ? builder.buildLegalMovesResponse(game) : builder.buildGameResponse(game));
+    }
+
+    public Mono<GameResponse> suggestMovement(String gameId) {
+        log.info("Suggesting a movement. GameId: {}.", gameId);
+
+        return retrieveGame(gameId)
+                .publishOn(Schedulers.parallel())
+                .flatMap(game -> Mono.fromCallable(() -> {
+                    validator.validateGameRunning(game);
+                    return builder.buildHintResponse(game, gamePlay.suggestMovement(game));
+                }));
+    }
+
+    public Mono<Void> removeGame(String gameId) {
+        log.info("Deleting a game. GameId: {}.", gameId);
+
+        return retrieveGame(gameId)
+                .flatMap(game -> gameRepository.deleteById(game.getGameId()));
+    }
+
+    public Mono<GameResponse> makeMovement(String gameId, int pitId) {
+        log.info("Making a movement. GameId: {} and PitId: {}.", gameId, pitId);
+
+        return retryOnConcurrentMovement(gameId, retrieveGame(gameId)
+                .publishOn(Schedulers.parallel())
+                .flatMap(game -> Mono.fromCallable(() -> {
+                    int normalizePitId = pitId - 1;
+                    validator.validateMovement(game, normalizePitId);
+
+                    gamePlay.applyMovement(game, normalizePitId);
+                    gamePlay.playComputerTurn(game);
+                    return game;
+                }))
+                .flatMap(game -> saveGame(game).thenReturn(builder.buildGameStatusResponse(game))));
+    }
+
+    public Mono<GameResponse> makeMovements(String gameId, List<Integer> pitIds) {
+        log.info("Making a batch of movements. GameId: {} and PitIds: {}.", gameId, pitIds);
+
+        return Mono.fromCallable(() -> {
+            validator.validateMovements(pitIds);
+            return pitIds;
+        })
+                .then(retryOnConcurrentMovement(gameId, retrieveGame(gameId)
+                        .publishOn(Schedulers.parallel())
+                        .flatMap(game -> {
+                            GameResponse gameResponse = applyMovements(game, pitIds);
+                            Integer rejectedMovementIndex = gameResponse.getRejectedMovementIndex();
+                            // Nothing to save when the first movement is already rejected
+                            if (rejectedMovementIndex != null && rejectedMovementIndex == 0) {
+                                return Mono.just(gameResponse);
+                            }
+                            return saveGame(game).thenReturn(gameResponse);
+                        })));
+    }
+
+    private GameResponse applyMovements(Game game, List<Integer> pitIds) {
+        Integer rejectedMovementIndex = null;
+        String rejectedMovementReason = null;
+        for (int i = 0; i < pitIds.size(); i++) {
+            int normalizePitId = pitIds.get(i) - 1;
+            try {
+                validator.validateMovement(game, normalizePitId);
+            } catch (GameApiException ex) {
+                rejectedMovementIndex = i;
+                rejectedMovementReason = ex.getErrorCode();
+                break;
+            }
+
+            gamePlay.applyMovement(game, normalizePitId);
+            gamePlay.playComputerTurn(game);
+        }
+
+        GameResponse gameResponse = builder.buildGameStatusResponse(game);
+        gameResponse.setRejectedMovementIndex(rejectedMovementIndex);
+        gameResponse.setRejectedMovementReason(rejectedMovementReason);
+        return gameResponse;
+    }
+
+    /*
+     * The whole movement (read, validation and write) is run again when the game was changed since it was read
+     */
+    private Mono<GameResponse> retryOnConcurrentMovement(String gameId, Mono<GameResponse> gameMovement) {
+        return gameMovement
+                .doOnError(OptimisticLockingFailureException.class,
+                           ex -> log.warn("The game was changed by another movement. GameId: {}.", gameId))
+                .retry(MAX_MOVEMENT_ATTEMPTS - 1, OptimisticLockingFailureException.class::isInstance)
+                .onErrorMap(OptimisticLockingFailureException.class, ex -> {
+                    log.error("The game was changed by another movement, giving up. GameId: {}.", gameId);
+                    return new GameApiException(CONCURRENT_MOVEMENT);
+                });
+    }
+
+    private Mono<Void> saveGame(Game game) {
+        Long previousVersion = game.getVersion();
+        game.setVersion(game.nextVersion());
+
+        return gameRepository.updateMovement(game, previousVersion, game.getStoredMoves());
+    }
+
+    private Mono<Game> retrieveGame(String gameId) {
+        return gameRepository.findById(gameId)
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.debug("The game was not found. GameId: {}.", gameId);
+                    return Mono.error(new GameApiException(GAME_NOT_FOUND));
+                }))
+                .doOnNext(Game::replayJournal);
+    }
+
+    private static int batches(int count) {
+        return (count + CREATION_BATCH_SIZE - 1) / CREATION_BATCH_SIZE;
+    }
+}
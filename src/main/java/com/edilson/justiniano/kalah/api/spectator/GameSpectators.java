@@ -0,0 +1,275 @@
+package com.edilson.justiniano.kalah.api.spectator;
+
+import com.edilson.justiniano.kalah.api.broadcast.BoardChannel;
+import com.edilson.justiniano.kalah.api.broadcast.GameChannels;
+import com.edilson.justiniano.kalah.api.exception.GameApiException;
+import com.edilson.justiniano.kalah.api.service.GameChangedEvent;
+import com.edilson.justiniano.kalah.api.service.GameService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+/**
+ * Server-sent events of the boards of a game, for the spectators. Instead of every spectator polling the game, the
+ * JSON of every board change is encoded once (see {@link GameChangedEvent}), framed once and the same bytes (never
+ * changed after) are sent to all the spectators of the game (see {@link GameChannels}).
+ *
+ * The frames are written with the non-blocking I/O of the servlet container through a {@link BoardChannel}: no thread
+ * waits for a spectator, at most one frame is in flight and only the latest board waits behind it, so a slow spectator
+ * costs no thread nor memory and only sees fewer boards. A spectator which does not take a frame within
+ * kalah.spectator.send-time-limit-ms is disconnected.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = SERVLET)
+public class GameSpectators {
+
+    static final String CONTENT_TYPE = "text/event-stream;charset=UTF-8";
+
+    private static final String PROPERTY_TIMEOUT = "kalah.spectator.timeout-ms";
+    private static final String PROPERTY_SEND_TIME_LIMIT = "kalah.spectator.send-time-limit-ms";
+
+    private static final long DEFAULT_TIMEOUT = 1_800_000;
+    private static final long DEFAULT_SEND_TIME_LIMIT = 5_000;
+
+    private static final byte[] FRAME_PREFIX = "event:board\ndata:".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FRAME_SUFFIX = "\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final GameChannels<SpectatorChannel, byte[]> spectators;
+    private final long timeout;
+    private final long sendTimeLimitNanos;
+    private final ScheduledExecutorService watchdog;
+
+    public GameSpectators(GameService gameService, ObjectMapper objectMapper, Environment environment) {
+        this.spectators = new GameChannels<>(gameService, objectMapper, GameSpectators::frame);
+        this.timeout = environment.getProperty(PROPERTY_TIMEOUT, Long.class, DEFAULT_TIMEOUT);
+        long sendTimeLimit = environment.getProperty(PROPERTY_SEND_TIME_LIMIT, Long.class, DEFAULT_SEND_TIME_LIMIT);
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimit);
+
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-spectator-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long checkInterval = Math.max(1, sendTimeLimit / 2);
+        watchdog.scheduleWithFixedDelay(this::dropSlowSpectators, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Starts the stream of a game, the current board is its first event. An unknown game is rejected before the
+     * stream starts, so it is answered like the other requests
+     */
+    public void subscribe(String gameId, HttpServletRequest request, HttpServletResponse response) throws GameApiException, IOException {
+        SpectatorChannel spectator = new SpectatorChannel(gameId);
+        spectators.join(gameId, spectator);
+
+        try {
+            response.setContentType(CONTENT_TYPE);
+            AsyncContext asyncContext = request.startAsync(request, response);
+            asyncContext.setTimeout(timeout);
+            asyncContext.addListener(spectator);
+            spectator.attach(asyncContext, response.getOutputStream());
+        } catch (IOException | RuntimeException ex) {
+            unsubscribe(spectator);
+            throw ex;
+        }
+
+        log.debug("Spectator subscribed to the game. GameId: {}.", gameId);
+    }
+
+    @EventListener
+    public void onGameChanged(GameChangedEvent event) {
+        spectators.onGameChanged(event);
+    }
+
+    public int size(String gameId) {
+        return spectators.size(gameId);
+    }
+
+    /*
+     * Disconnects the spectators which did not take their frame in time
+     */
+    void dropSlowSpectators() {
+        spectators.forEach(spectator -> {
+            if (spectator.isSendingLongerThan(sendTimeLimitNanos)) {
+                log.debug("The spectator is too slow, it is disconnected. GameId: {}.", spectator.gameId);
+                unsubscribe(spectator);
+                spectator.closeChannel();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        watchdog.shutdownNow();
+        watchdog.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private static byte[] frame(byte[] board) {
+        byte[] frame = new byte[FRAME_PREFIX.length + board.length + FRAME_SUFFIX.length];
+        System.arraycopy(FRAME_PREFIX, 0, frame, 0, FRAME_PREFIX.length);
+        System.arraycopy(board, 0, frame, FRAME_PREFIX.length, board.length);
+        System.arraycopy(FRAME_SUFFIX, 0, frame, FRAME_PREFIX.length + board.length, FRAME_SUFFIX.length);
+        return frame;
+    }
+
+    private void unsubscribe(SpectatorChannel spectator) {
+        spectators.leave(spectator.gameId, spectator);
+    }
+
+    /*
+     * Writes the frames of a spectator only when the container says the stream is ready, so a write never blocks. A
+     * frame is sent once it is written and flushed, which can be finished later by the container (onWritePossible)
+     */
+    private class SpectatorChannel extends BoardChannel<byte[]> implements WriteListener, AsyncListener {
+
+        private final String gameId;
+
+        // All guarded by this. The stream is set once the response is asynchronous
+        private AsyncContext asyncContext;
+        private ServletOutputStream out;
+        // The frame in flight: not written yet, written but not flushed, or on its way
+        private byte[] unwrittenFrame;
+        private boolean unflushed;
+        private boolean inFlight;
+
+        private SpectatorChannel(String gameId) {
+            this.gameId = gameId;
+        }
+
+        private void attach(AsyncContext asyncContext, ServletOutputStream out) throws IOException {
+            out.setWriteListener(this);
+            boolean done;
+            synchronized (this) {
+                this.asyncContext = asyncContext;
+                this.out = out;
+                done = progress();
+            }
+            if (done) {
+                sent();
+            }
+        }
+
+        @Override
+        protected void send(byte[] frame) {
+            boolean done;
+            try {
+                synchronized (this) {
+                    unwrittenFrame = frame;
+                    inFlight = true;
+                    done = progress();
+                }
+            } catch (IOException | RuntimeException ex) {
+                failed(ex);
+                return;
+            }
+            if (done) {
+                sent();
+            }
+        }
+
+        @Override
+        public void onWritePossible() throws IOException {
+            boolean done;
+            synchronized (this) {
+                done = progress();
+            }
+            if (done) {
+                sent();
+            }
+        }
+
+        @Override
+        public void onError(Throwable cause) {
+            log.debug("The frame could not be sent to the spectator. GameId: {}.", gameId, cause);
+            failed(cause);
+        }
+
+        /*
+         * Writes and flushes the frame in flight as far as the stream allows. Returns true when it is completely out
+         */
+        private boolean progress() throws IOException {
+            if (out == null || !inFlight) {
+                return false;
+            }
+            if (unwrittenFrame != null) {
+                if (!out.isReady()) {
+                    return false;
+                }
+                out.write(unwrittenFrame);
+                unwrittenFrame = null;
+                unflushed = true;
+            }
+            if (unflushed) {
+                if (!out.isReady()) {
+                    return false;
+                }
+                out.flush();
+                unflushed = false;
+            }
+            if (!out.isReady()) {
+                return false;
+            }
+            inFlight = false;
+            return true;
+        }
+
+        @Override
+        protected void close() {
+            unsubscribe(this);
+            AsyncContext context;
+            synchronized (this) {
+                context = asyncContext;
+            }
+            if (context == null) {
+                return;
+            }
+            try {
+                context.complete();
+            } catch (RuntimeException ex) {
+                // Already completed by the container
+                log.debug("The stream of the spectator is already closed. GameId: {}.", gameId, ex);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            unsubscribe(this);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            closeChannel();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            unsubscribe(this);
+            closeChannel();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Nothing to do, the stream is started only once
+        }
+    }
+}
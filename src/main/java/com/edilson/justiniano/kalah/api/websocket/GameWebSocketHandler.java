@@ -0,0 +1,186 @@
+package com.edilson.justiniano.kalah.api.websocket;
+
+import com.edilson.justiniano.kalah.api.broadcast.BoardChannel;
+import com.edilson.justiniano.kalah.api.broadcast.GameChannels;
+import com.edilson.justiniano.kalah.api.exception.GameApiException;
+import com.edilson.justiniano.kalah.api.service.GameChangedEvent;
+import com.edilson.justiniano.kalah.api.service.GameService;
+import com.edilson.justiniano.kalah.exception.model.BaseError;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriTemplate;
+
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static com.edilson.justiniano.kalah.api.ApiConstants.PATH_PARAM_GAME_ID;
+import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.INVALID_MOVEMENT;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+/**
+ * Play channel of a game ({@code /games/{gameId}/ws}). On the connection the client gets the board, then every frame it
+ * sends is a movement: just the pit id (e.g. {@code 3}). The board after every movement of the game (from this
+ * channel or from the REST API) is pushed to all the clients of the game, so nobody polls it. It is the JSON of the
+ * board, encoded once for all of them (see {@link GameChannels}). A rejected movement is answered to its client only, with the JSON of the REST
+ * API errors.
+ *
+ * The frames are sent asynchronously through a {@link BoardChannel}, so a movement never waits for a client and a slow
+ * client only skips boards. A client which does not take a frame within kalah.websocket.send-time-limit-ms is
+ * disconnected.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = SERVLET)
+public class GameWebSocketHandler extends TextWebSocketHandler {
+
+    public static final String URL = "/games/{gameId}/ws";
+
+    private static final String PROPERTY_SEND_TIME_LIMIT = "kalah.websocket.send-time-limit-ms";
+
+    private static final long DEFAULT_SEND_TIME_LIMIT = 5_000;
+
+    private static final UriTemplate URL_TEMPLATE = new UriTemplate(URL);
+    // Attribute of the session holding its channel
+    private static final String ATTRIBUTE_CHANNEL = "kalah.boardChannel";
+
+    private final GameService gameService;
+    private final ObjectMapper objectMapper;
+    private final GameChannels<SessionChannel, String> channels;
+    private final long sendTimeLimit;
+
+    public GameWebSocketHandler(GameService gameService, ObjectMapper objectMapper, Environment environment) {
+        this.gameService = gameService;
+        this.objectMapper = objectMapper;
+        this.channels = new GameChannels<>(gameService, objectMapper, board -> new String(board, StandardCharsets.UTF_8));
+        this.sendTimeLimit = environment.getProperty(PROPERTY_SEND_TIME_LIMIT, Long.class, DEFAULT_SEND_TIME_LIMIT);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        String gameId = gameId(session);
+        SessionChannel channel = new SessionChannel(session);
+        session.getAttributes().put(ATTRIBUTE_CHANNEL, channel);
+
+        try {
+            channels.join(gameId, channel);
+        } catch (GameApiException ex) {
+            // An unknown game has no movements, so nothing else is being sent to the client
+            session.sendMessage(new TextMessage(encodeError(ex)));
+            session.close(CloseStatus.POLICY_VIOLATION);
+            return;
+        }
+        log.debug("Client connected to the game. GameId: {} and SessionId: {}.", gameId, session.getId());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        String gameId = gameId(session);
+        try {
+            // The new board reaches this client by onGameChanged, like the others
+            gameService.makeMovement(gameId, parsePitId(message.getPayload()));
+        } catch (GameApiException ex) {
+            channel(session).offerMessage(encodeError(ex));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        String gameId = gameId(session);
+        SessionChannel channel = channel(session);
+        if (channel != null) {
+            channels.leave(gameId, channel);
+            channel.closeChannel();
+        }
+        log.debug("Client disconnected from the game. GameId: {} and status: {}.", gameId, status);
+    }
+
+    @EventListener
+    public void onGameChanged(GameChangedEvent event) {
+        channels.onGameChanged(event);
+    }
+
+    private String encodeError(GameApiException ex) {
+        BaseError error = BaseError.builder().errorCode(ex.getErrorCode()).message(ex.getMessage()).build();
+        try {
+            return objectMapper.writeValueAsString(error);
+        } catch (JsonProcessingException encodingException) {
+            throw new IllegalStateException("The error could not be encoded.", encodingException);
+        }
+    }
+
+    private static int parsePitId(String payload) throws GameApiException {
+        try {
+            return Integer.parseInt(payload.trim());
+        } catch (NumberFormatException ex) {
+            throw new GameApiException(INVALID_MOVEMENT);
+        }
+    }
+
+    private static SessionChannel channel(WebSocketSession session) {
+        return (SessionChannel) session.getAttributes().get(ATTRIBUTE_CHANNEL);
+    }
+
+    private static String gameId(WebSocketSession session) {
+        Map<String, String> variables = URL_TEMPLATE.match(session.getUri().getPath());
+        return variables.get(PATH_PARAM_GAME_ID);
+    }
+
+    /*
+     * Sends the frames by the asynchronous remote endpoint of the session, which fails a frame not taken by the client
+     * within the send time limit
+     */
+    private class SessionChannel extends BoardChannel<String> {
+
+        private final WebSocketSession session;
+        private final RemoteEndpoint.Async remote;
+
+        private SessionChannel(WebSocketSession session) {
+            this.session = session;
+            this.remote = ((NativeWebSocketSession) session).getNativeSession(Session.class).getAsyncRemote();
+            this.remote.setSendTimeout(sendTimeLimit);
+        }
+
+        @Override
+        protected void send(String payload) {
+            try {
+                remote.sendText(payload, result -> {
+                    if (result.isOK()) {
+                        sent();
+                    } else {
+                        failed(result.getException());
+                    }
+                });
+            } catch (RuntimeException ex) {
+                failed(ex);
+            }
+        }
+
+        @Override
+        protected void failed(Throwable cause) {
+            log.debug("The frame could not be sent to the client, it is disconnected. SessionId: {}.", session.getId(), cause);
+            super.failed(cause);
+        }
+
+        @Override
+        protected void close() {
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException | RuntimeException ex) {
+                log.debug("The session could not be closed. SessionId: {}.", session.getId(), ex);
+            }
+        }
+    }
+}
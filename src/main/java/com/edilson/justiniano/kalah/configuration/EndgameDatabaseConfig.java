@@ -0,0 +1,38 @@
+package com.edilson.justiniano.kalah.configuration;
+
+import com.edilson.justiniano.kalah.endgame.EndgameDatabase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * The endgame database is optional: without the file the computer opponent and the hints just search every position
+ */
+@Slf4j
+@Configuration
+public class EndgameDatabaseConfig {
+
+    private static final String PROPERTY_DATABASE_FILE = "kalah.endgame.database-file";
+
+    @Bean
+    public EndgameDatabase endgameDatabase(Environment environment) {
+        String file = environment.getProperty(PROPERTY_DATABASE_FILE);
+        if (file == null || file.isEmpty()) {
+            log.info("No endgame database configured.");
+            return EndgameDatabase.empty();
+        }
+
+        try {
+            EndgameDatabase endgameDatabase = EndgameDatabase.open(Paths.get(file));
+            log.info("Endgame database opened. File: {} and stones: {}.", file, endgameDatabase.getMaxStones());
+            return endgameDatabase;
+        } catch (IOException ex) {
+            log.error("The endgame database could not be opened, it will not be used. File: {}.", file, ex);
+            return EndgameDatabase.empty();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.edilson.justiniano.kalah.configuration;
+
+import com.edilson.justiniano.kalah.persistence.game.converter.GameConverters;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+/**
+ * Compact encoding of the games on MongoDB, see {@link GameConverters}
+ */
+@Configuration
+public class MongoConversionConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(GameConverters.getConverters());
+    }
+}
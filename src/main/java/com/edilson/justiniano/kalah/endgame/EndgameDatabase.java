@@ -0,0 +1,131 @@
+package com.edilson.justiniano.kalah.endgame;
+
+import com.edilson.justiniano.kalah.engine.BoardGeometry;
+import com.edilson.justiniano.kalah.engine.KalahEngine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static com.edilson.justiniano.kalah.endgame.EndgameDatabaseGenerator.HEADER_SIZE;
+import static com.edilson.justiniano.kalah.endgame.EndgameDatabaseGenerator.MAGIC;
+import static com.edilson.justiniano.kalah.endgame.EndgameDatabaseGenerator.VERSION;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Perfect play lookups of the positions with few stones left on the pits, solved offline by
+ * {@link EndgameDatabaseGenerator}. The file is memory mapped, so a lookup is a single read of a byte (from the page
+ * cache once it is warm) and the database is shared by all the threads without any copy
+ */
+public final class EndgameDatabase {
+
+    private static final EndgameDatabase EMPTY = new EndgameDatabase(null, null, null, -1);
+
+    private final KalahEngine engine;
+    private final PositionIndexer indexer;
+    private final ByteBuffer values;
+    private final int maxStones;
+
+    private EndgameDatabase(KalahEngine engine, PositionIndexer indexer, ByteBuffer values, int maxStones) {
+        this.engine = engine;
+        this.indexer = indexer;
+        this.values = values;
+        this.maxStones = maxStones;
+    }
+
+    /*
+     * Database without any position, used when no file is configured
+     */
+    public static EndgameDatabase empty() {
+        return EMPTY;
+    }
+
+    public static EndgameDatabase open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            // The mapping is still valid once the channel is closed
+            ByteBuffer buffer = channel.map(READ_ONLY, 0, channel.size());
+            if (channel.size() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("The file " + file + " is not an endgame database.");
+            }
+
+            int pitsPerSide = buffer.getInt();
+            int maxStones = buffer.getInt();
+            BoardGeometry geometry = BoardGeometry.of(pitsPerSide);
+            PositionIndexer indexer = new PositionIndexer(geometry, maxStones);
+            if (channel.size() != HEADER_SIZE + indexer.size()) {
+                throw new IOException("The endgame database " + file + " is not complete.");
+            }
+
+            return new EndgameDatabase(KalahEngine.of(geometry), indexer, buffer.slice(), maxStones);
+        }
+    }
+
+    /*
+     * Whether the position is on the database: same board and no more stones on the pits than the solved ones
+     */
+    public boolean contains(int[] pits) {
+        if (engine == null || pits.length != engine.getBoardSize()) {
+            return false;
+        }
+        BoardGeometry geometry = engine.getGeometry();
+        int stones = -pits[geometry.kalahIndex(KalahEngine.PLAYER_ONE)] - pits[geometry.kalahIndex(KalahEngine.PLAYER_TWO)];
+        for (int pit : pits) {
+            stones += pit;
+        }
+        return stones <= maxStones;
+    }
+
+    /*
+     * The difference of the stones the player gets from the ones still on the pits with a perfect play. The final
+     * score difference is this value plus the current kalahs difference. The position must be on the database
+     */
+    public int value(int[] pits, int player) {
+        return values.get((int) indexer.index(pits, player));
+    }
+
+    /*
+     * The pit index with the best final score difference for the player. The position must be on the database and
+     * the game must not be over
+     */
+    public int bestMove(int[] pits, int player) {
+        BoardGeometry geometry = engine.getGeometry();
+        int kalahIndex = geometry.kalahIndex(player);
+        int opponent = KalahEngine.opponent(player);
+        int legalMoves = engine.legalMoves(pits, player);
+        int[] child = new int[pits.length];
+
+        int bestMove = -1;
+        int bestValue = Integer.MIN_VALUE;
+        for (int pitIndex = 0; pitIndex < pits.length; pitIndex++) {
+            if (!KalahEngine.isLegalMove(legalMoves, pitIndex)) {
+                continue;
+            }
+
+            System.arraycopy(pits, 0, child, 0, pits.length);
+            int outcome = engine.move(child, player, pitIndex);
+            int gain = child[kalahIndex] - pits[kalahIndex];
+
+            int value;
+            if (KalahEngine.isGameOver(outcome)) {
+                value = engine.score(child, player) - engine.score(child, opponent)
+                        - (pits[kalahIndex] - pits[geometry.kalahIndex(opponent)]);
+            } else if (KalahEngine.isExtraTurn(outcome)) {
+                value = gain + value(child, player);
+            } else {
+                value = gain - value(child, opponent);
+            }
+
+            if (value > bestValue) {
+                bestValue = value;
+                bestMove = pitIndex;
+            }
+        }
+        return bestMove;
+    }
+
+    public int getMaxStones() {
+        return maxStones;
+    }
+}
@@ -0,0 +1,185 @@
+package com.edilson.justiniano.kalah.endgame;
+
+import com.edilson.justiniano.kalah.engine.BoardGeometry;
+import com.edilson.justiniano.kalah.engine.KalahEngine;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_ONE;
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_TWO;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Offline solver of the endgame database, run it with `gradle generateEndgameDatabase`. The arguments are given as
+ * name=value, e.g. `gradle generateEndgameDatabase --args="file=endgame.db pitsPerSide=6 maxStones=16"`.
+ *
+ * The value of a position is the difference of the stones the player to play gets from the stones still on the pits
+ * with a perfect play of both players (the final score difference minus the current kalahs difference), so it does
+ * not depend on the kalahs. A movement never puts stones back on the pits, so the positions are solved backwards from
+ * the end of the game, by number of stones: a movement either puts stones on the kalah (the next position has fewer
+ * stones, it is already solved) or only moves stones towards the own kalah, which cannot go on forever. Those last ones
+ * are solved first, depth-first
+ */
+@Slf4j
+public class EndgameDatabaseGenerator {
+
+    static final int MAGIC = 0x4B454442;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+
+    // The values go from -maxStones to maxStones, they must fit in a byte
+    public static final int MAX_STONES = Byte.MAX_VALUE;
+
+    private static final byte UNSOLVED = Byte.MIN_VALUE;
+
+    private static final String ARG_FILE = "file";
+    private static final String ARG_PITS_PER_SIDE = "pitsPerSide";
+    private static final String ARG_MAX_STONES = "maxStones";
+
+    private final BoardGeometry geometry;
+    private final KalahEngine engine;
+    private final PositionIndexer indexer;
+    private final byte[] values;
+    // One board per level of the depth-first search, the positions are always seen by the player one
+    private final int[][] boards;
+
+    public EndgameDatabaseGenerator(int pitsPerSide, int maxStones) {
+        this.geometry = BoardGeometry.of(pitsPerSide);
+        this.engine = KalahEngine.of(geometry);
+        this.indexer = new PositionIndexer(geometry, maxStones);
+        if (maxStones < 0 || maxStones > MAX_STONES || indexer.size() > Integer.MAX_VALUE - HEADER_SIZE) {
+            throw new IllegalArgumentException("The endgame database of " + maxStones + " stones is too big.");
+        }
+        this.values = new byte[(int) indexer.size()];
+        // Every movement without stones on the kalah moves at least one stone one pit further, so this is the limit
+        this.boards = new int[maxStones * geometry.getBoardSize() + 2][geometry.getBoardSize()];
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> arguments = parseArguments(args);
+        Path file = Paths.get(arguments.getOrDefault(ARG_FILE, "endgame.db"));
+        int pitsPerSide = Integer.parseInt(arguments.getOrDefault(ARG_PITS_PER_SIDE, String.valueOf(BoardGeometry.STANDARD_PITS_PER_SIDE)));
+        int maxStones = Integer.parseInt(arguments.getOrDefault(ARG_MAX_STONES, "16"));
+
+        EndgameDatabaseGenerator generator = new EndgameDatabaseGenerator(pitsPerSide, maxStones);
+        generator.generate();
+        generator.write(file);
+    }
+
+    public void generate() {
+        Arrays.fill(values, UNSOLVED);
+        int[] pits = boards[0];
+        for (int stones = 0; stones <= indexer.getMaxStones(); stones++) {
+            long startTime = System.nanoTime();
+            long levelSize = indexer.levelSize(stones);
+            for (long rank = 0; rank < levelSize; rank++) {
+                indexer.position(stones, rank, pits);
+                solve(0);
+            }
+            log.info("Endgame positions solved. Stones: {}, positions: {} and time: {} ms.", stones, levelSize,
+                     (System.nanoTime() - startTime) / 1_000_000);
+        }
+    }
+
+    public void write(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(geometry.getPitsPerSide())
+                .putInt(indexer.getMaxStones());
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(file, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            channel.write(header);
+            ByteBuffer body = ByteBuffer.wrap(values);
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+        }
+        log.info("Endgame database written. File: {} and size: {} bytes.", file, HEADER_SIZE + values.length);
+    }
+
+    /*
+     * Value of the position on the given level of the search, for the player one to play
+     */
+    private int solve(int level) {
+        int[] pits = boards[level];
+        int index = (int) indexer.index(pits, PLAYER_ONE);
+        if (values[index] != UNSOLVED) {
+            return values[index];
+        }
+
+        int value;
+        if (engine.hasEmptySide(pits)) {
+            // Only reached by the positions of the database that cannot happen in a game
+            value = pitStones(pits, PLAYER_ONE) - pitStones(pits, PLAYER_TWO);
+        } else {
+            value = Integer.MIN_VALUE;
+            int kalahIndex = geometry.kalahIndex(PLAYER_ONE);
+            int legalMoves = engine.legalMoves(pits, PLAYER_ONE);
+            int[] child = boards[level + 1];
+            for (int pitIndex = 0; pitIndex < pits.length; pitIndex++) {
+                if (!KalahEngine.isLegalMove(legalMoves, pitIndex)) {
+                    continue;
+                }
+
+                System.arraycopy(pits, 0, child, 0, pits.length);
+                int outcome = engine.move(child, PLAYER_ONE, pitIndex);
+                int gain = child[kalahIndex];
+                child[kalahIndex] = 0;
+
+                int moveValue;
+                if (KalahEngine.isGameOver(outcome)) {
+                    moveValue = gain + pitStones(child, PLAYER_ONE) - pitStones(child, PLAYER_TWO);
+                } else if (KalahEngine.isExtraTurn(outcome)) {
+                    moveValue = gain + solve(level + 1);
+                } else {
+                    swapSides(child);
+                    moveValue = gain - solve(level + 1);
+                }
+                value = Math.max(value, moveValue);
+            }
+        }
+
+        values[index] = (byte) value;
+        return value;
+    }
+
+    private int pitStones(int[] pits, int player) {
+        return engine.score(pits, player) - pits[geometry.kalahIndex(player)];
+    }
+
+    /*
+     * The player two becomes the player one, so the opponent position is also seen by the player one
+     */
+    private void swapSides(int[] pits) {
+        int half = pits.length / 2;
+        for (int i = 0; i < half; i++) {
+            int stones = pits[i];
+            pits[i] = pits[half + i];
+            pits[half + i] = stones;
+        }
+    }
+
+    private static Map<String, String> parseArguments(String[] args) {
+        Map<String, String> arguments = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("The argument " + arg + " is not valid, it must be name=value.");
+            }
+            arguments.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return arguments;
+    }
+}
@@ -0,0 +1,106 @@
+package com.edilson.justiniano.kalah.endgame;
+
+import com.edilson.justiniano.kalah.engine.BoardGeometry;
+
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_ONE;
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_TWO;
+
+/**
+ * Gives every position with up to a maximum number of stones on the pits (the kalahs do not matter) a dense index,
+ * so the positions can be stored in an array without any key. The position is always seen by the player to play: its
+ * own pits first and then the opponent ones.
+ *
+ * The positions are grouped by number of stones. Inside a group, a position of S stones in K pits is a list of S stones
+ * and K - 1 separators, and it is ranked by the places of the separators with the combinatorial number system:
+ * C(b1, 1) + C(b2, 2) + ... + C(bK-1, K-1). The groups with fewer stones come first, so the group of S stones starts
+ * at C(S + K - 1, K)
+ */
+final class PositionIndexer {
+
+    private final int numberOfPits;
+    private final int maxStones;
+    // The board indexes of the pits in the order they are ranked, for each player to play
+    private final int[][] pitOrders;
+    private final long[][] binomials;
+
+    PositionIndexer(BoardGeometry geometry, int maxStones) {
+        int pitsPerSide = geometry.getPitsPerSide();
+        this.numberOfPits = pitsPerSide * 2;
+        this.maxStones = maxStones;
+        this.pitOrders = new int[2][numberOfPits];
+        for (int pit = 0; pit < pitsPerSide; pit++) {
+            pitOrders[PLAYER_ONE][pit] = geometry.firstPitIndex(PLAYER_ONE) + pit;
+            pitOrders[PLAYER_ONE][pitsPerSide + pit] = geometry.firstPitIndex(PLAYER_TWO) + pit;
+            pitOrders[PLAYER_TWO][pit] = geometry.firstPitIndex(PLAYER_TWO) + pit;
+            pitOrders[PLAYER_TWO][pitsPerSide + pit] = geometry.firstPitIndex(PLAYER_ONE) + pit;
+        }
+
+        // Pascal's triangle, only the columns up to the number of pits are needed
+        this.binomials = new long[maxStones + numberOfPits + 1][numberOfPits + 1];
+        for (int n = 0; n < binomials.length; n++) {
+            binomials[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, numberOfPits); k++) {
+                binomials[n][k] = binomials[n - 1][k - 1] + binomials[n - 1][k];
+            }
+        }
+    }
+
+    /*
+     * Number of positions with up to the maximum number of stones
+     */
+    long size() {
+        return binomial(maxStones + numberOfPits, numberOfPits);
+    }
+
+    long levelOffset(int stones) {
+        return binomial(stones + numberOfPits - 1, numberOfPits);
+    }
+
+    long levelSize(int stones) {
+        return binomial(stones + numberOfPits - 1, numberOfPits - 1);
+    }
+
+    long index(int[] pits, int player) {
+        int[] pitOrder = pitOrders[player];
+        int stones = 0;
+        long rank = 0;
+        for (int pit = 0; pit < numberOfPits - 1; pit++) {
+            stones += pits[pitOrder[pit]];
+            // Place of the separator after this pit: the stones before it plus the previous separators
+            rank += binomial(stones + pit, pit + 1);
+        }
+        stones += pits[pitOrder[numberOfPits - 1]];
+        return levelOffset(stones) + rank;
+    }
+
+    /*
+     * The opposite of the index: fills the pits of the position of the given group and rank, for the player one to
+     * play. The kalahs are left empty
+     */
+    void position(int stones, long rank, int[] pits) {
+        int[] pitOrder = pitOrders[PLAYER_ONE];
+        long remainingRank = rank;
+        // The separators are found from the last one, each one is the greatest place whose binomial fits on the rank
+        int nextSeparator = stones + numberOfPits - 1;
+        for (int separator = numberOfPits - 1; separator >= 1; separator--) {
+            int place = nextSeparator - 1;
+            while (binomial(place, separator) > remainingRank) {
+                place--;
+            }
+            remainingRank -= binomial(place, separator);
+            pits[pitOrder[separator]] = nextSeparator - place - 1;
+            nextSeparator = place;
+        }
+        pits[pitOrder[0]] = nextSeparator;
+        pits[pits.length / 2 - 1] = 0;
+        pits[pits.length - 1] = 0;
+    }
+
+    int getMaxStones() {
+        return maxStones;
+    }
+
+    private long binomial(int n, int k) {
+        return k > n ? 0 : binomials[n][k];
+    }
+}
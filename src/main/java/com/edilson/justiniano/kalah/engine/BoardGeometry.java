@@ -0,0 +1,140 @@
+package com.edilson.justiniano.kalah.engine;
+
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_ONE;
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_TWO;
+
+/**
+ * The layout of a board with a given number of pits per side. The pits array always has the same shape:
+ * player one pits, player one kalah, player two pits and player two kalah. For 6 pits per side:
+ *
+ *   12 11 10  9  8  7
+ * 13                  6
+ *    0  1  2  3  4  5
+ *
+ * All the lookups used while sowing (next pit, opposite pit and pit owner) are precomputed once per geometry,
+ * so the engine does not need any index arithmetic or comparisons for each stone.
+ */
+public final class BoardGeometry {
+
+    public static final int STANDARD_PITS_PER_SIDE = 6;
+    public static final int STANDARD_SEEDS_PER_PIT = 6;
+
+    public static final int MIN_PITS_PER_SIDE = 1;
+    public static final int MAX_PITS_PER_SIDE = 12;
+
+    // Value of the owner and opposite tables for the kalahs
+    public static final int NONE = -1;
+
+    private static final BoardGeometry[] GEOMETRIES = new BoardGeometry[MAX_PITS_PER_SIDE + 1];
+
+    static {
+        for (int pitsPerSide = MIN_PITS_PER_SIDE; pitsPerSide <= MAX_PITS_PER_SIDE; pitsPerSide++) {
+            GEOMETRIES[pitsPerSide] = new BoardGeometry(pitsPerSide);
+        }
+    }
+
+    private final int pitsPerSide;
+    private final int boardSize;
+    private final int[] kalahIndexes;
+    private final int[] firstPitIndexes;
+    // Next pit to sow for each player (indexed by player * boardSize + pitIndex). It already skips the opponent's kalah
+    private final int[] nextPits;
+    private final int[] oppositePits;
+    private final int[] pitOwners;
+
+    private BoardGeometry(int pitsPerSide) {
+        this.pitsPerSide = pitsPerSide;
+        this.boardSize = (pitsPerSide + 1) * 2;
+        this.kalahIndexes = new int[] {pitsPerSide, boardSize - 1};
+        this.firstPitIndexes = new int[] {0, pitsPerSide + 1};
+        this.nextPits = new int[boardSize * 2];
+        this.oppositePits = new int[boardSize];
+        this.pitOwners = new int[boardSize];
+
+        for (int pitIndex = 0; pitIndex < boardSize; pitIndex++) {
+            nextPits[PLAYER_ONE * boardSize + pitIndex] = computeNextPit(pitIndex, kalahIndexes[PLAYER_TWO]);
+            nextPits[PLAYER_TWO * boardSize + pitIndex] = computeNextPit(pitIndex, kalahIndexes[PLAYER_ONE]);
+
+            if (pitIndex == kalahIndexes[PLAYER_ONE] || pitIndex == kalahIndexes[PLAYER_TWO]) {
+                oppositePits[pitIndex] = NONE;
+                pitOwners[pitIndex] = NONE;
+            } else {
+                // The last player two pit (boardSize - 2) minus the pit index gives the pit in front of it
+                oppositePits[pitIndex] = boardSize - 2 - pitIndex;
+                pitOwners[pitIndex] = pitIndex < pitsPerSide ? PLAYER_ONE : PLAYER_TWO;
+            }
+        }
+    }
+
+    public static BoardGeometry of(int pitsPerSide) {
+        if (pitsPerSide < MIN_PITS_PER_SIDE || pitsPerSide > MAX_PITS_PER_SIDE) {
+            throw new IllegalArgumentException("Boards with " + pitsPerSide + " pits per side are not supported.");
+        }
+        return GEOMETRIES[pitsPerSide];
+    }
+
+    public static BoardGeometry standard() {
+        return GEOMETRIES[STANDARD_PITS_PER_SIDE];
+    }
+
+    /*
+     * The geometry of an existing pits array (the kalahs included)
+     */
+    public static BoardGeometry ofBoardSize(int boardSize) {
+        if (boardSize % 2 != 0) {
+            throw new IllegalArgumentException("Boards with " + boardSize + " pits are not supported.");
+        }
+        return of(boardSize / 2 - 1);
+    }
+
+    public static boolean isSupported(int pitsPerSide) {
+        return pitsPerSide >= MIN_PITS_PER_SIDE && pitsPerSide <= MAX_PITS_PER_SIDE;
+    }
+
+    public int[] initialPits(int seedsPerPit) {
+        int[] pits = new int[boardSize];
+        for (int pitIndex = 0; pitIndex < boardSize; pitIndex++) {
+            if (pitOwners[pitIndex] != NONE) {
+                pits[pitIndex] = seedsPerPit;
+            }
+        }
+        return pits;
+    }
+
+    public int nextPit(int player, int pitIndex) {
+        return nextPits[player * boardSize + pitIndex];
+    }
+
+    public int oppositePit(int pitIndex) {
+        return oppositePits[pitIndex];
+    }
+
+    public int pitOwner(int pitIndex) {
+        return pitOwners[pitIndex];
+    }
+
+    public boolean isPlayerPit(int player, int pitIndex) {
+        return pitIndex >= 0 && pitIndex < boardSize && pitOwners[pitIndex] == player;
+    }
+
+    public int kalahIndex(int player) {
+        return kalahIndexes[player];
+    }
+
+    public int firstPitIndex(int player) {
+        return firstPitIndexes[player];
+    }
+
+    public int getPitsPerSide() {
+        return pitsPerSide;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    private int computeNextPit(int pitIndex, int opponentKalahIndex) {
+        int nextPit = (pitIndex + 1) % boardSize;
+        return nextPit == opponentKalahIndex ? (nextPit + 1) % boardSize : nextPit;
+    }
+}
@@ -0,0 +1,230 @@
+package com.edilson.justiniano.kalah.engine;
+
+/**
+ * Stateless implementation of the kalah rules. It works straight over the pits array (the same layout stored by
+ * {@link com.edilson.justiniano.kalah.persistence.game.model.Board}) and the player index, so it can be used by the
+ * REST API and also by anything that needs to play a lot of moves (simulations, AI, benchmarks).
+ * There is one engine per {@link BoardGeometry}, built once and shared.
+ *
+ * A move does not allocate anything: the pits array is changed in place and the result is returned as an int with
+ * the last pit index and the flags below. The same rules are applied over a {@link PackedBoard}, whose empty sides and
+ * scores are checked with masks, for the code playing a lot of moves.
+ */
+public final class KalahEngine {
+
+    public static final int PLAYER_ONE = 0;
+    public static final int PLAYER_TWO = 1;
+
+    // Outcome layout: the 8 lower bits keep the index of the pit where the last stone was put, the other bits are flags
+    private static final int LAST_PIT_MASK = 0xFF;
+    private static final int EXTRA_TURN = 1 << 8;
+    private static final int CAPTURE = 1 << 9;
+    private static final int GAME_OVER = 1 << 10;
+
+    private static final KalahEngine[] ENGINES = new KalahEngine[BoardGeometry.MAX_PITS_PER_SIDE + 1];
+
+    static {
+        for (int pitsPerSide = BoardGeometry.MIN_PITS_PER_SIDE; pitsPerSide <= BoardGeometry.MAX_PITS_PER_SIDE; pitsPerSide++) {
+            ENGINES[pitsPerSide] = new KalahEngine(BoardGeometry.of(pitsPerSide));
+        }
+    }
+
+    private final BoardGeometry geometry;
+    private final int pitsPerSide;
+    private final int boardSize;
+
+    private KalahEngine(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.pitsPerSide = geometry.getPitsPerSide();
+        this.boardSize = geometry.getBoardSize();
+    }
+
+    public static KalahEngine of(BoardGeometry geometry) {
+        return ENGINES[geometry.getPitsPerSide()];
+    }
+
+    public static KalahEngine standard() {
+        return of(BoardGeometry.standard());
+    }
+
+    /*
+     * The engine able to play over an existing pits array (the kalahs included)
+     */
+    public static KalahEngine forPits(int[] pits) {
+        return of(BoardGeometry.ofBoardSize(pits.length));
+    }
+
+    /*
+     * Apply the movement of the given player starting on the given pit. The pit must be a valid one (own pit with
+     * stones), the validation is responsibility of the caller.
+     */
+    public int move(int[] pits, int player, int pitIndex) {
+        int kalahIndex = geometry.kalahIndex(player);
+        // The stones cannot be put in the opponent's kalah, so one lap sows all the pits but that one
+        int lapSize = boardSize - 1;
+
+        int numberOfStones = pits[pitIndex];
+        pits[pitIndex] = 0;
+
+        // Instead of dropping the stones one by one, every full lap is applied at once
+        int laps = numberOfStones / lapSize;
+        if (laps > 0) {
+            for (int i = 0; i < boardSize; i++) {
+                pits[i] += laps;
+            }
+            pits[geometry.kalahIndex(opponent(player))] -= laps;
+        }
+
+        // A full lap ends exactly on the selected pit, so it is the last pit if there are no stones left
+        int remainingStones = numberOfStones % lapSize;
+        int lastPitIndex = pitIndex;
+        while (remainingStones > 0) {
+            lastPitIndex = geometry.nextPit(player, lastPitIndex);
+            pits[lastPitIndex]++;
+            remainingStones--;
+        }
+
+        int outcome = lastPitIndex;
+        if (lastPitIndex == kalahIndex) {
+            outcome |= EXTRA_TURN;
+        } else if (pits[lastPitIndex] == 1 && geometry.pitOwner(lastPitIndex) == player) {
+            // The last stone was put in an own empty pit, so this stone and the opposite ones go to the kalah
+            int oppositePitIndex = geometry.oppositePit(lastPitIndex);
+            pits[kalahIndex] += pits[oppositePitIndex] + 1;
+            pits[lastPitIndex] = 0;
+            pits[oppositePitIndex] = 0;
+            outcome |= CAPTURE;
+        }
+
+        if (hasEmptySide(pits)) {
+            outcome |= GAME_OVER;
+        }
+        return outcome;
+    }
+
+    /*
+     * The movement over a packed board of this geometry, with the same rules and outcome
+     */
+    public int move(PackedBoard board, int player, int pitIndex) {
+        int kalahIndex = geometry.kalahIndex(player);
+
+        int numberOfStones = board.get(pitIndex);
+        board.set(pitIndex, 0);
+        // All the stones at once, the lanes they fall on are known by the board
+        int lastPitIndex = board.sow(player, pitIndex, numberOfStones);
+
+        int outcome = lastPitIndex;
+        if (lastPitIndex == kalahIndex) {
+            outcome |= EXTRA_TURN;
+        } else if (board.get(lastPitIndex) == 1 && geometry.pitOwner(lastPitIndex) == player) {
+            int oppositePitIndex = geometry.oppositePit(lastPitIndex);
+            board.add(kalahIndex, board.get(oppositePitIndex) + 1);
+            board.set(lastPitIndex, 0);
+            board.set(oppositePitIndex, 0);
+            outcome |= CAPTURE;
+        }
+
+        if (hasEmptySide(board)) {
+            outcome |= GAME_OVER;
+        }
+        return outcome;
+    }
+
+    /*
+     * The legal movements of the player as a bit mask, the bit N is set when the pit of index N can be played
+     */
+    public int legalMoves(int[] pits, int player) {
+        int firstPitIndex = geometry.firstPitIndex(player);
+        int legalMoves = 0;
+        for (int i = firstPitIndex; i < firstPitIndex + pitsPerSide; i++) {
+            if (pits[i] != 0) {
+                legalMoves |= 1 << i;
+            }
+        }
+        return legalMoves;
+    }
+
+    public int legalMoves(PackedBoard board, int player) {
+        return board.getPitsWithStones(player);
+    }
+
+    /*
+     * The game is over as soon as one of the sides run out of stones
+     */
+    public boolean hasEmptySide(int[] pits) {
+        return isPitsEmpty(pits, PLAYER_ONE) || isPitsEmpty(pits, PLAYER_TWO);
+    }
+
+    public boolean hasEmptySide(PackedBoard board) {
+        return board.isPitsEmpty(PLAYER_ONE) || board.isPitsEmpty(PLAYER_TWO);
+    }
+
+    public boolean isPitsEmpty(int[] pits, int player) {
+        int firstPitIndex = geometry.firstPitIndex(player);
+        for (int i = firstPitIndex; i < firstPitIndex + pitsPerSide; i++) {
+            if (pits[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * The final score of the player: the stones in his/her kalah plus the ones still in his/her pits
+     */
+    public int score(int[] pits, int player) {
+        int firstPitIndex = geometry.firstPitIndex(player);
+        int score = pits[geometry.kalahIndex(player)];
+        for (int i = firstPitIndex; i < firstPitIndex + pitsPerSide; i++) {
+            score += pits[i];
+        }
+        return score;
+    }
+
+    public int score(PackedBoard board, int player) {
+        return board.get(geometry.kalahIndex(player)) + board.getPitsStones(player);
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    public int getPitsPerSide() {
+        return pitsPerSide;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public static boolean isLegalMove(int legalMoves, int pitIndex) {
+        return pitIndex >= 0 && pitIndex < Integer.SIZE && (legalMoves & (1 << pitIndex)) != 0;
+    }
+
+    public static int opponent(int player) {
+        return player ^ 1;
+    }
+
+    public static int lastPitIndex(int outcome) {
+        return outcome & LAST_PIT_MASK;
+    }
+
+    public static boolean isExtraTurn(int outcome) {
+        return (outcome & EXTRA_TURN) != 0;
+    }
+
+    public static boolean isCapture(int outcome) {
+        return (outcome & CAPTURE) != 0;
+    }
+
+    public static boolean isGameOver(int outcome) {
+        return (outcome & GAME_OVER) != 0;
+    }
+
+    /*
+     * The player that plays after the given outcome. The player keeps playing when the last stone is put in its kalah
+     */
+    public static int nextPlayer(int outcome, int player) {
+        return isExtraTurn(outcome) ? player : opponent(player);
+    }
+}
@@ -0,0 +1,263 @@
+package com.edilson.justiniano.kalah.engine;
+
+/**
+ * A board packed in a few longs instead of an int per pit, for the code playing a lot of moves (simulations,
+ * benchmarks). Every pit is a lane of the same number of bits, wide enough for all the stones of the board, so a lane
+ * never overflows into the next one: a move does not change the number of stones. The standard board (72 stones, 7
+ * bits per pit) fits in two longs.
+ *
+ * The lanes are in the order of the pits array and are laid out once per {@link BoardGeometry} and lane width. The
+ * pits of every player have their own masks, so the empty sides and the stones of a side are checked a long at a time
+ * instead of a pit at a time. The stones sown by a movement are added the same way: the lanes they fall on are known
+ * for every pit and number of stones, so a movement is an addition per long instead of a stone at a time.
+ */
+public final class PackedBoard {
+
+    private static final int MAX_LANE_BITS = Integer.SIZE - 1;
+
+    // Built when first used, the sowing tables of the large boards are not small. A layout is immutable, so two
+    // threads building the same one at once are harmless
+    private static final Layout[][] LAYOUTS = new Layout[BoardGeometry.MAX_PITS_PER_SIDE + 1][MAX_LANE_BITS + 1];
+
+    private final Layout layout;
+    private final long[] words;
+    // Of the layout, kept here as they are read on every access
+    private final int[] wordIndexes;
+    private final int[] shifts;
+    private final int laneMask;
+
+    private PackedBoard(Layout layout) {
+        this.layout = layout;
+        this.words = new long[layout.wordCount];
+        this.wordIndexes = layout.wordIndexes;
+        this.shifts = layout.shifts;
+        this.laneMask = layout.laneMask;
+    }
+
+    /*
+     * Packs a pits array (the kalahs included), the lanes are as wide as its number of stones needs
+     */
+    public static PackedBoard of(int[] pits) {
+        BoardGeometry geometry = BoardGeometry.ofBoardSize(pits.length);
+        int stones = 0;
+        for (int pit : pits) {
+            if (pit < 0) {
+                throw new IllegalArgumentException("A pit cannot have " + pit + " stones.");
+            }
+            stones += pit;
+        }
+
+        int laneBits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(stones));
+        Layout layout = LAYOUTS[geometry.getPitsPerSide()][laneBits];
+        if (layout == null) {
+            layout = new Layout(geometry, laneBits);
+            LAYOUTS[geometry.getPitsPerSide()][laneBits] = layout;
+        }
+        PackedBoard board = new PackedBoard(layout);
+        for (int pitIndex = 0; pitIndex < pits.length; pitIndex++) {
+            board.set(pitIndex, pits[pitIndex]);
+        }
+        return board;
+    }
+
+    public PackedBoard copy() {
+        PackedBoard board = new PackedBoard(layout);
+        System.arraycopy(words, 0, board.words, 0, words.length);
+        return board;
+    }
+
+    /*
+     * Takes the stones of a board with the same layout (geometry and number of stones), without allocating anything
+     */
+    public void copyFrom(PackedBoard board) {
+        if (board.layout != layout) {
+            throw new IllegalArgumentException("The boards do not have the same layout.");
+        }
+        System.arraycopy(board.words, 0, words, 0, words.length);
+    }
+
+    public int[] toPits() {
+        int[] pits = new int[layout.geometry.getBoardSize()];
+        for (int pitIndex = 0; pitIndex < pits.length; pitIndex++) {
+            pits[pitIndex] = get(pitIndex);
+        }
+        return pits;
+    }
+
+    public int get(int pitIndex) {
+        return (int) (words[wordIndexes[pitIndex]] >>> shifts[pitIndex]) & laneMask;
+    }
+
+    public void set(int pitIndex, int stones) {
+        int wordIndex = wordIndexes[pitIndex];
+        int shift = shifts[pitIndex];
+        words[wordIndex] = words[wordIndex] & ~((long) laneMask << shift) | (long) stones << shift;
+    }
+
+    /*
+     * Adds stones to a pit. The stones come from another pit, so the lane cannot overflow
+     */
+    public void add(int pitIndex, int stones) {
+        words[wordIndexes[pitIndex]] += (long) stones << shifts[pitIndex];
+    }
+
+    public boolean isPitsEmpty(int player) {
+        long[] pitsMasks = layout.pitsMasks[player];
+        for (int i = 0; i < words.length; i++) {
+            if ((words[i] & pitsMasks[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * The stones in the pits of the player (not the kalah). The lanes of a long are added up by a multiplication: the
+     * top lane of the product is the sum of all of them, which fits in a lane like any number of stones of the board
+     */
+    public int getPitsStones(int player) {
+        long[] pitsMasks = layout.pitsMasks[player];
+        int stones = 0;
+        for (int i = 0; i < words.length; i++) {
+            long lanes = words[i] & pitsMasks[i];
+            if (lanes != 0) {
+                stones += (int) ((lanes * layout.laneOnes) >>> layout.topLaneShift) & laneMask;
+            }
+        }
+        return stones;
+    }
+
+    /*
+     * The pits of the player with stones as a bit mask (bit N for the pit of index N). The lanes with stones are found a
+     * long at a time: adding the low bits of a lane to all ones but its top bit carries into the top bit when any of
+     * them is set
+     */
+    public int getPitsWithStones(int player) {
+        long[] pitsMasks = layout.pitsMasks[player];
+        long lowBits = layout.lowBits;
+        int[] lanePits = layout.lanePits;
+        int pitsWithStones = 0;
+        for (int i = 0; i < words.length; i++) {
+            long lanes = words[i] & pitsMasks[i];
+            long topBits = (((lanes & lowBits) + lowBits) | lanes) & ~lowBits & pitsMasks[i];
+            while (topBits != 0) {
+                pitsWithStones |= 1 << lanePits[i * Long.SIZE + Long.numberOfTrailingZeros(topBits)];
+                topBits &= topBits - 1;
+            }
+        }
+        return pitsWithStones;
+    }
+
+    public BoardGeometry getGeometry() {
+        return layout.geometry;
+    }
+
+    /*
+     * Sows the stones taken from a pit of the player at once: the laps put a stone in every pit but the opponent's
+     * kalah, the stones left one in each of the next pits. Returns the pit of the last stone
+     */
+    int sow(int player, int pitIndex, int stones) {
+        int lapSize = layout.lapSize;
+        int laps = stones / lapSize;
+        int remainingStones = stones % lapSize;
+
+        long[] lapOnes = layout.lapOnes[player];
+        long[] sowOnes = layout.sowOnes;
+        int sowIndex = ((player * layout.boardSize + pitIndex) * lapSize + remainingStones) * words.length;
+        for (int i = 0; i < words.length; i++) {
+            words[i] += laps * lapOnes[i] + sowOnes[sowIndex + i];
+        }
+        return layout.lastPits[(player * layout.boardSize + pitIndex) * lapSize + remainingStones];
+    }
+
+    /*
+     * Where every pit is on the longs, and the masks of the pits of every player
+     */
+    private static final class Layout {
+
+        private final BoardGeometry geometry;
+        private final int boardSize;
+        private final int lapSize;
+        private final int laneMask;
+        private final int wordCount;
+        private final int[] wordIndexes;
+        private final int[] shifts;
+        // The lowest bit of every lane of a long, and the shift of its top lane
+        private final long laneOnes;
+        private final int topLaneShift;
+        // All the bits of every lane of a long but the top one
+        private final long lowBits;
+        // The pit of the top bit of every lane, by long and bit
+        private final int[] lanePits;
+        // Indexed by player and then by long
+        private final long[][] pitsMasks;
+        private final long[][] lapOnes;
+        // Indexed by player, pit and stones left after the laps: the lowest bit of the lanes sown (by long) and the
+        // pit of the last stone
+        private final long[] sowOnes;
+        private final int[] lastPits;
+
+        private Layout(BoardGeometry geometry, int laneBits) {
+            int boardSize = geometry.getBoardSize();
+            int lanesPerWord = Long.SIZE / laneBits;
+
+            this.geometry = geometry;
+            this.boardSize = boardSize;
+            // The stones cannot be put in the opponent's kalah, so one lap sows all the pits but that one
+            this.lapSize = boardSize - 1;
+            this.laneMask = (1 << laneBits) - 1;
+            this.wordCount = (boardSize + lanesPerWord - 1) / lanesPerWord;
+            this.wordIndexes = new int[boardSize];
+            this.shifts = new int[boardSize];
+            this.topLaneShift = (lanesPerWord - 1) * laneBits;
+            this.pitsMasks = new long[2][wordCount];
+            this.lapOnes = new long[2][wordCount];
+
+            long ones = 0;
+            long low = 0;
+            for (int lane = 0; lane < lanesPerWord; lane++) {
+                ones |= 1L << (lane * laneBits);
+                low |= (long) (laneMask >>> 1) << (lane * laneBits);
+            }
+            this.laneOnes = ones;
+            this.lowBits = low;
+            this.lanePits = new int[wordCount * Long.SIZE];
+
+            for (int pitIndex = 0; pitIndex < boardSize; pitIndex++) {
+                int wordIndex = pitIndex / lanesPerWord;
+                int shift = (pitIndex % lanesPerWord) * laneBits;
+                wordIndexes[pitIndex] = wordIndex;
+                shifts[pitIndex] = shift;
+                lanePits[wordIndex * Long.SIZE + shift + laneBits - 1] = pitIndex;
+
+                int owner = geometry.pitOwner(pitIndex);
+                if (owner != BoardGeometry.NONE) {
+                    pitsMasks[owner][wordIndex] |= (long) laneMask << shift;
+                }
+                for (int player = KalahEngine.PLAYER_ONE; player <= KalahEngine.PLAYER_TWO; player++) {
+                    if (pitIndex != geometry.kalahIndex(KalahEngine.opponent(player))) {
+                        lapOnes[player][wordIndex] |= 1L << shift;
+                    }
+                }
+            }
+
+            this.sowOnes = new long[2 * boardSize * lapSize * wordCount];
+            this.lastPits = new int[2 * boardSize * lapSize];
+            for (int player = KalahEngine.PLAYER_ONE; player <= KalahEngine.PLAYER_TWO; player++) {
+                for (int pitIndex = 0; pitIndex < boardSize; pitIndex++) {
+                    int sowIndex = (player * boardSize + pitIndex) * lapSize;
+                    int lastPitIndex = pitIndex;
+                    lastPits[sowIndex] = pitIndex;
+                    for (int stones = 1; stones < lapSize; stones++) {
+                        // The stones of the previous count plus one in the next pit
+                        lastPitIndex = geometry.nextPit(player, lastPitIndex);
+                        System.arraycopy(sowOnes, (sowIndex + stones - 1) * wordCount, sowOnes, (sowIndex + stones) * wordCount,
+                                         wordCount);
+                        sowOnes[(sowIndex + stones) * wordCount + wordIndexes[lastPitIndex]] |= 1L << shifts[lastPitIndex];
+                        lastPits[sowIndex + stones] = lastPitIndex;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -12,6 +12,9 @@ public class BaseException extends Exception {
     private HttpStatus httpStatus;
 
     public BaseException(String errorCode, String message, HttpStatus httpStatus) {
+        // They are answers of the API (e.g. an unknown game), not failures of the application, so the stack trace is
+        // not filled. It is the most expensive part of creating an exception
+        super(message, null, false, false);
         this.message = message;
         this.errorCode = errorCode;
         this.httpStatus = httpStatus;
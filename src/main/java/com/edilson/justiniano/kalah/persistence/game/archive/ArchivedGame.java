@@ -0,0 +1,31 @@
+package com.edilson.justiniano.kalah.persistence.game.archive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Summary of a finished game, kept on the archive once the game leaves the collection of the games. It is removed by
+ * MongoDB (TTL index) some time after it was archived
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "archivedGame")
+public class ArchivedGame {
+
+    @Id
+    private String gameId;
+    private Long duration;
+    private int playerOneScore;
+    private int playerTwoScore;
+    private Date archivedTime;
+}
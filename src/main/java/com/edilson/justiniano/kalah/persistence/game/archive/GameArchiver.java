@@ -0,0 +1,158 @@
+package com.edilson.justiniano.kalah.persistence.game.archive;
+
+import com.edilson.justiniano.kalah.engine.KalahEngine;
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import com.edilson.justiniano.kalah.persistence.game.model.GameStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Moves the finished games out of the collection of the games, so it (and its indexes) only has the games still
+ * played. Every few minutes the finished games are read in batches, a summary of each one (id, duration and final
+ * score) is written to the archive and then they are deleted, one bulk write and one delete per batch.
+ * The summary is written with an upsert, so a batch interrupted between both writes is just archived again.
+ *
+ * Only for MongoDB, the other repositories are not meant for that many games.
+ */
+@Slf4j
+@Component
+@Profile("!memory & !file")
+public class GameArchiver {
+
+    static final String FIELD_ID = "_id";
+    static final String FIELD_GAME_STATUS = "gameStatus";
+    static final String FIELD_DURATION = "duration";
+    static final String FIELD_BOARD = "board";
+    static final String FIELD_PLAYER_ONE_SCORE = "playerOneScore";
+    static final String FIELD_PLAYER_TWO_SCORE = "playerTwoScore";
+    static final String FIELD_ARCHIVED_TIME = "archivedTime";
+
+    private static final String PROPERTY_INTERVAL = "kalah.archive.interval-ms";
+    private static final String PROPERTY_BATCH_SIZE = "kalah.archive.batch-size";
+    private static final String PROPERTY_TTL = "kalah.archive.ttl-days";
+
+    private static final long DEFAULT_INTERVAL = 600_000;
+    private static final int DEFAULT_BATCH_SIZE = 1_000;
+    private static final long DEFAULT_TTL = 30;
+
+    private final MongoTemplate mongoTemplate;
+    private final long interval;
+    private final int batchSize;
+    private final long ttlDays;
+    private final ScheduledExecutorService archiver;
+
+    public GameArchiver(MongoTemplate mongoTemplate, Environment environment) {
+        this.mongoTemplate = mongoTemplate;
+        this.interval = environment.getProperty(PROPERTY_INTERVAL, Long.class, DEFAULT_INTERVAL);
+        this.batchSize = environment.getProperty(PROPERTY_BATCH_SIZE, Integer.class, DEFAULT_BATCH_SIZE);
+        this.ttlDays = environment.getProperty(PROPERTY_TTL, Long.class, DEFAULT_TTL);
+        this.archiver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /*
+     * Creates the indexes and starts archiving, unless the interval is 0
+     */
+    @PostConstruct
+    public void start() {
+        if (interval <= 0) {
+            log.info("The archive of the finished games is disabled.");
+            return;
+        }
+
+        try {
+            mongoTemplate.indexOps(Game.class).ensureIndex(new Index().on(FIELD_GAME_STATUS, Sort.Direction.ASC));
+            mongoTemplate.indexOps(ArchivedGame.class).ensureIndex(new Index().on(FIELD_ARCHIVED_TIME, Sort.Direction.ASC)
+                                                                           .expire(ttlDays, TimeUnit.DAYS));
+        } catch (RuntimeException ex) {
+            // e.g. the TTL index exists with another expiration, it must be dropped to be created again
+            log.error("The indexes of the archive could not be created.", ex);
+        }
+        archiver.scheduleWithFixedDelay(this::archiveSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Archives all the finished games, batch by batch. Returns the number of games archived
+     */
+    public int archiveFinishedGames() {
+        int archivedGames = 0;
+        int batch;
+        do {
+            batch = archiveBatch();
+            archivedGames += batch;
+        } while (batch == batchSize);
+
+        if (archivedGames > 0) {
+            log.info("Finished games archived. Games: {}.", archivedGames);
+        }
+        return archivedGames;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        archiver.shutdownNow();
+    }
+
+    private int archiveBatch() {
+        Query finishedGames = new Query(finishedGamesCriteria()).limit(batchSize);
+        finishedGames.fields().include(FIELD_ID).include(FIELD_DURATION).include(FIELD_BOARD);
+        List<Game> games = mongoTemplate.find(finishedGames, Game.class);
+        if (games.isEmpty()) {
+            return 0;
+        }
+
+        Date archivedTime = new Date();
+        List<String> gameIds = new ArrayList<>(games.size());
+        BulkOperations summaries = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ArchivedGame.class);
+        for (Game game : games) {
+            int[] pits = game.getBoard().getPits();
+            KalahEngine engine = KalahEngine.forPits(pits);
+            summaries.upsert(new Query(where(FIELD_ID).is(game.getGameId())), new Update()
+                    .set(FIELD_DURATION, game.getDuration())
+                    .set(FIELD_PLAYER_ONE_SCORE, engine.score(pits, KalahEngine.PLAYER_ONE))
+                    .set(FIELD_PLAYER_TWO_SCORE, engine.score(pits, KalahEngine.PLAYER_TWO))
+                    .set(FIELD_ARCHIVED_TIME, archivedTime));
+            gameIds.add(game.getGameId());
+        }
+        summaries.execute();
+
+        mongoTemplate.remove(new Query(where(FIELD_ID).in(gameIds).andOperator(finishedGamesCriteria())), Game.class);
+        return games.size();
+    }
+
+    private void archiveSafely() {
+        try {
+            archiveFinishedGames();
+        } catch (RuntimeException ex) {
+            log.error("The finished games could not be archived, it will be tried again.", ex);
+        }
+    }
+
+    // The games written before the status was stored as a number have its name
+    private static Criteria finishedGamesCriteria() {
+        return where(FIELD_GAME_STATUS).in(GameStatus.FINISHED, GameStatus.FINISHED.name());
+    }
+}
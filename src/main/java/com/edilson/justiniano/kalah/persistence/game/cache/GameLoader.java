@@ -0,0 +1,146 @@
+package com.edilson.justiniano.kalah.persistence.game.cache;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import com.edilson.justiniano.kalah.persistence.game.repository.GameRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+/**
+ * Reads the games from the {@link GameRepository} for the ones that are not on the cache of the running games.
+ *
+ * The concurrent reads of the same game share a single query: the first one reads it and the others wait for it and
+ * get a copy. The ids that were not found are remembered for a little while (kalah.lookup.not-found-ttl-ms, 0 disables
+ * it), so the clients polling unknown ids do not reach the database every time. The ids are generated by the server,
+ * so an unknown id is not created later.
+ *
+ * Both are counted on {@code kalah.game.lookup}, by cache (in-flight or not-found) and result (hit or miss).
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = SERVLET)
+public class GameLoader {
+
+    static final String METRIC_LOOKUP = "kalah.game.lookup";
+
+    private static final String PROPERTY_NOT_FOUND_TTL = "kalah.lookup.not-found-ttl-ms";
+    private static final String PROPERTY_MAX_NOT_FOUND = "kalah.lookup.max-not-found";
+
+    private static final long DEFAULT_NOT_FOUND_TTL = 5_000;
+    private static final int DEFAULT_MAX_NOT_FOUND = 100_000;
+
+    private final GameRepository gameRepository;
+    private final long notFoundTtlNanos;
+    private final int maxNotFound;
+
+    // The reads in progress, the game is a copy nobody changes
+    private final ConcurrentMap<String, CompletableFuture<Optional<Game>>> loads = new ConcurrentHashMap<>();
+    // When every unknown id is forgotten (System.nanoTime)
+    private final ConcurrentMap<String, Long> notFound = new ConcurrentHashMap<>();
+
+    private final Counter inFlightHits;
+    private final Counter inFlightMisses;
+    private final Counter notFoundHits;
+    private final Counter notFoundMisses;
+
+    public GameLoader(GameRepository gameRepository, Environment environment, MeterRegistry meterRegistry) {
+        this.gameRepository = gameRepository;
+        this.notFoundTtlNanos = TimeUnit.MILLISECONDS.toNanos(
+                environment.getProperty(PROPERTY_NOT_FOUND_TTL, Long.class, DEFAULT_NOT_FOUND_TTL));
+        this.maxNotFound = environment.getProperty(PROPERTY_MAX_NOT_FOUND, Integer.class, DEFAULT_MAX_NOT_FOUND);
+        this.inFlightHits = lookupCounter(meterRegistry, "in-flight", "hit");
+        this.inFlightMisses = lookupCounter(meterRegistry, "in-flight", "miss");
+        this.notFoundHits = lookupCounter(meterRegistry, "not-found", "hit");
+        this.notFoundMisses = lookupCounter(meterRegistry, "not-found", "miss");
+    }
+
+    public Optional<Game> findById(String gameId) {
+        if (isKnownAsNotFound(gameId)) {
+            notFoundHits.increment();
+            return Optional.empty();
+        }
+        notFoundMisses.increment();
+
+        CompletableFuture<Optional<Game>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<Game>> inFlightLoad = loads.putIfAbsent(gameId, load);
+        if (inFlightLoad != null) {
+            inFlightHits.increment();
+            return await(inFlightLoad).map(Game::copy);
+        }
+        inFlightMisses.increment();
+
+        try {
+            Optional<Game> game = gameRepository.findById(gameId);
+            if (!game.isPresent()) {
+                rememberNotFound(gameId);
+            }
+            // The caller changes its game, the others get a copy of the one read
+            load.complete(game.map(Game::copy));
+            return game;
+        } catch (RuntimeException ex) {
+            load.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loads.remove(gameId, load);
+        }
+    }
+
+    private boolean isKnownAsNotFound(String gameId) {
+        Long expirationTime = notFound.get(gameId);
+        if (expirationTime == null) {
+            return false;
+        }
+        if (expirationTime - System.nanoTime() > 0) {
+            return true;
+        }
+        notFound.remove(gameId, expirationTime);
+        return false;
+    }
+
+    private void rememberNotFound(String gameId) {
+        if (notFoundTtlNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (notFound.size() >= maxNotFound) {
+            notFound.values().removeIf(expirationTime -> expirationTime - now <= 0);
+            if (notFound.size() >= maxNotFound) {
+                log.debug("Too many unknown games remembered, not remembering this one. GameId: {}.", gameId);
+                return;
+            }
+        }
+        notFound.put(gameId, now + notFoundTtlNanos);
+    }
+
+    private static Optional<Game> await(CompletableFuture<Optional<Game>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException ex) {
+            // The reader failed, so do the ones waiting for it
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String cache, String result) {
+        return Counter.builder(METRIC_LOOKUP)
+                .description("Reads of the games not on the cache of the running games")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
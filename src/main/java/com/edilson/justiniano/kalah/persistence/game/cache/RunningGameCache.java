@@ -0,0 +1,379 @@
+package com.edilson.justiniano.kalah.persistence.game.cache;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import com.edilson.justiniano.kalah.persistence.game.repository.GameRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+/**
+ * Write-behind cache of the running games in front of the {@link GameRepository}. The movements change the cached game
+ * and mark it as dirty, a background task writes the dirty games every half of the maximum staleness, so several
+ * movements of the same game end up in a single write. The finished games are written right away and are not kept,
+ * unless the write fails: then they stay dirty and the background task tries again.
+ *
+ * The cache keeps its own copies of the games, so it behaves like the repository: every read gets an independent game
+ * and an update of a game that is not on the version it was read is rejected. The cache knows the version stored on the
+ * database, so the writes are conditional on it as well. The writes of a game hold its lock, one of a fixed set shared
+ * by the game ids (stripes), so a write of one game never waits for the writes of the others.
+ * The least recently used games are evicted when the cache is full and the idle ones after the idle timeout. The dirty
+ * games are written on the shutdown.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = SERVLET)
+public class RunningGameCache {
+
+    private static final String PROPERTY_MAX_GAMES = "kalah.cache.max-games";
+    private static final String PROPERTY_MAX_STALENESS = "kalah.cache.max-staleness-ms";
+    private static final String PROPERTY_IDLE_TIMEOUT = "kalah.cache.idle-timeout-ms";
+
+    private static final int DEFAULT_MAX_GAMES = 10_000;
+    private static final long DEFAULT_MAX_STALENESS = 1_000;
+    private static final long DEFAULT_IDLE_TIMEOUT = 300_000;
+
+    // Power of two, so the stripe is taken with a mask
+    private static final int WRITE_LOCKS = 256;
+
+    private final GameRepository gameRepository;
+    private final int maxGames;
+    private final long idleTimeoutNanos;
+
+    // Access ordered, so the first entry is the least recently used one. Guarded by itself
+    private final Map<String, CachedGame> games = new LinkedHashMap<>(16, 0.75f, true);
+    // Held by every write of a game, so a write never overtakes a newer one of the same game. Taken before the map
+    private final ReentrantLock[] writeLocks = new ReentrantLock[WRITE_LOCKS];
+    private final ScheduledExecutorService flusher;
+
+    public RunningGameCache(GameRepository gameRepository, Environment environment) {
+        this.gameRepository = gameRepository;
+        this.maxGames = environment.getProperty(PROPERTY_MAX_GAMES, Integer.class, DEFAULT_MAX_GAMES);
+        long maxStaleness = environment.getProperty(PROPERTY_MAX_STALENESS, Long.class, DEFAULT_MAX_STALENESS);
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(
+                environment.getProperty(PROPERTY_IDLE_TIMEOUT, Long.class, DEFAULT_IDLE_TIMEOUT));
+
+        for (int i = 0; i < WRITE_LOCKS; i++) {
+            writeLocks[i] = new ReentrantLock();
+        }
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "running-game-cache-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (isEnabled()) {
+            long flushInterval = Math.max(1, maxStaleness / 2);
+            flusher.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public Optional<Game> get(String gameId) {
+        synchronized (games) {
+            CachedGame cachedGame = games.get(gameId);
+            if (cachedGame == null) {
+                return Optional.empty();
+            }
+            cachedGame.lastAccessTime = System.nanoTime();
+            return Optional.of(cachedGame.game.copy());
+        }
+    }
+
+    /*
+     * The movements of a cached game, without copying it. Empty when the game is not cached
+     */
+    public OptionalInt moveCount(String gameId) {
+        synchronized (games) {
+            CachedGame cachedGame = games.get(gameId);
+            if (cachedGame == null) {
+                return OptionalInt.empty();
+            }
+            cachedGame.lastAccessTime = System.nanoTime();
+            return OptionalInt.of(cachedGame.game.moveCount());
+        }
+    }
+
+    /*
+     * Keeps a game that was just read from (or written to) the database. Only the running games are kept
+     */
+    public void put(Game game) {
+        if (!isEnabled() || !game.isGameRunning()) {
+            return;
+        }
+        synchronized (games) {
+            CachedGame cachedGame = games.get(game.getGameId());
+            if (cachedGame == null) {
+                games.put(game.getGameId(), new CachedGame(game.copy(), game.getVersion(), game.getStoredMoves(), false));
+            }
+        }
+        evictLeastRecentlyUsed();
+    }
+
+    /*
+     * Takes care of the write of a changed game, which was on the previous version. A running game is written later, a
+     * finished one right away. Returns false when the cache is disabled, the caller must write it. Throws
+     * OptimisticLockingFailureException when the game was changed since it was read
+     */
+    public boolean update(Game game, Long previousVersion) {
+        if (!isEnabled()) {
+            return false;
+        }
+
+        Game snapshot = game.copy();
+        if (game.isGameRunning()) {
+            synchronized (games) {
+                games.put(game.getGameId(), nextCachedGame(snapshot, previousVersion, true));
+            }
+            evictLeastRecentlyUsed();
+            return true;
+        }
+
+        // The finished game is still served by the cache while it is written, then it is only on the database
+        ReentrantLock writeLock = writeLockFor(game.getGameId());
+        writeLock.lock();
+        try {
+            CachedGame cachedGame;
+            synchronized (games) {
+                cachedGame = nextCachedGame(snapshot, previousVersion, false);
+                games.put(game.getGameId(), cachedGame);
+            }
+            try {
+                gameRepository.updateMovement(snapshot, cachedGame.storedVersion, cachedGame.storedMoves);
+            } catch (OptimisticLockingFailureException ex) {
+                synchronized (games) {
+                    games.remove(game.getGameId());
+                }
+                throw ex;
+            } catch (RuntimeException ex) {
+                // The movement is kept: the game stays on the cache and the flusher writes it
+                log.error("The finished game could not be written, it will be tried again. GameId: {}.", game.getGameId(), ex);
+                cachedGame.dirty = true;
+                return true;
+            }
+            synchronized (games) {
+                games.remove(game.getGameId());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return true;
+    }
+
+    /*
+     * Drops the game without writing it. Any write in progress finishes before, so it cannot bring the game back
+     */
+    public void remove(String gameId) {
+        ReentrantLock writeLock = writeLockFor(gameId);
+        writeLock.lock();
+        try {
+            synchronized (games) {
+                games.remove(gameId);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /*
+     * Writes all the dirty games and drops the idle ones
+     */
+    public void flush() {
+        List<String> dirtyGameIds = new ArrayList<>();
+        long now = System.nanoTime();
+        synchronized (games) {
+            Iterator<CachedGame> iterator = games.values().iterator();
+            while (iterator.hasNext()) {
+                CachedGame cachedGame = iterator.next();
+                if (cachedGame.dirty) {
+                    dirtyGameIds.add(cachedGame.game.getGameId());
+                } else if (now - cachedGame.lastAccessTime > idleTimeoutNanos) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        int writtenGames = 0;
+        for (String gameId : dirtyGameIds) {
+            if (writeIfDirty(gameId) != null) {
+                writtenGames++;
+            }
+        }
+
+        if (writtenGames > 0) {
+            log.debug("Running games written. Games: {}.", writtenGames);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+        log.info("Running game cache flushed on the shutdown.");
+    }
+
+    public int size() {
+        synchronized (games) {
+            return games.size();
+        }
+    }
+
+    private boolean isEnabled() {
+        return maxGames > 0;
+    }
+
+    /*
+     * The entry of a game changed from the previous version. It keeps what is stored on the database from the current
+     * entry, if any. Must be called with the map lock
+     */
+    private CachedGame nextCachedGame(Game game, Long previousVersion, boolean dirty) {
+        CachedGame cachedGame = games.get(game.getGameId());
+        if (cachedGame == null) {
+            // Not cached (or already written and evicted), so the game was read from the database
+            return new CachedGame(game, previousVersion, game.getStoredMoves(), dirty);
+        }
+        if (!Objects.equals(cachedGame.game.getVersion(), previousVersion)) {
+            throw new OptimisticLockingFailureException("The game " + game.getGameId() + " is not on the version "
+                                                                + previousVersion + " anymore.");
+        }
+        return new CachedGame(game, cachedGame.storedVersion, cachedGame.storedMoves, dirty);
+    }
+
+    private ReentrantLock writeLockFor(String gameId) {
+        int hash = gameId.hashCode();
+        // The upper bits are spread over the lower ones, the mask only keeps those
+        return writeLocks[(hash ^ (hash >>> 16)) & (WRITE_LOCKS - 1)];
+    }
+
+    /*
+     * Writes the current entry of the game when it is dirty, with the write lock of the game. Returns the written entry,
+     * null when there was nothing to write or the write failed
+     */
+    private CachedGame writeIfDirty(String gameId) {
+        ReentrantLock writeLock = writeLockFor(gameId);
+        writeLock.lock();
+        try {
+            CachedGame cachedGame;
+            synchronized (games) {
+                cachedGame = games.get(gameId);
+                if (cachedGame == null || !cachedGame.dirty) {
+                    return null;
+                }
+                cachedGame.dirty = false;
+            }
+            // The cached games are never changed, a new one is put on every update, so they are written without the map
+            return write(cachedGame) ? cachedGame : null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /*
+     * Writes a cached game, must be called with the write lock of the game. When the database has another version the
+     * game was changed by someone else, the database wins and the cached game is dropped. A finished game is dropped
+     * once written. Returns whether it was written
+     */
+    private boolean write(CachedGame writtenGame) {
+        Game game = writtenGame.game;
+        try {
+            gameRepository.updateMovement(game, writtenGame.storedVersion, writtenGame.storedMoves);
+            synchronized (games) {
+                CachedGame cachedGame = games.get(game.getGameId());
+                if (cachedGame == writtenGame && !game.isGameRunning()) {
+                    games.remove(game.getGameId());
+                } else if (cachedGame != null) {
+                    cachedGame.storedVersion = game.getVersion();
+                    cachedGame.storedMoves = game.moveCount();
+                }
+            }
+            return true;
+        } catch (OptimisticLockingFailureException ex) {
+            log.error("The game was changed out of the cache, its cached movements are lost. GameId: {}.", game.getGameId(), ex);
+            synchronized (games) {
+                games.remove(game.getGameId());
+            }
+            return false;
+        } catch (RuntimeException ex) {
+            log.error("The game could not be written, it will be tried again. GameId: {}.", game.getGameId(), ex);
+            synchronized (games) {
+                CachedGame cachedGame = games.get(game.getGameId());
+                if (cachedGame != null && cachedGame.game == game) {
+                    cachedGame.dirty = true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /*
+     * The least recently used games over the limit are dropped. A dirty one is written before, it happens only when
+     * it was changed after the last flush, so it is rare. It stays on the cache while it is written, so a movement in
+     * the meantime is applied to it and not to the older game of the database. It is only dropped once written and not
+     * changed since, otherwise it is kept (dirty when the write failed)
+     */
+    private void evictLeastRecentlyUsed() {
+        synchronized (games) {
+            if (games.size() <= maxGames) {
+                return;
+            }
+        }
+
+        List<String> dirtyGameIds = new ArrayList<>();
+        synchronized (games) {
+            Iterator<CachedGame> iterator = games.values().iterator();
+            while (games.size() - dirtyGameIds.size() > maxGames && iterator.hasNext()) {
+                CachedGame cachedGame = iterator.next();
+                if (cachedGame.dirty) {
+                    dirtyGameIds.add(cachedGame.game.getGameId());
+                } else {
+                    iterator.remove();
+                }
+            }
+        }
+        for (String gameId : dirtyGameIds) {
+            CachedGame writtenGame = writeIfDirty(gameId);
+            if (writtenGame != null) {
+                synchronized (games) {
+                    if (games.get(gameId) == writtenGame && !writtenGame.dirty) {
+                        games.remove(gameId);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class CachedGame {
+
+        private final Game game;
+        // Version and movements of the game on the database, the cached one is newer when it is dirty
+        private Long storedVersion;
+        private int storedMoves;
+        private volatile boolean dirty;
+        private long lastAccessTime;
+
+        private CachedGame(Game game, Long storedVersion, int storedMoves, boolean dirty) {
+            this.game = game;
+            this.storedVersion = storedVersion;
+            this.storedMoves = storedMoves;
+            this.dirty = dirty;
+            this.lastAccessTime = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.edilson.justiniano.kalah.persistence.game.converter;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Board;
+import com.edilson.justiniano.kalah.persistence.game.model.GameStatus;
+import com.edilson.justiniano.kalah.persistence.game.model.Player;
+import org.bson.types.Binary;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact MongoDB encoding of the game. The board is a binary (BinData) instead of an array of numbers, each with its
+ * own key, and the player and the status are small numbers (their ordinal, so new values must be added at the end).
+ *
+ * The documents written before are still read: only the binaries and the numbers are converted here, the board
+ * documents and the names are read as usual. They move to the new encoding the next time they are written.
+ */
+public final class GameConverters {
+
+    // First byte of the binary, so the encoding can change without breaking the stored boards
+    static final byte BOARD_FORMAT = 1;
+
+    private GameConverters() {
+    }
+
+    public static List<Converter<?, ?>> getConverters() {
+        return Arrays.asList(BoardToBinaryConverter.INSTANCE, BinaryToBoardConverter.INSTANCE,
+                             PlayerToIntegerConverter.INSTANCE, IntegerToPlayerConverter.INSTANCE,
+                             GameStatusToIntegerConverter.INSTANCE, IntegerToGameStatusConverter.INSTANCE);
+    }
+
+    /*
+     * The format byte and then every pit as a variable length number (7 bits per byte, the highest bit tells that
+     * another byte follows). A pit with less than 128 stones takes one byte, so the standard board takes 15 bytes
+     */
+    static byte[] encodePits(int[] pits) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(pits.length + 1);
+        bytes.write(BOARD_FORMAT);
+        for (int pit : pits) {
+            int value = pit;
+            while ((value & ~0x7F) != 0) {
+                bytes.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes.write(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    static int[] decodePits(byte[] bytes) {
+        if (bytes.length == 0 || bytes[0] != BOARD_FORMAT) {
+            throw new IllegalArgumentException("Unknown board format.");
+        }
+
+        // The last byte of every pit has the highest bit clear
+        int size = 0;
+        for (int i = 1; i < bytes.length; i++) {
+            if (bytes[i] >= 0) {
+                size++;
+            }
+        }
+
+        int[] pits = new int[size];
+        int position = 1;
+        for (int i = 0; i < size; i++) {
+            int value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = bytes[position++];
+                value |= (current & 0x7F) << shift;
+                shift += 7;
+            } while (current < 0);
+            pits[i] = value;
+        }
+        return pits;
+    }
+
+    @WritingConverter
+    enum BoardToBinaryConverter implements Converter<Board, Binary> {
+        INSTANCE;
+
+        @Override
+        public Binary convert(Board board) {
+            return new Binary(encodePits(board.getPits()));
+        }
+    }
+
+    @ReadingConverter
+    enum BinaryToBoardConverter implements Converter<Binary, Board> {
+        INSTANCE;
+
+        @Override
+        public Board convert(Binary binary) {
+            return Board.builder().pits(decodePits(binary.getData())).build();
+        }
+    }
+
+    @WritingConverter
+    enum PlayerToIntegerConverter implements Converter<Player, Integer> {
+        INSTANCE;
+
+        @Override
+        public Integer convert(Player player) {
+            return player.ordinal();
+        }
+    }
+
+    @ReadingConverter
+    enum IntegerToPlayerConverter implements Converter<Integer, Player> {
+        INSTANCE;
+
+        @Override
+        public Player convert(Integer code) {
+            return Player.values()[code];
+        }
+    }
+
+    @WritingConverter
+    enum GameStatusToIntegerConverter implements Converter<GameStatus, Integer> {
+        INSTANCE;
+
+        @Override
+        public Integer convert(GameStatus gameStatus) {
+            return gameStatus.ordinal();
+        }
+    }
+
+    @ReadingConverter
+    enum IntegerToGameStatusConverter implements Converter<Integer, GameStatus> {
+        INSTANCE;
+
+        @Override
+        public GameStatus convert(Integer code) {
+            return GameStatus.values()[code];
+        }
+    }
+}
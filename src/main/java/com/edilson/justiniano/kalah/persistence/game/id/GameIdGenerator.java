@@ -0,0 +1,10 @@
+package com.edilson.justiniano.kalah.persistence.game.id;
+
+/**
+ * Generates the id of the new games. The implementation is chosen by the property kalah.id.generator, the ids of the
+ * existing games are plain strings, so they keep working whatever implementation created them
+ */
+public interface GameIdGenerator {
+
+    String nextId();
+}
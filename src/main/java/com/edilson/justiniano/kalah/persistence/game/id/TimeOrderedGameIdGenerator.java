@@ -0,0 +1,85 @@
+package com.edilson.justiniano.kalah.persistence.game.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time ordered ids of 63 bits: the milliseconds since 2020 (41 bits, until 2089), a sequence within the millisecond
+ * (12 bits) and the node (10 bits). The ids of a node always grow, so the new games are appended to the end of the id
+ * index instead of random places. The ids of different nodes only never clash when every node has its own
+ * kalah.id.node: the node taken from the host and the process when it is missing can be the same on two instances, so
+ * a warning is logged when the games are on a shared database.
+ *
+ * The last millisecond and sequence are a single AtomicLong, so an id is a compare and set. When the 4096 ids of a
+ * millisecond are used the next ones borrow the following millisecond, nobody waits for the clock.
+ *
+ * The id is written with 11 characters of 6 bits, URL safe, on an alphabet in the ASCII order, so the order of the
+ * strings is the order of the ids.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "kalah.id.generator", havingValue = "time-ordered", matchIfMissing = true)
+public class TimeOrderedGameIdGenerator implements GameIdGenerator {
+
+    static final long EPOCH = 1_577_836_800_000L; // 2020-01-01T00:00:00Z
+    static final int SEQUENCE_BITS = 12;
+    static final int NODE_BITS = 10;
+    static final int ID_LENGTH = 11;
+
+    private static final String PROPERTY_NODE = "kalah.id.node";
+
+    private static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    private static final char[] ALPHABET = "-0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ_abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private final long node;
+    // Milliseconds since the epoch and sequence of the last id
+    private final AtomicLong lastTick = new AtomicLong();
+
+    public TimeOrderedGameIdGenerator(Environment environment) {
+        Integer configuredNode = environment.getProperty(PROPERTY_NODE, Integer.class);
+        if (configuredNode != null && (configuredNode < 0 || configuredNode > MAX_NODE)) {
+            throw new IllegalArgumentException("The node of the game ids must be between 0 and " + MAX_NODE + ".");
+        }
+        // Without a node configured, one is taken from the host and the process (pid@host)
+        this.node = configuredNode != null
+                ? configuredNode
+                : ManagementFactory.getRuntimeMXBean().getName().hashCode() & MAX_NODE;
+        // The memory and file repositories belong to a single instance, only a shared database sees the other nodes
+        if (configuredNode == null && !environment.acceptsProfiles(Profiles.of("memory | file"))) {
+            log.warn("No {} configured, the node of the game ids is taken from the host and the process and can be the "
+                             + "same on another instance. Node: {}.", PROPERTY_NODE, node);
+        }
+        log.info("Generating time ordered game ids. Node: {}.", node);
+    }
+
+    @Override
+    public String nextId() {
+        return encode(nextTick() << NODE_BITS | node);
+    }
+
+    private long nextTick() {
+        long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        while (true) {
+            long last = lastTick.get();
+            long next = Math.max(last + 1, now);
+            if (lastTick.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    static String encode(long id) {
+        char[] chars = new char[ID_LENGTH];
+        for (int i = ID_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 0x3F)];
+            id >>>= 6;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,20 @@
+package com.edilson.justiniano.kalah.persistence.game.id;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * The original ids: random UUIDs (36 characters). They come from a shared SecureRandom and are inserted at random
+ * places of the id index
+ */
+@Component
+@ConditionalOnProperty(name = "kalah.id.generator", havingValue = "uuid")
+public class UuidGameIdGenerator implements GameIdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.edilson.justiniano.kalah.persistence.game.model;
 
+import com.edilson.justiniano.kalah.engine.BoardGeometry;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -7,8 +8,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.beans.Transient;
-import java.util.Arrays;
-import java.util.stream.IntStream;
+
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_ONE;
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_TWO;
 
 @Getter
 @Setter
@@ -17,48 +19,54 @@ import java.util.stream.IntStream;
 @Builder
 public class Board {
 
-    private static final int PLAYER_ONE_KALAH = 7;
-    private static final int PLAYER_TWO_KALAH = 14;
-
     private int[] pits;
 
     //Using tell don't ask design pattern to encapsulate some business logic and avoid split them around the code
     // These transient annotated methods will not be stored on our db
+    @Transient
+    public BoardGeometry geometry() {
+        // The geometry is not stored, it is known by the size of the board
+        return BoardGeometry.ofBoardSize(pits.length);
+    }
+
     @Transient
     public boolean isPlayerOnePit(int selectedPit) {
-        return selectedPit >= 0 && selectedPit < (PLAYER_ONE_KALAH - 1);
+        return geometry().isPlayerPit(PLAYER_ONE, selectedPit);
     }
 
     @Transient
     public boolean isPlayerTwoPit(int selectedPit) {
-        return selectedPit >= PLAYER_ONE_KALAH && selectedPit < (PLAYER_TWO_KALAH - 1);
+        return geometry().isPlayerPit(PLAYER_TWO, selectedPit);
     }
 
     @Transient
-    public boolean isNotPlayerOneKalah(int pitIndex) {
-        return PLAYER_ONE_KALAH != (pitIndex + 1);
+    public boolean isPlayerOnePitsEmpty() {
+        return getPlayerOnePitsStones() == 0;
     }
 
     @Transient
-    public boolean isPlayerTwoKalah(int pitIndex) {
-        return PLAYER_TWO_KALAH == (pitIndex + 1);
+    public boolean isPlayerTwoPitsEmpty() {
+        return getPlayerTwoPitsStones() == 0;
     }
 
     @Transient
-    public boolean isNotPlayerTwoKalah(int pitIndex) {
-        return PLAYER_TWO_KALAH != (pitIndex + 1);
+    public int getPlayerOnePitsStones() {
+        return sumPits(PLAYER_ONE);
     }
 
     @Transient
-    public boolean isPlayerOnePitsEmpty() {
-        return IntStream.range(0 , (PLAYER_ONE_KALAH - 1))
-                .noneMatch(i -> pits[i] > 0);
+    public int getPlayerTwoPitsStones() {
+        return sumPits(PLAYER_TWO);
     }
 
-    @Transient
-    public boolean isPlayerTwoPitsEmpty() {
-        return IntStream.range(PLAYER_ONE_KALAH , (PLAYER_TWO_KALAH - 1))
-                .noneMatch(i -> pits[i] > 0);
+    private int sumPits(int player) {
+        BoardGeometry geometry = geometry();
+        int firstPitIndex = geometry.firstPitIndex(player);
+        int stones = 0;
+        for (int i = firstPitIndex; i < firstPitIndex + geometry.getPitsPerSide(); i++) {
+            stones += pits[i];
+        }
+        return stones;
     }
 
 }
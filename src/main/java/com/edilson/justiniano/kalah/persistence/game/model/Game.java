@@ -1,5 +1,6 @@
 package com.edilson.justiniano.kalah.persistence.game.model;
 
+import com.edilson.justiniano.kalah.engine.KalahEngine;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -7,30 +8,49 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 @Document
 public class Game {
 
-    // I decided to use a Hash (UUID) as Primary Key (Id) because we faced a lot of issues during the data migration
-    // on our micro-services. So I use the same idea we are using right now
+    // A string generated by the application (see GameIdGenerator) instead of the MongoDB ObjectId, because we faced a
+    // lot of issues during the data migration on our micro-services. So I use the same idea we are using right now
     @Id
     private String gameId;
+
+    // Increased on every write, a write of an older version is rejected so concurrent movements cannot overwrite each other
+    @Version
+    private Long version;
     private long startedTime;
     private Long duration;
 
     private GameStatus gameStatus;
+    // Snapshot of the board taken after the first snapshotMoves movements of the journal, see replayJournal
     private Board board;
+    private int snapshotMoves;
+
+    // Append-only journal of the movements. Null for the games created before it
+    private List<Move> moves;
+
+    // Movements of the journal already written to the database. Not stored, it is known once the game is read
+    @Transient
+    private int storedMoves;
 
     private Player nextPlayer;
 
+    // Null for the games created before the computer opponent, they are always against a human
+    private Opponent opponent;
+
     //Using tell don't ask design pattern to encapsulate some business logic and avoid split them around the code
     // These transient annotated methods will not be stored on our db
     @Transient
@@ -54,9 +74,71 @@ public class Game {
         return Player.PLAYER_TWO.equals(getNextPlayer());
     }
 
-    //Using tell don't ask design pattern to encapsulate some business logic and avoid split them around the code
+    // The computer is always the player two
+    @Transient
+    public boolean isComputerTurn() {
+        return isGameRunning() && isPlayerTwoTurn() && Opponent.COMPUTER.equals(getOpponent());
+    }
+
+    @Transient
+    public int nextPlayerIndex() {
+        return isPlayerOneTurn() ? KalahEngine.PLAYER_ONE : KalahEngine.PLAYER_TWO;
+    }
+
+    // Bit mask of the pits the next player can play (bit N for the pit of index N). No movement is legal once it is over
+    @Transient
+    public int legalMoves() {
+        if (isGameOver()) {
+            return 0;
+        }
+        int[] pits = getBoard().getPits();
+        return KalahEngine.forPits(pits).legalMoves(pits, nextPlayerIndex());
+    }
+
+    // Version of the game once the current changes are written
+    @Transient
+    public Long nextVersion() {
+        return getVersion() == null ? 1L : getVersion() + 1;
+    }
+
+    @Transient
+    public int moveCount() {
+        return getMoves() == null ? 0 : getMoves().size();
+    }
+
+    @Transient
+    public void recordMove(int pitIndex, Player player, long time) {
+        if (getMoves() == null) {
+            setMoves(new ArrayList<>());
+        }
+        getMoves().add(new Move(pitIndex, player, time));
+    }
+
+    // The movements of the journal after the first given ones
+    @Transient
+    public List<Move> movesAfter(int moveCount) {
+        return moveCount >= moveCount() ? Collections.emptyList() : getMoves().subList(moveCount, moveCount());
+    }
+
+    // The stored board is only a snapshot, so the current one is built playing the movements after it (the tail)
+    @Transient
+    public void replayJournal() {
+        int[] pits = getBoard().getPits();
+        KalahEngine engine = KalahEngine.forPits(pits);
+        for (Move move : movesAfter(getSnapshotMoves())) {
+            int player = Player.PLAYER_ONE.equals(move.getPlayer()) ? KalahEngine.PLAYER_ONE : KalahEngine.PLAYER_TWO;
+            engine.move(pits, player, move.getPitIndex());
+        }
+        setSnapshotMoves(moveCount());
+        setStoredMoves(moveCount());
+    }
+
+    // Independent copy of the game, the board and the journal are not shared
     @Transient
-    public static String generateGameId() {
-        return UUID.randomUUID().toString();
+    public Game copy() {
+        return toBuilder()
+                .board(Board.builder().pits(getBoard().getPits().clone()).build())
+                .moves(getMoves() == null ? null : new ArrayList<>(getMoves()))
+                .build();
     }
 }
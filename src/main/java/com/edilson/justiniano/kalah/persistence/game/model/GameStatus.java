@@ -2,6 +2,7 @@ package com.edilson.justiniano.kalah.persistence.game.model;
 
 /**
  * The status of the kalah game. It will be used to verify and validate some requests
+ * It is stored on MongoDB by its ordinal (see GameConverters), so the new values must be added at the end
  */
 public enum GameStatus {
     RUNNING,
@@ -0,0 +1,18 @@
+package com.edilson.justiniano.kalah.persistence.game.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of the journal of a game: the pit played (index on the board), who played it and when
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class Move {
+
+    private int pitIndex;
+    private Player player;
+    private long time;
+}
@@ -0,0 +1,9 @@
+package com.edilson.justiniano.kalah.persistence.game.model;
+
+/**
+ * Who plays as player two. Against the computer, the server plays its movements right after the player one ones
+ */
+public enum Opponent {
+    HUMAN,
+    COMPUTER
+}
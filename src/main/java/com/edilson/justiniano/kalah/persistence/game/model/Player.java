@@ -2,6 +2,7 @@ package com.edilson.justiniano.kalah.persistence.game.model;
 
 /**
  * I would like to treat, handle the Players. So far no names is required but it would be very nice to have it in the next version as well
+ * It is stored on MongoDB by its ordinal (see GameConverters), so the new values must be added at the end
  */
 public enum Player {
     PLAYER_ONE,
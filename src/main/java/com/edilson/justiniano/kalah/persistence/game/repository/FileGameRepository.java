@@ -0,0 +1,388 @@
+package com.edilson.justiniano.kalah.persistence.game.repository;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Board;
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import com.edilson.justiniano.kalah.persistence.game.model.GameStatus;
+import com.edilson.justiniano.kalah.persistence.game.model.Move;
+import com.edilson.justiniano.kalah.persistence.game.model.Opponent;
+import com.edilson.justiniano.kalah.persistence.game.model.Player;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * The games on a local file, used by the {@code file} profile for a single node without MongoDB. The games are served
+ * from memory like {@link InMemoryGameRepository}, every write is also appended as a record to a memory mapped file:
+ * the whole game when it is saved, only the new movements and fields when a movement is written, and the deletes.
+ * On the start the records are read again to rebuild the games.
+ *
+ * A record is its length, the CRC32 of its content and the content. The length is written last, so a record cut by a
+ * crash is ignored (and overwritten) on the next start. The writes reach the page cache right away, so they survive a
+ * crash of the process; with {@code kalah.store.file.force-writes} every write is also forced to the disk.
+ *
+ * The file is mapped by windows, so it can grow past the 2 GB of a single mapping. When most of the records are dead
+ * (deleted games, movements older than the games) on the start, the live games are written to a new file which
+ * replaces it.
+ */
+@Slf4j
+@Repository
+@Profile("file")
+public class FileGameRepository extends InMemoryGameRepository {
+
+    static final int MAGIC = 0x4B47414D;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+
+    private static final String PROPERTY_PATH = "kalah.store.file.path";
+    private static final String PROPERTY_FORCE_WRITES = "kalah.store.file.force-writes";
+    private static final String PROPERTY_COMPACT_DEAD_SHARE = "kalah.store.file.compact-dead-share";
+
+    private static final String DEFAULT_PATH = "kalah-games.log";
+    private static final double DEFAULT_COMPACT_DEAD_SHARE = 0.5;
+    // A window of the file is mapped with this size (at least), the part not written yet is zeros
+    private static final int MAPPING_STEP = 16 * 1024 * 1024;
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private static final byte RECORD_SAVE = 1;
+    private static final byte RECORD_UPDATE = 2;
+    private static final byte RECORD_DELETE = 3;
+
+    private final Path path;
+    private final boolean forceWrites;
+    // All guarded by this. The window mapped from bufferStart, and the end of the last record
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long bufferStart;
+    private long position;
+
+    public FileGameRepository(Environment environment) throws IOException {
+        super(environment);
+        this.path = Paths.get(environment.getProperty(PROPERTY_PATH, DEFAULT_PATH));
+        this.forceWrites = environment.getProperty(PROPERTY_FORCE_WRITES, Boolean.class, false);
+        this.channel = FileChannel.open(path, CREATE, READ, WRITE);
+
+        boolean newFile = channel.size() == 0;
+        map(0, HEADER_SIZE);
+        if (newFile) {
+            buffer.putInt(0, MAGIC).putInt(4, VERSION);
+        } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException("The file " + path + " is not a game store.");
+        }
+        position = HEADER_SIZE;
+
+        int records = readRecords();
+        log.info("Game store opened. File: {}, records: {} and games: {}.", path, records, games.size());
+
+        double compactDeadShare = environment.getProperty(PROPERTY_COMPACT_DEAD_SHARE, Double.class,
+                                                          DEFAULT_COMPACT_DEAD_SHARE);
+        if (records > 0 && records - games.size() >= records * compactDeadShare) {
+            compact();
+        }
+    }
+
+    @Override
+    protected void saved(Game game) {
+        append(RECORD_SAVE, game.getGameId(), out -> writeGame(out, game));
+    }
+
+    @Override
+    protected void updated(Game game, List<Move> newMoves, int[] snapshot) {
+        append(RECORD_UPDATE, game.getGameId(), out -> {
+            writeNullableLong(out, game.getVersion());
+            writeEnum(out, game.getNextPlayer());
+            writeEnum(out, game.getGameStatus());
+            writeNullableLong(out, game.getDuration());
+            writeMoves(out, newMoves);
+            writePits(out, snapshot);
+        });
+    }
+
+    @Override
+    protected void deleted(String gameId) {
+        append(RECORD_DELETE, gameId, out -> {
+        });
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    /*
+     * The end of the last record
+     */
+    synchronized long size() {
+        return position;
+    }
+
+    private synchronized void append(byte type, String gameId, RecordWriter recordWriter) {
+        try {
+            byte[] content = content(type, gameId, recordWriter);
+            int recordSize = RECORD_HEADER_SIZE + content.length;
+            ensureMapped(position, recordSize);
+            int offset = (int) (position - bufferStart);
+
+            buffer.putInt(offset + 4, (int) checksum(content));
+            for (int i = 0; i < content.length; i++) {
+                buffer.put(offset + RECORD_HEADER_SIZE + i, content[i]);
+            }
+            // Last, so the record only exists once it is complete
+            buffer.putInt(offset, content.length);
+            position += recordSize;
+
+            if (forceWrites) {
+                buffer.force();
+            }
+        } catch (IOException ex) {
+            throw new DataAccessResourceFailureException("The game " + gameId + " could not be written to " + path + ".", ex);
+        }
+    }
+
+    private static byte[] content(byte type, String gameId, RecordWriter recordWriter) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(type);
+        out.writeUTF(gameId);
+        recordWriter.write(out);
+        return bytes.toByteArray();
+    }
+
+    /*
+     * Maps the window of the file from the start with the size at least, the file grows with zeros
+     */
+    private void map(long start, int size) throws IOException {
+        buffer = channel.map(READ_WRITE, start, Math.max(size, MAPPING_STEP));
+        bufferStart = start;
+    }
+
+    private void ensureMapped(long start, int size) throws IOException {
+        if (start < bufferStart || start + size > bufferStart + buffer.capacity()) {
+            map(start, size);
+        }
+    }
+
+    /*
+     * Applies all the complete records of the file to the games. Returns the number of records
+     */
+    private int readRecords() throws IOException {
+        long fileSize = channel.size();
+        int records = 0;
+        while (position + RECORD_HEADER_SIZE <= fileSize) {
+            ensureMapped(position, RECORD_HEADER_SIZE);
+            int length = buffer.getInt((int) (position - bufferStart));
+            if (length == 0) {
+                return records;
+            }
+
+            byte[] content = null;
+            if (length > 0 && position + RECORD_HEADER_SIZE + length <= fileSize) {
+                ensureMapped(position, RECORD_HEADER_SIZE + length);
+                int offset = (int) (position - bufferStart);
+                content = new byte[length];
+                for (int i = 0; i < length; i++) {
+                    content[i] = buffer.get(offset + RECORD_HEADER_SIZE + i);
+                }
+            }
+            if (content == null || (int) checksum(content) != buffer.getInt((int) (position - bufferStart) + 4)) {
+                log.warn("The game store has an incomplete record, it is ignored. File: {} and position: {}.", path, position);
+                // Cut, so the following records cannot be mixed with what is left of it
+                channel.truncate(position);
+                map(position, 0);
+                return records;
+            }
+
+            readRecord(new DataInputStream(new ByteArrayInputStream(content)));
+            position += RECORD_HEADER_SIZE + length;
+            records++;
+        }
+        return records;
+    }
+
+    /*
+     * Writes the live games on a new file, which replaces the current one once it is complete. A failed write keeps
+     * the current file
+     */
+    private void compact() throws IOException {
+        Path compactPath = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileOutputStream file = new FileOutputStream(compactPath.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            for (Game game : games.values()) {
+                byte[] content = content(RECORD_SAVE, game.getGameId(), gameOut -> writeGame(gameOut, game));
+                out.writeInt(content.length);
+                out.writeInt((int) checksum(content));
+                out.write(content);
+            }
+            out.flush();
+            file.getFD().sync();
+        } catch (IOException ex) {
+            log.warn("The game store could not be compacted, it is kept. File: {}.", path, ex);
+            Files.deleteIfExists(compactPath);
+            return;
+        }
+
+        channel.close();
+        Files.move(compactPath, path, ATOMIC_MOVE, REPLACE_EXISTING);
+        channel = FileChannel.open(path, READ, WRITE);
+        position = channel.size();
+        map(position, 0);
+        log.info("Game store compacted. File: {}, size: {} and games: {}.", path, position, games.size());
+    }
+
+    private static long checksum(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+    private void readRecord(DataInput in) throws IOException {
+        byte type = in.readByte();
+        String gameId = in.readUTF();
+        switch (type) {
+            case RECORD_SAVE:
+                games.put(gameId, readGame(in, gameId));
+                break;
+            case RECORD_UPDATE:
+                Long version = readNullableLong(in);
+                Game changes = Game.builder()
+                        .nextPlayer(readEnum(in, Player.values()))
+                        .gameStatus(readEnum(in, GameStatus.values()))
+                        .duration(readNullableLong(in))
+                        .build();
+                List<Move> newMoves = readMoves(in);
+                int[] snapshot = readPits(in);
+                games.computeIfPresent(gameId, (id, storedGame) ->
+                        applyMovement(storedGame, version, changes, newMoves, snapshot));
+                break;
+            case RECORD_DELETE:
+                games.remove(gameId);
+                break;
+            default:
+                throw new IOException("Unknown record on the game store " + path + ": " + type + ".");
+        }
+    }
+
+    private static void writeGame(DataOutput out, Game game) throws IOException {
+        writeNullableLong(out, game.getVersion());
+        out.writeLong(game.getStartedTime());
+        writeNullableLong(out, game.getDuration());
+        writeEnum(out, game.getGameStatus());
+        writePits(out, game.getBoard().getPits());
+        out.writeInt(game.getSnapshotMoves());
+        writeMoves(out, game.getMoves() == null ? new ArrayList<>() : game.getMoves());
+        writeEnum(out, game.getNextPlayer());
+        writeEnum(out, game.getOpponent());
+    }
+
+    private static Game readGame(DataInput in, String gameId) throws IOException {
+        return Game.builder()
+                .gameId(gameId)
+                .version(readNullableLong(in))
+                .startedTime(in.readLong())
+                .duration(readNullableLong(in))
+                .gameStatus(readEnum(in, GameStatus.values()))
+                .board(Board.builder().pits(readPits(in)).build())
+                .snapshotMoves(in.readInt())
+                .moves(readMoves(in))
+                .nextPlayer(readEnum(in, Player.values()))
+                .opponent(readEnum(in, Opponent.values()))
+                .build();
+    }
+
+    private static void writeMoves(DataOutput out, List<Move> moves) throws IOException {
+        out.writeInt(moves.size());
+        for (Move move : moves) {
+            out.writeByte(move.getPitIndex());
+            writeEnum(out, move.getPlayer());
+            out.writeLong(move.getTime());
+        }
+    }
+
+    private static List<Move> readMoves(DataInput in) throws IOException {
+        int size = in.readInt();
+        List<Move> moves = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            moves.add(new Move(in.readByte(), readEnum(in, Player.values()), in.readLong()));
+        }
+        return moves;
+    }
+
+    // Without a snapshot the board is written empty
+    private static void writePits(DataOutput out, int[] pits) throws IOException {
+        out.writeByte(pits == null ? 0 : pits.length);
+        if (pits != null) {
+            for (int pit : pits) {
+                out.writeShort(pit);
+            }
+        }
+    }
+
+    private static int[] readPits(DataInput in) throws IOException {
+        int size = in.readByte();
+        if (size == 0) {
+            return null;
+        }
+        int[] pits = new int[size];
+        for (int i = 0; i < size; i++) {
+            pits[i] = in.readShort();
+        }
+        return pits;
+    }
+
+    private static void writeNullableLong(DataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readNullableLong(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? -1 : value.ordinal());
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInput in, E[] values) throws IOException {
+        byte ordinal = in.readByte();
+        return ordinal < 0 ? null : values[ordinal];
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+
+        void write(DataOutput out) throws IOException;
+    }
+}
@@ -1,7 +1,37 @@
 package com.edilson.justiniano.kalah.persistence.game.repository;
 
 import com.edilson.justiniano.kalah.persistence.game.model.Game;
-import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface GameRepository extends MongoRepository<Game, String> {
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The storage of the games. It is MongoDB by default, the profiles {@code memory} (a map, nothing survives a restart)
+ * and {@code file} (a local append-only file) run without it. All of them behave the same: the games are versioned
+ * and a write of an older version is rejected
+ */
+public interface GameRepository {
+
+    /*
+     * Writes the whole game. A game without version is a new one and gets the version 0, otherwise the stored game
+     * must be on its version (then it is increased). Throws OptimisticLockingFailureException otherwise
+     */
+    Game save(Game game);
+
+    /*
+     * Writes several new games at once, all of them get the version 0. Throws DuplicateKeyException when one of them
+     * already exists
+     */
+    void insertAll(List<Game> games);
+
+    Optional<Game> findById(String gameId);
+
+    void deleteById(String gameId);
+
+    /*
+     * Appends the movements after the stored ones to the journal and writes the other fields changed by them and the
+     * new version of the game, as long as the stored game is still on the previous version. Throws
+     * OptimisticLockingFailureException otherwise
+     */
+    void updateMovement(Game game, Long previousVersion, int previousMoves);
 }
@@ -0,0 +1,130 @@
+package com.edilson.justiniano.kalah.persistence.game.repository;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Board;
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import com.edilson.justiniano.kalah.persistence.game.model.Move;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The games on a concurrent map, used by the {@code memory} profile. Nothing survives a restart, it is meant for the
+ * local runs and the tests.
+ *
+ * The map keeps the stored documents as MongoDB would: the board is the last snapshot, the journal has all the
+ * movements. A stored game is never changed, every write puts a new one, so the reads get a copy without locking
+ */
+@Repository
+@Profile("memory")
+public class InMemoryGameRepository implements GameRepository {
+
+    protected final ConcurrentMap<String, Game> games = new ConcurrentHashMap<>();
+    private final SnapshotPolicy snapshotPolicy;
+
+    public InMemoryGameRepository(Environment environment) {
+        this.snapshotPolicy = new SnapshotPolicy(environment);
+    }
+
+    @Override
+    public Game save(Game game) {
+        games.compute(game.getGameId(), (gameId, storedGame) -> {
+            if (game.getVersion() == null) {
+                if (storedGame != null) {
+                    throw new DuplicateKeyException("The game " + gameId + " already exists.");
+                }
+                game.setVersion(0L);
+            } else {
+                checkVersion(gameId, storedGame, game.getVersion());
+                game.setVersion(game.getVersion() + 1);
+            }
+            Game newGame = game.copy();
+            saved(newGame);
+            return newGame;
+        });
+        return game;
+    }
+
+    @Override
+    public void insertAll(List<Game> games) {
+        for (Game game : games) {
+            save(game);
+        }
+    }
+
+    @Override
+    public Optional<Game> findById(String gameId) {
+        return Optional.ofNullable(games.get(gameId)).map(Game::copy);
+    }
+
+    @Override
+    public void deleteById(String gameId) {
+        games.computeIfPresent(gameId, (id, storedGame) -> {
+            deleted(id);
+            return null;
+        });
+    }
+
+    @Override
+    public void updateMovement(Game game, Long previousVersion, int previousMoves) {
+        games.compute(game.getGameId(), (gameId, storedGame) -> {
+            checkVersion(gameId, storedGame, previousVersion);
+
+            List<Move> newMoves = game.movesAfter(previousMoves);
+            int[] snapshot = snapshotPolicy.isSnapshotDue(game, previousMoves) ? game.getBoard().getPits().clone() : null;
+            Game newGame = applyMovement(storedGame, game.getVersion(), game, newMoves, snapshot);
+            updated(newGame, newMoves, snapshot);
+            return newGame;
+        });
+    }
+
+    /*
+     * The stored game after the fields written by a movement
+     */
+    protected static Game applyMovement(Game storedGame, Long version, Game changes, List<Move> newMoves, int[] snapshot) {
+        List<Move> moves = new ArrayList<>(storedGame.moveCount() + newMoves.size());
+        if (storedGame.getMoves() != null) {
+            moves.addAll(storedGame.getMoves());
+        }
+        moves.addAll(newMoves);
+
+        Game.GameBuilder newGame = storedGame.toBuilder()
+                .version(version)
+                .nextPlayer(changes.getNextPlayer())
+                .gameStatus(changes.getGameStatus())
+                .duration(changes.getDuration())
+                .moves(moves);
+        if (snapshot != null) {
+            newGame.board(Board.builder().pits(snapshot).build())
+                    .snapshotMoves(moves.size());
+        }
+        return newGame.build();
+    }
+
+    /*
+     * Called with the game locked once it is written, so a durable repository can record the changes in order
+     */
+    protected void saved(Game game) {
+    }
+
+    protected void updated(Game game, List<Move> newMoves, int[] snapshot) {
+    }
+
+    protected void deleted(String gameId) {
+    }
+
+    private static void checkVersion(String gameId, Game storedGame, Long version) {
+        if (storedGame == null || !Objects.equals(storedGame.getVersion(), version)) {
+            throw new OptimisticLockingFailureException("The game " + gameId + " is not on the version " + version
+                                                                + " anymore.");
+        }
+    }
+}
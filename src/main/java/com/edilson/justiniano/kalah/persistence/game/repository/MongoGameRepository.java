@@ -0,0 +1,112 @@
+package com.edilson.justiniano.kalah.persistence.game.repository;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import com.mongodb.client.result.UpdateResult;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * The games on MongoDB, used by Spring MVC when neither the {@code memory} nor the {@code file} profile is active (the
+ * reactive stack uses {@link ReactiveGameRepository}).
+ *
+ * A movement is appended to the journal of the game (a few bytes) and only the next player, the status and the
+ * duration are set, instead of sending the whole document. The board is written as a snapshot every few movements and
+ * when the game is over, the movements after the snapshot are played again when the game is read.
+ * The previous version on the filter makes the update conditional
+ */
+@Repository
+@Profile("!memory & !file")
+@ConditionalOnWebApplication(type = SERVLET)
+public class MongoGameRepository implements GameRepository {
+
+    static final String FIELD_ID = "_id";
+    static final String FIELD_VERSION = "version";
+    static final String FIELD_BOARD = "board";
+    static final String FIELD_SNAPSHOT_MOVES = "snapshotMoves";
+    static final String FIELD_MOVES = "moves";
+    static final String FIELD_NEXT_PLAYER = "nextPlayer";
+    static final String FIELD_GAME_STATUS = "gameStatus";
+    static final String FIELD_DURATION = "duration";
+
+    private final MongoTemplate mongoTemplate;
+    private final SnapshotPolicy snapshotPolicy;
+
+    public MongoGameRepository(MongoTemplate mongoTemplate, Environment environment) {
+        this.mongoTemplate = mongoTemplate;
+        this.snapshotPolicy = new SnapshotPolicy(environment);
+    }
+
+    @Override
+    public Game save(Game game) {
+        // The template takes care of the version (@Version), like the Spring Data repositories
+        return mongoTemplate.save(game);
+    }
+
+    @Override
+    public void insertAll(List<Game> games) {
+        // A single insertMany, the template initializes the version of every game
+        mongoTemplate.insert(games, Game.class);
+    }
+
+    @Override
+    public Optional<Game> findById(String gameId) {
+        return Optional.ofNullable(mongoTemplate.findById(gameId, Game.class));
+    }
+
+    @Override
+    public void deleteById(String gameId) {
+        mongoTemplate.remove(new Query(where(FIELD_ID).is(gameId)), Game.class);
+    }
+
+    @Override
+    public void updateMovement(Game game, Long previousVersion, int previousMoves) {
+        Update update = movementUpdate(game, previousMoves, snapshotPolicy.isSnapshotDue(game, previousMoves));
+        UpdateResult result = mongoTemplate.updateFirst(movementQuery(game, previousVersion), update, Game.class);
+        if (result.getMatchedCount() == 0) {
+            throw staleVersion(game, previousVersion);
+        }
+    }
+
+    /*
+     * The stored game on the previous version. The games created before the version have no such field, a null
+     * version matches them
+     */
+    static Query movementQuery(Game game, Long previousVersion) {
+        return new Query(where(FIELD_ID).is(game.getGameId()).and(FIELD_VERSION).is(previousVersion));
+    }
+
+    static Update movementUpdate(Game game, int previousMoves, boolean snapshotDue) {
+        Update update = new Update()
+                .set(FIELD_NEXT_PLAYER, game.getNextPlayer())
+                .set(FIELD_GAME_STATUS, game.getGameStatus())
+                .set(FIELD_DURATION, game.getDuration())
+                .set(FIELD_VERSION, game.getVersion());
+
+        if (game.moveCount() > previousMoves) {
+            update.push(FIELD_MOVES).each(game.movesAfter(previousMoves).toArray());
+        }
+        if (snapshotDue) {
+            // The whole board, so the boards stored as documents move to the binary encoding as well
+            update.set(FIELD_BOARD, game.getBoard())
+                    .set(FIELD_SNAPSHOT_MOVES, game.moveCount());
+        }
+        return update;
+    }
+
+    static OptimisticLockingFailureException staleVersion(Game game, Long previousVersion) {
+        return new OptimisticLockingFailureException("The game " + game.getGameId() + " is not on the version "
+                                                             + previousVersion + " anymore.");
+    }
+}
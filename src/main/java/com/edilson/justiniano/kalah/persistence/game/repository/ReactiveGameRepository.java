@@ -0,0 +1,11 @@
+package com.edilson.justiniano.kalah.persistence.game.repository;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+/**
+ * The games on MongoDB for the reactive stack (spring.main.web-application-type=reactive), nothing blocks waiting for
+ * the database. It stores the games like {@link MongoGameRepository}, so both stacks can share the same database
+ */
+public interface ReactiveGameRepository extends ReactiveMongoRepository<Game, String>, ReactiveGameRepositoryCustom {
+}
@@ -0,0 +1,13 @@
+package com.edilson.justiniano.kalah.persistence.game.repository;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveGameRepositoryCustom {
+
+    /*
+     * Same as GameRepository#updateMovement, it fails with OptimisticLockingFailureException when the stored game is
+     * not on the previous version anymore
+     */
+    Mono<Void> updateMovement(Game game, Long previousVersion, int previousMoves);
+}
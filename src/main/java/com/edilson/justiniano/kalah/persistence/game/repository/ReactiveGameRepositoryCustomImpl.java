@@ -0,0 +1,34 @@
+package com.edilson.justiniano.kalah.persistence.game.repository;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import static com.edilson.justiniano.kalah.persistence.game.repository.MongoGameRepository.movementQuery;
+import static com.edilson.justiniano.kalah.persistence.game.repository.MongoGameRepository.movementUpdate;
+import static com.edilson.justiniano.kalah.persistence.game.repository.MongoGameRepository.staleVersion;
+
+/**
+ * The movements written like {@link MongoGameRepository} does, over the reactive driver
+ */
+public class ReactiveGameRepositoryCustomImpl implements ReactiveGameRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final SnapshotPolicy snapshotPolicy;
+
+    public ReactiveGameRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate, Environment environment) {
+        this.mongoTemplate = mongoTemplate;
+        this.snapshotPolicy = new SnapshotPolicy(environment);
+    }
+
+    @Override
+    public Mono<Void> updateMovement(Game game, Long previousVersion, int previousMoves) {
+        Update update = movementUpdate(game, previousMoves, snapshotPolicy.isSnapshotDue(game, previousMoves));
+        return mongoTemplate.updateFirst(movementQuery(game, previousVersion), update, Game.class)
+                .flatMap(result -> result.getMatchedCount() == 0
+                        ? Mono.error(staleVersion(game, previousVersion))
+                        : Mono.empty());
+    }
+}
@@ -0,0 +1,27 @@
+package com.edilson.justiniano.kalah.persistence.game.repository;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import org.springframework.core.env.Environment;
+
+/*
+ * When the board of a game is stored again. A snapshot is taken each time the journal passes a multiple of the
+ * interval and once the game is over. Without a journal (games stored before it) the board is always written
+ */
+class SnapshotPolicy {
+
+    private static final String PROPERTY_SNAPSHOT_INTERVAL = "kalah.journal.snapshot-interval";
+
+    private static final int DEFAULT_SNAPSHOT_INTERVAL = 16;
+
+    private final int snapshotInterval;
+
+    SnapshotPolicy(Environment environment) {
+        this.snapshotInterval = Math.max(1, environment.getProperty(PROPERTY_SNAPSHOT_INTERVAL, Integer.class,
+                                                                    DEFAULT_SNAPSHOT_INTERVAL));
+    }
+
+    boolean isSnapshotDue(Game game, int previousMoves) {
+        int moveCount = game.moveCount();
+        return moveCount == 0 || game.isGameOver() || previousMoves / snapshotInterval != moveCount / snapshotInterval;
+    }
+}
@@ -0,0 +1,29 @@
+package com.edilson.justiniano.kalah.simulation;
+
+import com.edilson.justiniano.kalah.engine.BoardGeometry;
+import com.edilson.justiniano.kalah.engine.KalahEngine;
+import com.edilson.justiniano.kalah.engine.PackedBoard;
+
+import java.util.SplittableRandom;
+
+/**
+ * Simple greedy player: it plays the pit closest to its kalah that gives an extra turn, otherwise a random one
+ */
+public class ExtraTurnMovePolicy implements MovePolicy {
+
+    @Override
+    public int selectMove(KalahEngine engine, PackedBoard board, int player, int legalMoves, SplittableRandom random) {
+        BoardGeometry geometry = engine.getGeometry();
+        int kalahIndex = geometry.kalahIndex(player);
+        int lapSize = geometry.getBoardSize() - 1;
+
+        // The own pits are just before the own kalah, so the last stone ends there when the remainder of the laps
+        // is exactly the distance to it
+        for (int pitIndex = kalahIndex - 1; pitIndex >= geometry.firstPitIndex(player); pitIndex--) {
+            if (KalahEngine.isLegalMove(legalMoves, pitIndex) && board.get(pitIndex) % lapSize == kalahIndex - pitIndex) {
+                return pitIndex;
+            }
+        }
+        return RandomMovePolicy.randomMove(legalMoves, random);
+    }
+}
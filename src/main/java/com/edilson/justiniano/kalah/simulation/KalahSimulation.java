@@ -0,0 +1,61 @@
+package com.edilson.justiniano.kalah.simulation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line entry point of the simulations, run it with `gradle simulate`. The arguments are optional and given as
+ * name=value, e.g. `gradle simulate --args="games=1000000 pitsPerSide=6 seedsPerPit=4 policy=extraTurn parallelism=32"`
+ */
+public class KalahSimulation {
+
+    private static final String ARG_GAMES = "games";
+    private static final String ARG_PITS_PER_SIDE = "pitsPerSide";
+    private static final String ARG_SEEDS_PER_PIT = "seedsPerPit";
+    private static final String ARG_SEED = "seed";
+    private static final String ARG_POLICY = "policy";
+    private static final String ARG_PARALLELISM = "parallelism";
+
+    private static final String POLICY_EXTRA_TURN = "extraTurn";
+
+    public static void main(String[] args) {
+        Map<String, String> arguments = parseArguments(args);
+
+        SimulationSettings.SimulationSettingsBuilder settings = SimulationSettings.builder();
+        if (arguments.containsKey(ARG_GAMES)) {
+            settings.numberOfGames(Long.parseLong(arguments.get(ARG_GAMES)));
+        }
+        if (arguments.containsKey(ARG_PITS_PER_SIDE)) {
+            settings.pitsPerSide(Integer.parseInt(arguments.get(ARG_PITS_PER_SIDE)));
+        }
+        if (arguments.containsKey(ARG_SEEDS_PER_PIT)) {
+            settings.seedsPerPit(Integer.parseInt(arguments.get(ARG_SEEDS_PER_PIT)));
+        }
+        if (arguments.containsKey(ARG_SEED)) {
+            settings.seed(Long.parseLong(arguments.get(ARG_SEED)));
+        }
+        if (POLICY_EXTRA_TURN.equals(arguments.get(ARG_POLICY))) {
+            settings.playerOnePolicy(new ExtraTurnMovePolicy());
+            settings.playerTwoPolicy(new ExtraTurnMovePolicy());
+        }
+
+        int parallelism = arguments.containsKey(ARG_PARALLELISM) ? Integer.parseInt(arguments.get(ARG_PARALLELISM))
+                : Runtime.getRuntime().availableProcessors();
+        try (SimulationRunner runner = new SimulationRunner(parallelism)) {
+            SimulationReport report = runner.run(settings.build());
+            System.out.println(report);
+        }
+    }
+
+    private static Map<String, String> parseArguments(String[] args) {
+        Map<String, String> arguments = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("The argument " + arg + " is not valid, it must be name=value.");
+            }
+            arguments.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return arguments;
+    }
+}
@@ -0,0 +1,18 @@
+package com.edilson.justiniano.kalah.simulation;
+
+import com.edilson.justiniano.kalah.engine.KalahEngine;
+import com.edilson.justiniano.kalah.engine.PackedBoard;
+
+import java.util.SplittableRandom;
+
+/**
+ * The way a simulated player chooses its movements. The implementations must be stateless, the same instance is used
+ * by all the simulation threads (the random generator is the one of the thread)
+ */
+public interface MovePolicy {
+
+    /*
+     * Returns the index of the pit to play. The legal movements are never empty (bit N set when the pit N can be played)
+     */
+    int selectMove(KalahEngine engine, PackedBoard board, int player, int legalMoves, SplittableRandom random);
+}
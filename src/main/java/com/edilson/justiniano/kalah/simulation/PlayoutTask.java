@@ -0,0 +1,102 @@
+package com.edilson.justiniano.kalah.simulation;
+
+import com.edilson.justiniano.kalah.engine.BoardGeometry;
+import com.edilson.justiniano.kalah.engine.KalahEngine;
+import com.edilson.justiniano.kalah.engine.PackedBoard;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveTask;
+
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_ONE;
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_TWO;
+
+/**
+ * Plays a range of games of a simulation. The range is split in halves until it is small enough, every half takes its
+ * own random generator so the threads never share anything but the settings. The counters are kept locally and only
+ * added up when the tasks are joined
+ */
+class PlayoutTask extends RecursiveTask<PlayoutTask.Result> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SimulationSettings settings;
+    private final long numberOfGames;
+    private final long threshold;
+    private final SplittableRandom random;
+
+    PlayoutTask(SimulationSettings settings, long numberOfGames, long threshold, SplittableRandom random) {
+        this.settings = settings;
+        this.numberOfGames = numberOfGames;
+        this.threshold = threshold;
+        this.random = random;
+    }
+
+    @Override
+    protected Result compute() {
+        if (numberOfGames <= threshold) {
+            return playGames();
+        }
+
+        long half = numberOfGames / 2;
+        PlayoutTask left = new PlayoutTask(settings, half, threshold, random.split());
+        PlayoutTask right = new PlayoutTask(settings, numberOfGames - half, threshold, random);
+        left.fork();
+        Result result = right.compute();
+        result.add(left.join());
+        return result;
+    }
+
+    private Result playGames() {
+        BoardGeometry geometry = BoardGeometry.of(settings.getPitsPerSide());
+        KalahEngine engine = KalahEngine.of(geometry);
+        MovePolicy playerOnePolicy = settings.getPlayerOnePolicy();
+        MovePolicy playerTwoPolicy = settings.getPlayerTwoPolicy();
+        // The games are played over a packed board, the game over check after every move goes through masks
+        PackedBoard initialBoard = PackedBoard.of(geometry.initialPits(settings.getSeedsPerPit()));
+        PackedBoard board = initialBoard.copy();
+
+        Result result = new Result();
+        for (long game = 0; game < numberOfGames; game++) {
+            board.copyFrom(initialBoard);
+            int player = PLAYER_ONE;
+            int outcome = 0;
+            while (!KalahEngine.isGameOver(outcome)) {
+                MovePolicy policy = player == PLAYER_ONE ? playerOnePolicy : playerTwoPolicy;
+                int pitIndex = policy.selectMove(engine, board, player, engine.legalMoves(board, player), random);
+                outcome = engine.move(board, player, pitIndex);
+                player = KalahEngine.nextPlayer(outcome, player);
+                result.numberOfMoves++;
+            }
+            result.addGame(engine.score(board, PLAYER_ONE), engine.score(board, PLAYER_TWO));
+        }
+        return result;
+    }
+
+    static class Result {
+
+        long numberOfGames;
+        long numberOfMoves;
+        long playerOneWins;
+        long playerTwoWins;
+        long draws;
+
+        private void addGame(int playerOneScore, int playerTwoScore) {
+            numberOfGames++;
+            if (playerOneScore > playerTwoScore) {
+                playerOneWins++;
+            } else if (playerTwoScore > playerOneScore) {
+                playerTwoWins++;
+            } else {
+                draws++;
+            }
+        }
+
+        private void add(Result other) {
+            numberOfGames += other.numberOfGames;
+            numberOfMoves += other.numberOfMoves;
+            playerOneWins += other.playerOneWins;
+            playerTwoWins += other.playerTwoWins;
+            draws += other.draws;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.edilson.justiniano.kalah.simulation;
+
+import com.edilson.justiniano.kalah.engine.KalahEngine;
+import com.edilson.justiniano.kalah.engine.PackedBoard;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays any of the legal movements with the same probability
+ */
+public class RandomMovePolicy implements MovePolicy {
+
+    @Override
+    public int selectMove(KalahEngine engine, PackedBoard board, int player, int legalMoves, SplittableRandom random) {
+        return randomMove(legalMoves, random);
+    }
+
+    /*
+     * Picks one of the bits set on the mask without going through the pits: the lowest bits are dropped until the
+     * chosen one is the lowest
+     */
+    static int randomMove(int legalMoves, SplittableRandom random) {
+        int remainingMoves = legalMoves;
+        for (int skip = random.nextInt(Integer.bitCount(legalMoves)); skip > 0; skip--) {
+            remainingMoves &= remainingMoves - 1;
+        }
+        return Integer.numberOfTrailingZeros(remainingMoves);
+    }
+}
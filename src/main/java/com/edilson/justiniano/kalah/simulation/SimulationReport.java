@@ -0,0 +1,41 @@
+package com.edilson.justiniano.kalah.simulation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary of a simulation. The player one is always the first one to play
+ */
+@Getter
+@AllArgsConstructor
+public class SimulationReport {
+
+    private final long numberOfGames;
+    private final long numberOfMoves;
+    private final long playerOneWins;
+    private final long playerTwoWins;
+    private final long draws;
+    private final long elapsedNanos;
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : numberOfGames * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    public double getAverageGameLength() {
+        return numberOfGames == 0 ? 0 : (double) numberOfMoves / numberOfGames;
+    }
+
+    public double getFirstPlayerWinRate() {
+        return numberOfGames == 0 ? 0 : (double) playerOneWins / numberOfGames;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("games: %d, games/sec: %.0f, average game length: %.2f moves, first player win rate: %.4f, " +
+                                     "player one wins: %d, player two wins: %d, draws: %d, elapsed: %d ms",
+                             numberOfGames, getGamesPerSecond(), getAverageGameLength(), getFirstPlayerWinRate(),
+                             playerOneWins, playerTwoWins, draws, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+}
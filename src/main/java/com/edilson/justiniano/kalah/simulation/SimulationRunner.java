@@ -0,0 +1,61 @@
+package com.edilson.justiniano.kalah.simulation;
+
+import com.edilson.justiniano.kalah.engine.BoardGeometry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Plays a lot of complete games straight over the {@link com.edilson.justiniano.kalah.engine.KalahEngine}, the same
+ * rules used by the REST API but without HTTP nor database. The games are spread over a fork-join pool with one
+ * worker per core by default
+ */
+@Slf4j
+public class SimulationRunner implements AutoCloseable {
+
+    // Every worker gets around this number of tasks, so the ones that finish earlier can steal the remaining ones
+    private static final int TASKS_PER_WORKER = 16;
+
+    private final ForkJoinPool pool;
+
+    public SimulationRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public SimulationRunner(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public SimulationReport run(SimulationSettings settings) {
+        if (!BoardGeometry.isSupported(settings.getPitsPerSide()) || settings.getSeedsPerPit() < 1
+                || settings.getNumberOfGames() < 0) {
+            throw new IllegalArgumentException("The simulation settings are not valid.");
+        }
+
+        log.info("Starting the simulation. Games: {}, board: Kalah({},{}) and parallelism: {}.", settings.getNumberOfGames(),
+                 settings.getPitsPerSide(), settings.getSeedsPerPit(), pool.getParallelism());
+
+        long threshold = Math.max(1, settings.getNumberOfGames() / ((long) pool.getParallelism() * TASKS_PER_WORKER));
+        PlayoutTask task = new PlayoutTask(settings, settings.getNumberOfGames(), threshold,
+                                           new SplittableRandom(settings.getSeed()));
+
+        long startTime = System.nanoTime();
+        PlayoutTask.Result result = pool.invoke(task);
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        SimulationReport report = new SimulationReport(result.numberOfGames, result.numberOfMoves, result.playerOneWins,
+                                                       result.playerTwoWins, result.draws, elapsedNanos);
+        log.info("Simulation finished. {}.", report);
+        return report;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,29 @@
+package com.edilson.justiniano.kalah.simulation;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import static com.edilson.justiniano.kalah.engine.BoardGeometry.STANDARD_PITS_PER_SIDE;
+import static com.edilson.justiniano.kalah.engine.BoardGeometry.STANDARD_SEEDS_PER_PIT;
+
+/**
+ * What has to be simulated: the board, the number of games and the policy of each player. The same seed (and
+ * parallelism) always plays the same games
+ */
+@Getter
+@Builder
+public class SimulationSettings {
+
+    @Builder.Default
+    private int pitsPerSide = STANDARD_PITS_PER_SIDE;
+    @Builder.Default
+    private int seedsPerPit = STANDARD_SEEDS_PER_PIT;
+    @Builder.Default
+    private long numberOfGames = 100_000;
+    @Builder.Default
+    private long seed = System.nanoTime();
+    @Builder.Default
+    private MovePolicy playerOnePolicy = new RandomMovePolicy();
+    @Builder.Default
+    private MovePolicy playerTwoPolicy = new RandomMovePolicy();
+}
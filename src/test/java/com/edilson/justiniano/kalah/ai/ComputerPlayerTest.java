@@ -0,0 +1,120 @@
+package com.edilson.justiniano.kalah.ai;
+
+import com.edilson.justiniano.kalah.endgame.EndgameDatabase;
+import com.edilson.justiniano.kalah.engine.BoardGeometry;
+import com.edilson.justiniano.kalah.engine.KalahEngine;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_ONE;
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_TWO;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link ComputerPlayer} class. The movements are compared with a plain minimax over small boards,
+ * which are solved by the search well inside the time budget
+ */
+@RunWith(JUnit4.class)
+public class ComputerPlayerTest {
+
+    private ComputerPlayer computerPlayer = new ComputerPlayer(new MockEnvironment()
+            .withProperty("kalah.ai.move-time-budget-ms", "5000")
+            .withProperty("kalah.ai.transposition-table-entries", "65536"), EndgameDatabase.empty());
+
+    private Map<String, Integer> minimaxValues = new HashMap<>();
+
+    @Test
+    public void selectMove_withOnlyOneLegalMove_shouldPlayIt() {
+        // given
+        int[] pits = new int[] {
+                0, 0, 0, 0, 3, 0, 20,
+                1, 1, 1, 1, 1, 1, 19
+        };
+
+        // when
+        int result = computerPlayer.selectMove(pits, PLAYER_ONE);
+
+        // then
+        assertThat(result, equalTo(4));
+    }
+
+    @Test
+    public void selectMove_shouldNotChangeThePits() {
+        // given
+        ComputerPlayer fastComputerPlayer = new ComputerPlayer(new MockEnvironment()
+                .withProperty("kalah.ai.move-time-budget-ms", "10"), EndgameDatabase.empty());
+        int[] pits = BoardGeometry.standard().initialPits(6);
+
+        // when
+        fastComputerPlayer.selectMove(pits, PLAYER_TWO);
+
+        // then
+        assertThat(pits, equalTo(BoardGeometry.standard().initialPits(6)));
+    }
+
+    @Test
+    public void selectMove_onSmallBoards_shouldPlayTheBestMove() {
+        // given
+        SplittableRandom random = new SplittableRandom(7);
+        KalahEngine engine = KalahEngine.of(BoardGeometry.of(3));
+
+        for (int game = 0; game < 20; game++) {
+            int[] pits = BoardGeometry.of(3).initialPits(2);
+            int player = game % 2 == 0 ? PLAYER_ONE : PLAYER_TWO;
+            int outcome = 0;
+
+            while (!KalahEngine.isGameOver(outcome)) {
+                // when
+                int pitIndex = computerPlayer.selectMove(pits, player);
+
+                // then
+                assertThat(moveValue(engine, pits, player, pitIndex), equalTo(minimax(engine, pits, player)));
+
+                // Random movements so the following positions are not always the same
+                int legalMoves = engine.legalMoves(pits, player);
+                int randomMove = legalMoves;
+                for (int skip = random.nextInt(Integer.bitCount(legalMoves)); skip > 0; skip--) {
+                    randomMove &= randomMove - 1;
+                }
+                outcome = engine.move(pits, player, Integer.numberOfTrailingZeros(randomMove));
+                player = KalahEngine.nextPlayer(outcome, player);
+            }
+        }
+    }
+
+    private int minimax(KalahEngine engine, int[] pits, int player) {
+        String position = Arrays.toString(pits) + player;
+        Integer knownValue = minimaxValues.get(position);
+        if (knownValue != null) {
+            return knownValue;
+        }
+
+        int bestValue = Integer.MIN_VALUE;
+        int legalMoves = engine.legalMoves(pits, player);
+        for (int pitIndex = 0; pitIndex < pits.length; pitIndex++) {
+            if (KalahEngine.isLegalMove(legalMoves, pitIndex)) {
+                bestValue = Math.max(bestValue, moveValue(engine, pits, player, pitIndex));
+            }
+        }
+        minimaxValues.put(position, bestValue);
+        return bestValue;
+    }
+
+    private int moveValue(KalahEngine engine, int[] pits, int player, int pitIndex) {
+        int[] child = pits.clone();
+        int outcome = engine.move(child, player, pitIndex);
+        if (KalahEngine.isGameOver(outcome)) {
+            return engine.score(child, player) - engine.score(child, KalahEngine.opponent(player));
+        }
+        int value = minimax(engine, child, KalahEngine.nextPlayer(outcome, player));
+        return KalahEngine.isExtraTurn(outcome) ? value : -value;
+    }
+}
@@ -0,0 +1,54 @@
+package com.edilson.justiniano.kalah.ai;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static com.edilson.justiniano.kalah.ai.TranspositionTable.EMPTY;
+import static com.edilson.justiniano.kalah.ai.TranspositionTable.LOWER_BOUND;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link TranspositionTable} class
+ */
+@RunWith(JUnit4.class)
+public class TranspositionTableTest {
+
+    private static final long HASH = 0x1234_5678_9ABC_DEF0L;
+
+    private TranspositionTable table = new TranspositionTable(1000);
+
+    @Test
+    public void constructor_shouldRoundTheSizeToAPowerOfTwo() {
+        // then
+        assertThat(table.size(), equalTo(512));
+    }
+
+    @Test
+    public void probe_afterStore_shouldReturnTheStoredEntry() {
+        // given
+        table.store(HASH, -35, 12, LOWER_BOUND, 9);
+
+        // when
+        long entry = table.probe(HASH);
+
+        // then
+        assertThat(TranspositionTable.value(entry), equalTo(-35));
+        assertThat(TranspositionTable.depth(entry), equalTo(12));
+        assertThat(TranspositionTable.bound(entry), equalTo(LOWER_BOUND));
+        assertThat(TranspositionTable.move(entry), equalTo(9));
+    }
+
+    @Test
+    public void probe_withAnotherHashOnTheSameEntry_shouldReturnEmpty() {
+        // given
+        table.store(HASH, 10, 3, LOWER_BOUND, 2);
+
+        // when
+        long entry = table.probe(HASH + table.size());
+
+        // then
+        assertThat(entry, equalTo(EMPTY));
+    }
+}
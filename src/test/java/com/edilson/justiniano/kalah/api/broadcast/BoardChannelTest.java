@@ -0,0 +1,98 @@
+package com.edilson.justiniano.kalah.api.broadcast;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link BoardChannel} class, over a transport which completes the sends when the test says so
+ */
+@RunWith(JUnit4.class)
+public class BoardChannelTest {
+
+    private TestChannel channel = new TestChannel();
+
+    @Test
+    public void offer_whileASendIsInFlight_shouldOnlyKeepTheLatestBoard() {
+        // given
+        channel.offer("first");
+
+        // when
+        channel.offer("second");
+        channel.offer("third");
+        channel.sent();
+        channel.sent();
+
+        // then
+        assertThat(channel.sentPayloads, equalTo(Arrays.asList("first", "third")));
+    }
+
+    @Test
+    public void offerFirst_afterABoardChange_shouldBeDropped() {
+        // given
+        channel.offer("first");
+
+        // when
+        channel.offerFirst("joined");
+        channel.sent();
+
+        // then
+        assertThat(channel.sentPayloads, equalTo(Arrays.asList("first")));
+    }
+
+    @Test
+    public void offerMessage_shouldBeSentBeforeTheWaitingBoard() {
+        // given
+        channel.offer("first");
+        channel.offer("second");
+
+        // when
+        channel.offerMessage("error");
+        channel.sent();
+        channel.sent();
+
+        // then
+        assertThat(channel.sentPayloads, equalTo(Arrays.asList("first", "error", "second")));
+    }
+
+    @Test
+    public void failed_shouldCloseTheChannelAndSendNothingElse() {
+        // given
+        channel.offer("first");
+
+        // when
+        channel.failed(new IllegalStateException("gone"));
+        channel.offer("second");
+
+        // then
+        assertTrue(channel.isClosed());
+        assertTrue(channel.closed);
+        assertFalse(channel.isSendingLongerThan(0));
+        assertThat(channel.sentPayloads, equalTo(Arrays.asList("first")));
+    }
+
+    private static class TestChannel extends BoardChannel<String> {
+
+        private final List<String> sentPayloads = new ArrayList<>();
+        private boolean closed;
+
+        @Override
+        protected void send(String payload) {
+            sentPayloads.add(payload);
+        }
+
+        @Override
+        protected void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.edilson.justiniano.kalah.api.broadcast;
+
+import com.edilson.justiniano.kalah.api.exception.GameApiException;
+import com.edilson.justiniano.kalah.api.model.GameResponse;
+import com.edilson.justiniano.kalah.api.service.GameChangedEvent;
+import com.edilson.justiniano.kalah.api.service.GameService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.GAME_NOT_FOUND;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Unit tests for {@link GameChannels} class, over channels which keep what they send
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class GameChannelsTest {
+
+    private static final String GAME_ID = "gameId";
+
+    @Mock
+    private GameService gameService;
+
+    private final AtomicInteger encodedBoards = new AtomicInteger();
+
+    private GameChannels<TestChannel, String> channels;
+
+    @Before
+    public void setUp() {
+        channels = new GameChannels<>(gameService, new ObjectMapper(), board -> {
+            encodedBoards.incrementAndGet();
+            return new String(board, StandardCharsets.UTF_8);
+        });
+    }
+
+    @Test
+    public void join_withMovementWhileTheBoardIsRead_shouldOnlySendTheNewerBoard() throws Exception {
+        // given
+        TestChannel channel = new TestChannel();
+        given(gameService.searchGameStatus(GAME_ID)).willAnswer(invocation -> {
+            channels.onGameChanged(new GameChangedEvent(GAME_ID, GameResponse.builder().id("changed").build()));
+            return GameResponse.builder().id(GAME_ID).build();
+        });
+
+        // when
+        channels.join(GAME_ID, channel);
+        channel.sent();
+
+        // then
+        assertThat(channel.sentPayloads, equalTo(Arrays.asList("{\"id\":\"changed\"}")));
+    }
+
+    @Test
+    public void join_withUnknownGame_shouldNotKeepTheChannel() throws Exception {
+        // given
+        given(gameService.searchGameStatus(GAME_ID)).willThrow(new GameApiException(GAME_NOT_FOUND));
+
+        // when
+        try {
+            channels.join(GAME_ID, new TestChannel());
+            fail("The game should not be found");
+        } catch (GameApiException ex) {
+            // then
+            assertThat(ex.getErrorCode(), equalTo(GAME_NOT_FOUND.getErrorCode()));
+            assertThat(channels.size(GAME_ID), equalTo(0));
+        }
+    }
+
+    @Test
+    public void onGameChanged_withSeveralChannels_shouldEncodeTheBoardOnce() throws Exception {
+        // given
+        given(gameService.searchGameStatus(GAME_ID)).willReturn(GameResponse.builder().id(GAME_ID).build());
+        TestChannel[] gameChannels = {new TestChannel(), new TestChannel(), new TestChannel()};
+        for (TestChannel channel : gameChannels) {
+            channels.join(GAME_ID, channel);
+            channel.sent();
+        }
+        encodedBoards.set(0);
+
+        // when
+        channels.onGameChanged(new GameChangedEvent(GAME_ID, GameResponse.builder().id("changed").build()));
+
+        // then
+        assertThat(encodedBoards.get(), equalTo(1));
+        for (TestChannel channel : gameChannels) {
+            assertThat(channel.sentPayloads, equalTo(Arrays.asList("{\"id\":\"gameId\"}", "{\"id\":\"changed\"}")));
+        }
+    }
+
+    private static class TestChannel extends BoardChannel<String> {
+
+        private final List<String> sentPayloads = new ArrayList<>();
+
+        @Override
+        protected void send(String payload) {
+            sentPayloads.add(payload);
+        }
+
+        @Override
+        protected void close() {
+            // Nothing to close
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.edilson.justiniano.kalah.api.controller;
 
+import com.edilson.justiniano.kalah.api.model.GameRequest;
 import com.edilson.justiniano.kalah.api.model.GameResponse;
+import com.edilson.justiniano.kalah.api.model.MovementsRequest;
 import com.edilson.justiniano.kalah.api.service.GameService;
 import com.edilson.justiniano.kalah.api.exception.GameApiException;
 import org.junit.Test;
@@ -8,17 +10,28 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
 
 import static java.util.Collections.emptyMap;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
 import static org.springframework.http.HttpStatus.OK;
 
@@ -33,6 +46,7 @@ public class GameControllerTest {
     private static final String GAME_URL = "gameUrl";
     private static final int VALID_PIT_ID = 1;
     private static final int INVALID_PIT_ID = 0;
+    private static final int LEGAL_MOVES = 0b111111;
 
     @Mock
     private GameService gameService;
@@ -41,46 +55,94 @@ public class GameControllerTest {
     private GameController gameController;
 
     @Test
-    public void createGame_shouldCreateGameSuccessfully() {
+    public void createGame_shouldCreateGameSuccessfully() throws GameApiException {
         // given
+        GameRequest gameRequest = buildGameRequest();
         GameResponse expectedGameResponse = buildGameResponse();
-        given(gameService.createGame()).willReturn(expectedGameResponse);
+        given(gameService.createGame(gameRequest)).willReturn(expectedGameResponse);
 
         // when
-        ResponseEntity<GameResponse> result = gameController.createGame();
+        ResponseEntity<GameResponse> result = gameController.createGame(gameRequest);
 
         // then
         assertThat(result.getStatusCode(), equalTo(CREATED));
         assertThat(result.getBody(), equalTo(expectedGameResponse));
-        verify(gameService).createGame();
+        verify(gameService).createGame(gameRequest);
+    }
+
+    @Test
+    public void createGame_withoutBody_shouldCreateTheStandardGame() throws GameApiException {
+        // given
+        GameResponse expectedGameResponse = buildGameResponse();
+        given(gameService.createGame(any(GameRequest.class))).willReturn(expectedGameResponse);
+
+        // when
+        ResponseEntity<GameResponse> result = gameController.createGame(null);
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(CREATED));
+        assertThat(result.getBody(), equalTo(expectedGameResponse));
+        verify(gameService).createGame(any(GameRequest.class));
     }
 
     @Test
     public void getGame_withValidGameId_shouldReturnGameSuccessfully() throws GameApiException {
         // given
         GameResponse expectedGameResponse = buildGameResponse();
-        given(gameService.searchGame(VALID_GAME_ID)).willReturn(expectedGameResponse);
+        given(gameService.searchGame(VALID_GAME_ID, false)).willReturn(expectedGameResponse);
 
         // when
-        ResponseEntity<GameResponse> result = gameController.getGame(VALID_GAME_ID);
+        ResponseEntity<GameResponse> result = gameController.getGame(VALID_GAME_ID, false, buildWebRequest(null));
 
         // then
         assertThat(result.getStatusCode(), equalTo(OK));
         assertThat(result.getBody(), equalTo(expectedGameResponse));
-        verify(gameService).searchGame(VALID_GAME_ID);
+        verify(gameService).searchGame(VALID_GAME_ID, false);
 
     }
 
     @Test(expected = GameApiException.class)
     public void getGame_withInvalidGameId_shouldThrowGameApiException() throws GameApiException {
         // given
-        given(gameService.searchGame(INVALID_GAME_ID)).willThrow(GameApiException.class);
+        given(gameService.searchGame(INVALID_GAME_ID, false)).willThrow(GameApiException.class);
 
         // when
-        gameController.getGame(INVALID_GAME_ID);
+        gameController.getGame(INVALID_GAME_ID, false, buildWebRequest(null));
 
         // then throw GameApiException
-        verify(gameService).searchGame(INVALID_GAME_ID);
+        verify(gameService).searchGame(INVALID_GAME_ID, false);
+    }
+
+    @Test
+    public void getGame_withCachedGameNotChanged_shouldReturnNotModifiedWithoutReadingTheGame() throws GameApiException {
+        // given
+        ServletWebRequest webRequest = buildWebRequest("\"3\"");
+        given(gameService.searchMoveCount(VALID_GAME_ID)).willReturn(OptionalInt.of(3));
+
+        // when
+        ResponseEntity<GameResponse> result = gameController.getGame(VALID_GAME_ID, false, webRequest);
+
+        // then
+        assertNull(result);
+        assertThat(webRequest.getResponse().getStatus(), equalTo(NOT_MODIFIED.value()));
+        verify(gameService, never()).searchGame(VALID_GAME_ID, false);
+    }
+
+    @Test
+    public void getGame_withChangedGame_shouldReturnTheGameAndItsETag() throws GameApiException {
+        // given
+        GameResponse expectedGameResponse = buildGameResponse();
+        expectedGameResponse.setMoveCount(4);
+        given(gameService.searchMoveCount(VALID_GAME_ID)).willReturn(OptionalInt.of(4));
+        given(gameService.searchGame(VALID_GAME_ID, false)).willReturn(expectedGameResponse);
+
+        // when
+        ResponseEntity<GameResponse> result = gameController.getGame(VALID_GAME_ID, false, buildWebRequest("\"3\""));
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(OK));
+        assertThat(result.getHeaders().getETag(), equalTo("\"4\""));
+        assertThat(result.getBody(), equalTo(expectedGameResponse));
     }
 
     @Test
@@ -139,6 +201,64 @@ public class GameControllerTest {
 
     }
 
+    @Test
+    public void moveGameInBatch_withValidGameId_shouldReturnGameSuccessfully() throws GameApiException {
+        // given
+        List<Integer> pitIds = Arrays.asList(VALID_PIT_ID, VALID_PIT_ID + 1);
+        MovementsRequest movementsRequest = MovementsRequest.builder()
+                .pitIds(pitIds)
+                .build();
+        GameResponse expectedGameResponse = buildGameResponse();
+        given(gameService.makeMovements(VALID_GAME_ID, pitIds)).willReturn(expectedGameResponse);
+
+        // when
+        ResponseEntity<GameResponse> result = gameController.moveGameInBatch(VALID_GAME_ID, movementsRequest);
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(OK));
+        assertThat(result.getBody(), equalTo(expectedGameResponse));
+        verify(gameService).makeMovements(VALID_GAME_ID, pitIds);
+    }
+
+    @Test
+    public void getLegalMoves_withValidGameId_shouldReturnTheLegalMoves() throws GameApiException {
+        // given
+        GameResponse expectedGameResponse = buildGameResponse();
+        expectedGameResponse.setLegalMoves(LEGAL_MOVES);
+        given(gameService.searchGame(VALID_GAME_ID, true)).willReturn(expectedGameResponse);
+
+        // when
+        ResponseEntity<GameResponse> result = gameController.getLegalMoves(VALID_GAME_ID);
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(OK));
+        assertThat(result.getBody().getLegalMoves(), equalTo(LEGAL_MOVES));
+        verify(gameService).searchGame(VALID_GAME_ID, true);
+    }
+
+    @Test
+    public void getHint_withValidGameId_shouldReturnTheSuggestedMovement() throws GameApiException {
+        // given
+        GameResponse expectedGameResponse = buildGameResponse();
+        expectedGameResponse.setHint(VALID_PIT_ID);
+        given(gameService.suggestMovement(VALID_GAME_ID)).willReturn(expectedGameResponse);
+
+        // when
+        ResponseEntity<GameResponse> result = gameController.getHint(VALID_GAME_ID);
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(OK));
+        assertThat(result.getBody().getHint(), equalTo(VALID_PIT_ID));
+        verify(gameService).suggestMovement(VALID_GAME_ID);
+    }
+
+    private GameRequest buildGameRequest() {
+        return GameRequest.builder()
+                .pitsPerSide(4)
+                .seedsPerPit(3)
+                .build();
+    }
+
     private GameResponse buildGameResponse() {
         return GameResponse.builder()
                 .id(VALID_GAME_ID)
@@ -146,4 +266,12 @@ public class GameControllerTest {
                 .url(GAME_URL)
                 .build();
     }
+
+    private ServletWebRequest buildWebRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/games/" + VALID_GAME_ID);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
 }
@@ -0,0 +1,113 @@
+package com.edilson.justiniano.kalah.api.model;
+
+import com.edilson.justiniano.kalah.configuration.JsonMapperConfig;
+import com.edilson.justiniano.kalah.engine.BoardGeometry;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link GameResponseSerializer} class, the JSON must be the one of the default bean serializer
+ */
+@RunWith(JUnit4.class)
+public class GameResponseSerializerTest {
+
+    private static final String GAME_ID = "0Mq5cS3-00Ab";
+    private static final String GAME_URL = "127.0.0.1:8080/games/" + GAME_ID;
+
+    private ObjectMapper objectMapper = new JsonMapperConfig().objectMapper();
+
+    // The same mapper without the serializer of the response, so it is written by the bean serializer
+    private ObjectMapper beanObjectMapper = new JsonMapperConfig().objectMapper()
+            .addMixIn(GameResponse.class, DefaultSerialization.class);
+
+    @Test
+    public void serialize_withPitStatus_shouldWriteTheSameJsonAsTheBeanSerializer() throws Exception {
+        // given
+        GameResponse gameResponse = GameResponse.builder()
+                .id(GAME_ID)
+                .url(GAME_URL)
+                .status(new PitStatus(new int[] {
+                        0, 7, 7, 7, 7, 7, 1,
+                        6, 6, 6, 6, 6, 6, 0
+                }))
+                .moveCount(1)
+                .build();
+
+        // when
+        byte[] result = objectMapper.writeValueAsBytes(gameResponse);
+
+        // then
+        assertThat(new String(result, "UTF-8"), equalTo(beanJson(gameResponse)));
+        assertThat(new String(result, "UTF-8"), equalTo("{\"id\":\"" + GAME_ID + "\",\"url\":\"" + GAME_URL + "\",\"status\":"
+                                                             + "{\"1\":0,\"2\":7,\"3\":7,\"4\":7,\"5\":7,\"6\":7,\"7\":1,"
+                                                             + "\"8\":6,\"9\":6,\"10\":6,\"11\":6,\"12\":6,\"13\":6,\"14\":0}}"));
+    }
+
+    @Test
+    public void serialize_withTheBiggestBoard_shouldWriteTheSameJsonAsTheBeanSerializer() throws Exception {
+        // given
+        GameResponse gameResponse = GameResponse.builder()
+                .id(GAME_ID)
+                .url(GAME_URL)
+                .status(new PitStatus(BoardGeometry.of(12).initialPits(48)))
+                .build();
+
+        // then
+        assertThat(objectMapper.writeValueAsString(gameResponse), equalTo(beanJson(gameResponse)));
+    }
+
+    @Test
+    public void serialize_withEveryField_shouldWriteTheSameJsonAsTheBeanSerializer() throws Exception {
+        // given
+        Map<Integer, Integer> status = new HashMap<>();
+        status.put(1, 3);
+        status.put(2, null);
+        GameResponse gameResponse = new GameResponse(GAME_ID, GAME_URL, status, 0b11, 2, 1, "kalahgame.api.game.empty.pit", 5);
+
+        // then
+        assertThat(objectMapper.writeValueAsString(gameResponse), equalTo(beanJson(gameResponse)));
+    }
+
+    @Test
+    public void serialize_withoutFields_shouldWriteTheSameJsonAsTheBeanSerializer() throws Exception {
+        // given
+        GameResponse gameResponse = new GameResponse();
+
+        // then
+        assertThat(objectMapper.writeValueAsString(gameResponse), equalTo(beanJson(gameResponse)));
+        assertThat(objectMapper.writeValueAsString(gameResponse), equalTo("{}"));
+    }
+
+    @Test
+    public void pitStatus_shouldBeEqualToTheMapOfThePits() {
+        // given
+        Map<Integer, Integer> expected = new HashMap<>();
+        expected.put(1, 4);
+        expected.put(2, 0);
+
+        // when
+        PitStatus result = new PitStatus(new int[] {4, 0});
+
+        // then
+        assertThat(result, equalTo(expected));
+        assertThat(expected, equalTo(result));
+    }
+
+    private String beanJson(GameResponse gameResponse) throws Exception {
+        return beanObjectMapper.writeValueAsString(gameResponse);
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private abstract static class DefaultSerialization {
+    }
+}
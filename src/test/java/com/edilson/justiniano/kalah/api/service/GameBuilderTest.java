@@ -1,16 +1,23 @@
 package com.edilson.justiniano.kalah.api.service;
 
+import com.edilson.justiniano.kalah.api.model.GameRequest;
 import com.edilson.justiniano.kalah.api.model.GameResponse;
+import com.edilson.justiniano.kalah.persistence.game.id.GameIdGenerator;
+import com.edilson.justiniano.kalah.persistence.game.id.UuidGameIdGenerator;
 import com.edilson.justiniano.kalah.persistence.game.model.Board;
 import com.edilson.justiniano.kalah.persistence.game.model.Game;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.core.env.Environment;
 
+import java.util.List;
+
 import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.RUNNING;
+import static com.edilson.justiniano.kalah.persistence.game.model.Opponent.HUMAN;
 import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_ONE;
 import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_TWO;
 import static java.time.Instant.now;
@@ -34,19 +41,61 @@ public class GameBuilderTest {
     @Mock
     private Environment environment;
 
+    @Spy
+    private GameIdGenerator gameIdGenerator = new UuidGameIdGenerator();
+
     @InjectMocks
     private GameBuilder gameBuilder;
 
     @Test
     public void buildGame_shouldReturnAGameSuccessfully() {
         // when
-        Game result = gameBuilder.buildGame();
+        Game result = gameBuilder.buildGame(new GameRequest());
 
         // then
         assertNotNull(result);
         assertNotNull(result.getGameId());
         assertThat(result.getGameStatus(), equalTo(RUNNING));
         assertThat(result.getNextPlayer(), equalTo(PLAYER_ONE));
+        assertThat(result.getOpponent(), equalTo(HUMAN));
+        assertThat(result.getBoard().getPits(), equalTo(new int[] {
+                6, 6, 6, 6, 6, 6, 0,
+                6, 6, 6, 6, 6, 6, 0
+        }));
+    }
+
+    @Test
+    public void buildGames_shouldReturnGamesWithTheirOwnIdAndBoard() {
+        // when
+        List<Game> result = gameBuilder.buildGames(GameRequest.builder().pitsPerSide(4).build(), 3);
+
+        // then
+        assertThat(result.size(), equalTo(3));
+        assertThat(result.stream().map(Game::getGameId).distinct().count(), equalTo(3L));
+        result.get(0).getBoard().getPits()[0] = 0;
+        assertThat(result.get(1).getBoard().getPits(), equalTo(new int[] {
+                6, 6, 6, 6, 0,
+                6, 6, 6, 6, 0
+        }));
+        assertThat(result.get(2).getGameStatus(), equalTo(RUNNING));
+    }
+
+    @Test
+    public void buildGame_withBoardGeometry_shouldReturnAGameWithTheRequestedBoard() {
+        // given
+        GameRequest gameRequest = GameRequest.builder()
+                .pitsPerSide(4)
+                .seedsPerPit(3)
+                .build();
+
+        // when
+        Game result = gameBuilder.buildGame(gameRequest);
+
+        // then
+        assertThat(result.getBoard().getPits(), equalTo(new int[] {
+                3, 3, 3, 3, 0,
+                3, 3, 3, 3, 0
+        }));
     }
 
     @Test
@@ -1,6 +1,7 @@
 package com.edilson.justiniano.kalah.api.service;
 
 import com.edilson.justiniano.kalah.api.exception.GameApiException;
+import com.edilson.justiniano.kalah.api.model.GameRequest;
 import com.edilson.justiniano.kalah.persistence.game.model.Board;
 import com.edilson.justiniano.kalah.persistence.game.model.Game;
 import com.edilson.justiniano.kalah.persistence.game.model.GameStatus;
@@ -92,6 +93,52 @@ public class GameDataValidatorTest {
         // then throw GameApiException
     }
 
+    @Test (expected = GameApiException.class)
+    public void validateMovement_withPitOutOfTheBoard_shouldThrowGameApiException() throws GameApiException {
+        // given
+        Game game = buildGameRunning();
+
+        // when
+        gameDataValidator.validateMovement(game, 20);
+
+        // then throw GameApiException
+    }
+
+    @Test
+    public void validateGameCreation_withoutBoardGeometry_shouldSuccessValidate() throws GameApiException {
+        // when
+        gameDataValidator.validateGameCreation(new GameRequest());
+    }
+
+    @Test
+    public void validateGameCreation_withSupportedBoardGeometry_shouldSuccessValidate() throws GameApiException {
+        // when
+        gameDataValidator.validateGameCreation(buildGameRequest(12, 12));
+    }
+
+    @Test (expected = GameApiException.class)
+    public void validateGameCreation_withTooFewPits_shouldThrowGameApiException() throws GameApiException {
+        // when
+        gameDataValidator.validateGameCreation(buildGameRequest(3, 6));
+
+        // then throw GameApiException
+    }
+
+    @Test (expected = GameApiException.class)
+    public void validateGameCreation_withTooFewStones_shouldThrowGameApiException() throws GameApiException {
+        // when
+        gameDataValidator.validateGameCreation(buildGameRequest(6, 2));
+
+        // then throw GameApiException
+    }
+
+    private GameRequest buildGameRequest(int pitsPerSide, int seedsPerPit) {
+        return GameRequest.builder()
+                .pitsPerSide(pitsPerSide)
+                .seedsPerPit(seedsPerPit)
+                .build();
+    }
+
     private Game buildGameRunning() {
         return buildGameBuilder(RUNNING, PLAYER_ONE)
                 .board(buildBoard())
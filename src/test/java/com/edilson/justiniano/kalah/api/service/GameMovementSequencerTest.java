@@ -0,0 +1,99 @@
+package com.edilson.justiniano.kalah.api.service;
+
+import com.edilson.justiniano.kalah.api.model.GameResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.edilson.justiniano.kalah.api.service.GameMovementSequencer.METRIC_LOCK_WAIT;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link GameMovementSequencer} class
+ */
+@RunWith(JUnit4.class)
+public class GameMovementSequencerTest {
+
+    private static final int THREADS = 8;
+    private static final int MOVEMENTS_PER_THREAD = 1_000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GameMovementSequencer sequencer = new GameMovementSequencer(
+            new MockEnvironment().withProperty("kalah.sequencer.stripes", "64"), meterRegistry);
+
+    private int movements;
+
+    @Test
+    public void sequence_sameGame_shouldRunOneMovementAtATime() throws Exception {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                for (int j = 0; j < MOVEMENTS_PER_THREAD; j++) {
+                    // A read, change and write without any synchronization of its own
+                    sequencer.sequence("gameId", () -> {
+                        movements = movements + 1;
+                        return null;
+                    });
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(movements, equalTo(THREADS * MOVEMENTS_PER_THREAD));
+        assertThat(meterRegistry.timer(METRIC_LOCK_WAIT).count(), equalTo((long) THREADS * MOVEMENTS_PER_THREAD));
+    }
+
+    @Test
+    public void sequence_differentGames_shouldNotWaitForEachOther() throws Exception {
+        // given
+        CountDownLatch firstGameStarted = new CountDownLatch(1);
+        CountDownLatch secondGameDone = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // when
+        Future<GameResponse> firstGame = executor.submit(() -> sequencer.sequence("a", () -> {
+            firstGameStarted.countDown();
+            // Holds the lock of its game until the other game has moved
+            await(secondGameDone);
+            return null;
+        }));
+        await(firstGameStarted);
+        sequencer.sequence("b", () -> {
+            secondGameDone.countDown();
+            return null;
+        });
+
+        // then
+        firstGame.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -1,30 +1,59 @@
 package com.edilson.justiniano.kalah.api.service;
 
+import com.edilson.justiniano.kalah.ai.ComputerPlayer;
 import com.edilson.justiniano.kalah.api.exception.GameApiException;
+import com.edilson.justiniano.kalah.api.model.BulkGameRequest;
+import com.edilson.justiniano.kalah.api.model.GameRequest;
 import com.edilson.justiniano.kalah.api.model.GameResponse;
+import com.edilson.justiniano.kalah.engine.KalahEngine;
+import com.edilson.justiniano.kalah.persistence.game.cache.GameLoader;
+import com.edilson.justiniano.kalah.persistence.game.cache.RunningGameCache;
 import com.edilson.justiniano.kalah.persistence.game.model.Board;
 import com.edilson.justiniano.kalah.persistence.game.model.Game;
 import com.edilson.justiniano.kalah.persistence.game.repository.GameRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.mock.env.MockEnvironment;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 
+import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.CONCURRENT_MOVEMENT;
+import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.GAME_IS_OVER;
+import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.INVALID_GAME_COUNT;
+import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.INVALID_MOVEMENT;
 import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.FINISHED;
 import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.RUNNING;
+import static com.edilson.justiniano.kalah.persistence.game.model.Opponent.COMPUTER;
 import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_ONE;
 import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_TWO;
 import static java.time.Instant.now;
 import static java.util.Collections.emptyMap;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -54,30 +83,93 @@ public class GameServiceTest {
     @Mock
     private GameRepository gameRepository;
 
-    @InjectMocks
+    @Mock
+    private ComputerPlayer computerPlayer;
+
+    @Mock
+    private RunningGameCache gameCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private GameMovementSequencer sequencer = new GameMovementSequencer(new MockEnvironment(), new SimpleMeterRegistry());
+
     private GameService gameService;
 
+    @Before
+    public void setUp() {
+        // The games are read through a real loader, from the mocked repository
+        GameLoader gameLoader = new GameLoader(gameRepository, new MockEnvironment(), new SimpleMeterRegistry());
+        gameService = new GameService(builder, validator, gameRepository, new GamePlay(computerPlayer), gameCache, sequencer,
+                                      gameLoader, eventPublisher);
+    }
+
     @Test
-    public void createGame_shouldCreateAGameSuccessfully() {
+    public void createGame_shouldCreateAGameSuccessfully() throws GameApiException {
         // given
         Game game = buildGame();
+        GameRequest gameRequest = new GameRequest();
         GameResponse gameResponse = buildGameResponse();
-        given(builder.buildGame()).willReturn(game);
+        doNothing().when(validator).validateGameCreation(gameRequest);
+        given(builder.buildGame(gameRequest)).willReturn(game);
         given(gameRepository.save(game)).willReturn(game);
         given(builder.buildGameResponse(game)).willReturn(gameResponse);
 
         // when
-        GameResponse result = gameService.createGame();
+        GameResponse result = gameService.createGame(gameRequest);
 
         // then
         assertThat(result, equalTo(gameResponse));
         inOrder(builder, gameRepository);
-        verify(builder).buildGame();
+        verify(validator).validateGameCreation(gameRequest);
+        verify(builder).buildGame(gameRequest);
         verify(gameRepository).save(game);
+        verify(gameCache).put(game);
         verify(builder).buildGameResponse(game);
         verifyNoMoreInteractions(builder, gameRepository);
     }
 
+    @Test
+    public void createGames_shouldInsertTheGamesBatchByBatch() throws GameApiException {
+        // given
+        GameRequest gameRequest = new GameRequest();
+        BulkGameRequest bulkGameRequest = new BulkGameRequest(1500, gameRequest);
+        given(builder.buildGames(eq(gameRequest), anyInt()))
+                .willAnswer(invocation -> Collections.nCopies(invocation.getArgument(1), buildGame()));
+        given(builder.buildGameResponse(any(Game.class))).willReturn(buildGameResponse());
+
+        // when
+        Iterator<List<GameResponse>> result = gameService.createGames(bulkGameRequest);
+
+        // then
+        verify(gameRepository, never()).insertAll(any());
+        assertThat(result.next().size(), equalTo(1000));
+        assertThat(result.next().size(), equalTo(500));
+        assertThat(result.hasNext(), equalTo(false));
+        verify(builder).buildGames(gameRequest, 1000);
+        verify(builder).buildGames(gameRequest, 500);
+        verify(gameRepository, times(2)).insertAll(any());
+        verify(gameCache, never()).put(any(Game.class));
+    }
+
+    @Test
+    public void createGames_withInvalidCount_shouldNotCreateAnyGame() throws GameApiException {
+        // given
+        BulkGameRequest bulkGameRequest = new BulkGameRequest(0, null);
+        doThrow(new GameApiException(INVALID_GAME_COUNT)).when(validator).validateGamesCreation(0);
+
+        // when
+        try {
+            gameService.createGames(bulkGameRequest);
+            fail("The games should not be created.");
+        } catch (GameApiException ex) {
+            // then
+            assertThat(ex.getErrorCode(), equalTo(INVALID_GAME_COUNT.getErrorCode()));
+            verifyNoMoreInteractions(builder, gameRepository);
+        }
+    }
+
     @Test
     public void searchGame_withValidGameId_shouldRetrieveTheGameSuccessfully() throws GameApiException {
         // given
@@ -87,7 +179,7 @@ public class GameServiceTest {
         given(builder.buildGameResponse(game)).willReturn(gameResponse);
 
         // when
-        GameResponse result = gameService.searchGame(GAME_ID);
+        GameResponse result = gameService.searchGame(GAME_ID, false);
 
         // then
         assertThat(result, equalTo(gameResponse));
@@ -97,13 +189,31 @@ public class GameServiceTest {
         verifyNoMoreInteractions(builder, gameRepository);
     }
 
+    @Test
+    public void searchGame_withLegalMoves_shouldRetrieveTheGameWithItsLegalMoves() throws GameApiException {
+        // given
+        Game game = buildGame();
+        GameResponse gameResponse = buildGameResponse();
+        given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
+        given(builder.buildLegalMovesResponse(game)).willReturn(gameResponse);
+
+        // when
+        GameResponse result = gameService.searchGame(GAME_ID, true);
+
+        // then
+        assertThat(result, equalTo(gameResponse));
+        verify(gameRepository).findById(GAME_ID);
+        verify(builder).buildLegalMovesResponse(game);
+        verifyNoMoreInteractions(builder, gameRepository);
+    }
+
     @Test (expected = GameApiException.class)
     public void searchGame_withInvalidGameId_shouldThrowGameApiException() throws GameApiException {
         // given
         given(gameRepository.findById(GAME_ID)).willReturn(Optional.empty());
 
         // when
-        gameService.searchGame(GAME_ID);
+        gameService.searchGame(GAME_ID, false);
 
         // then throw GameApiException
         inOrder(builder, gameRepository);
@@ -111,12 +221,63 @@ public class GameServiceTest {
         verifyNoMoreInteractions(builder, gameRepository);
     }
 
+    @Test
+    public void suggestMovement_withRunningGame_shouldReturnTheComputerMovement() throws GameApiException {
+        // given
+        Game game = buildGame();
+        GameResponse gameResponse = buildGameResponse();
+        given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
+        given(computerPlayer.selectMove(game.getBoard().getPits(), KalahEngine.PLAYER_ONE)).willReturn(PLAYER_ONE_SIXTH_PIT_INDEX);
+        given(builder.buildHintResponse(game, PLAYER_ONE_SIXTH_PIT)).willReturn(gameResponse);
+
+        // when
+        GameResponse result = gameService.suggestMovement(GAME_ID);
+
+        // then
+        assertThat(result, equalTo(gameResponse));
+        verify(validator).validateGameRunning(game);
+        verify(computerPlayer).selectMove(game.getBoard().getPits(), KalahEngine.PLAYER_ONE);
+        verify(builder).buildHintResponse(game, PLAYER_ONE_SIXTH_PIT);
+        verify(gameRepository, never()).updateMovement(any(Game.class), any(), anyInt());
+    }
+
+    @Test (expected = GameApiException.class)
+    public void suggestMovement_withGameOver_shouldThrowGameApiException() throws GameApiException {
+        // given
+        Game game = buildGame();
+        game.setGameStatus(FINISHED);
+        given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
+        doThrow(new GameApiException(GAME_IS_OVER)).when(validator).validateGameRunning(game);
+
+        // when
+        gameService.suggestMovement(GAME_ID);
+
+        // then throw GameApiException
+    }
+
+    @Test
+    public void searchGame_withCachedGame_shouldNotGoToTheRepository() throws GameApiException {
+        // given
+        Game game = buildGame();
+        GameResponse gameResponse = buildGameResponse();
+        given(gameCache.get(GAME_ID)).willReturn(Optional.of(game));
+        given(builder.buildGameResponse(game)).willReturn(gameResponse);
+
+        // when
+        GameResponse result = gameService.searchGame(GAME_ID, false);
+
+        // then
+        assertThat(result, equalTo(gameResponse));
+        verify(gameCache).get(GAME_ID);
+        verifyNoMoreInteractions(gameRepository);
+    }
+
     @Test
     public void removeGame_withValidGameId_shouldDeleteTheGameSuccessfully() throws GameApiException {
         // given
         Game game = buildGame();
         given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
-        doNothing().when(gameRepository).delete(game);
+        doNothing().when(gameRepository).deleteById(GAME_ID);
 
         // when
         gameService.removeGame(GAME_ID);
@@ -124,7 +285,8 @@ public class GameServiceTest {
         // then
         inOrder(builder, gameRepository);
         verify(gameRepository).findById(GAME_ID);
-        verify(gameRepository).delete(game);
+        verify(gameCache).remove(GAME_ID);
+        verify(gameRepository).deleteById(GAME_ID);
         verifyNoMoreInteractions(builder, gameRepository);
     }
 
@@ -134,7 +296,7 @@ public class GameServiceTest {
         Game game = buildGame();
         game.setGameStatus(FINISHED);
         given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
-        doNothing().when(gameRepository).delete(game);
+        doNothing().when(gameRepository).deleteById(GAME_ID);
 
         // when
         gameService.removeGame(GAME_ID);
@@ -142,7 +304,7 @@ public class GameServiceTest {
         // then
         inOrder(builder, gameRepository);
         verify(gameRepository).findById(GAME_ID);
-        verify(gameRepository).delete(game);
+        verify(gameRepository).deleteById(GAME_ID);
         verifyNoMoreInteractions(builder, gameRepository);
     }
 
@@ -170,7 +332,6 @@ public class GameServiceTest {
 
         given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
         doNothing().when(validator).validateMovement(game, PLAYER_ONE_FIRST_PIT_INDEX);
-        given(gameRepository.save(game)).willReturn(game);
         given(builder.buildGameStatusResponse(game)).willReturn(gameResponse);
 
         // when
@@ -178,12 +339,53 @@ public class GameServiceTest {
 
         // then
         assertThat(result, equalTo(gameResponse));
+        verify(sequencer).sequence(eq(GAME_ID), any());
         inOrder(builder, gameRepository, validator);
         verify(gameRepository).findById(GAME_ID);
         verify(validator).validateMovement(game, PLAYER_ONE_FIRST_PIT_INDEX);
-        verify(gameRepository).save(game);
+        verify(gameRepository).updateMovement(game, null, 0);
         verify(builder).buildGameStatusResponse(game);
         verifyNoMoreInteractions(builder, gameRepository, validator);
+        assertThat(game.moveCount(), equalTo(1));
+        assertThat(game.getMoves().get(0).getPitIndex(), equalTo(PLAYER_ONE_FIRST_PIT_INDEX));
+        assertThat(game.getMoves().get(0).getPlayer(), equalTo(PLAYER_ONE));
+    }
+
+    @Test
+    public void makeMovement_shouldPublishTheNewBoard() throws GameApiException {
+        // given
+        Game game = buildGame();
+        GameResponse gameResponse = buildGameResponse();
+
+        given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
+        given(builder.buildGameStatusResponse(game)).willReturn(gameResponse);
+
+        // when
+        gameService.makeMovement(GAME_ID, PLAYER_ONE_FIRST_PIT);
+
+        // then
+        ArgumentCaptor<GameChangedEvent> event = ArgumentCaptor.forClass(GameChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getGameId(), equalTo(GAME_ID));
+        assertThat(event.getValue().getGame(), equalTo(gameResponse));
+    }
+
+    @Test
+    public void makeMovement_withInvalidMovement_shouldNotPublishAnything() throws GameApiException {
+        // given
+        Game game = buildGame();
+
+        given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
+        doThrow(new GameApiException(INVALID_MOVEMENT)).when(validator).validateMovement(game, PLAYER_TWO_THIRTEENTH_PIT_INDEX);
+
+        // when
+        try {
+            gameService.makeMovement(GAME_ID, PLAYER_TWO_THIRTEENTH_PIT);
+            fail("The movement should be rejected");
+        } catch (GameApiException ex) {
+            // then
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
     }
 
     @Test
@@ -196,7 +398,6 @@ public class GameServiceTest {
 
         given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
         doNothing().when(validator).validateMovement(game, PLAYER_ONE_SIXTH_PIT_INDEX);
-        given(gameRepository.save(game)).willReturn(game);
         given(builder.buildGameStatusResponse(game)).willReturn(gameResponse);
 
         // when
@@ -207,7 +408,7 @@ public class GameServiceTest {
         inOrder(builder, gameRepository, validator);
         verify(gameRepository).findById(GAME_ID);
         verify(validator).validateMovement(game, PLAYER_ONE_SIXTH_PIT_INDEX);
-        verify(gameRepository).save(game);
+        verify(gameRepository).updateMovement(game, null, 0);
         verify(builder).buildGameStatusResponse(game);
         verifyNoMoreInteractions(builder, gameRepository, validator);
     }
@@ -223,7 +424,6 @@ public class GameServiceTest {
 
         given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
         doNothing().when(validator).validateMovement(game, PLAYER_TWO_THIRTEENTH_PIT_INDEX);
-        given(gameRepository.save(game)).willReturn(game);
         given(builder.buildGameStatusResponse(game)).willReturn(gameResponse);
 
         // when
@@ -234,7 +434,7 @@ public class GameServiceTest {
         inOrder(builder, gameRepository, validator);
         verify(gameRepository).findById(GAME_ID);
         verify(validator).validateMovement(game, PLAYER_TWO_THIRTEENTH_PIT_INDEX);
-        verify(gameRepository).save(game);
+        verify(gameRepository).updateMovement(game, null, 0);
         verify(builder).buildGameStatusResponse(game);
         verifyNoMoreInteractions(builder, gameRepository, validator);
     }
@@ -249,7 +449,6 @@ public class GameServiceTest {
 
         given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
         doNothing().when(validator).validateMovement(game, PLAYER_ONE_SIXTH_PIT_INDEX);
-        given(gameRepository.save(game)).willReturn(game);
         given(builder.buildGameStatusResponse(game)).willReturn(gameResponse);
 
         // when
@@ -260,7 +459,7 @@ public class GameServiceTest {
         inOrder(builder, gameRepository, validator);
         verify(gameRepository).findById(GAME_ID);
         verify(validator).validateMovement(game, PLAYER_ONE_SIXTH_PIT_INDEX);
-        verify(gameRepository).save(game);
+        verify(gameRepository).updateMovement(game, null, 0);
         verify(builder).buildGameStatusResponse(game);
         verifyNoMoreInteractions(builder, gameRepository, validator);
     }
@@ -275,7 +474,6 @@ public class GameServiceTest {
 
         given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
         doNothing().when(validator).validateMovement(game, PLAYER_ONE_SIXTH_PIT_INDEX);
-        given(gameRepository.save(game)).willReturn(game);
         given(builder.buildGameStatusResponse(game)).willReturn(gameResponse);
 
         // when
@@ -286,7 +484,7 @@ public class GameServiceTest {
         inOrder(builder, gameRepository, validator);
         verify(gameRepository).findById(GAME_ID);
         verify(validator).validateMovement(game, PLAYER_ONE_SIXTH_PIT_INDEX);
-        verify(gameRepository).save(game);
+        verify(gameRepository).updateMovement(game, null, 0);
         verify(builder).buildGameStatusResponse(game);
         verifyNoMoreInteractions(builder, gameRepository, validator);
     }
@@ -301,7 +499,6 @@ public class GameServiceTest {
 
         given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
         doNothing().when(validator).validateMovement(game, PLAYER_TWO_THIRTEENTH_PIT_INDEX);
-        given(gameRepository.save(game)).willReturn(game);
         given(builder.buildGameStatusResponse(game)).willReturn(gameResponse);
 
         // when
@@ -312,11 +509,216 @@ public class GameServiceTest {
         inOrder(builder, gameRepository, validator);
         verify(gameRepository).findById(GAME_ID);
         verify(validator).validateMovement(game, PLAYER_TWO_THIRTEENTH_PIT_INDEX);
-        verify(gameRepository).save(game);
+        verify(gameRepository).updateMovement(game, null, 0);
         verify(builder).buildGameStatusResponse(game);
         verifyNoMoreInteractions(builder, gameRepository, validator);
     }
 
+    @Test
+    public void makeMovement_playerTwoSowMoreThanOneLap_shouldSkipPlayerOneKalahAndKeepPlayerTwoTurn() throws GameApiException {
+        // given
+        Game game = buildPlayerTwoBoardWithManyStones();
+        GameResponse gameResponse = buildGameResponse();
+
+        given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
+        doNothing().when(validator).validateMovement(game, PLAYER_TWO_THIRTEENTH_PIT_INDEX);
+        given(builder.buildGameStatusResponse(game)).willReturn(gameResponse);
+
+        // when
+        gameService.makeMovement(GAME_ID, PLAYER_TWO_THIRTEENTH_PIT);
+
+        // then
+        assertThat(game.getBoard().getPits(), equalTo(new int[] {
+                4, 4, 4, 4, 4, 4, 0,
+                4, 4, 4, 4, 4, 3, 4
+        }));
+        assertThat(game.getNextPlayer(), equalTo(PLAYER_TWO));
+        verify(gameRepository).updateMovement(game, null, 0);
+    }
+
+    @Test
+    public void makeMovement_againstTheComputer_shouldPlayTheComputerMovement() throws GameApiException {
+        // given
+        Game game = buildGame();
+        game.setOpponent(COMPUTER);
+        GameResponse gameResponse = buildGameResponse();
+
+        given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
+        given(computerPlayer.selectMove(game.getBoard().getPits(), KalahEngine.PLAYER_TWO)).willReturn(PLAYER_TWO_THIRTEENTH_PIT_INDEX);
+        given(builder.buildGameStatusResponse(game)).willReturn(gameResponse);
+
+        // when
+        gameService.makeMovement(GAME_ID, PLAYER_ONE_SIXTH_PIT);
+
+        // then
+        assertThat(game.getBoard().getPits(), equalTo(new int[] {
+                7, 7, 7, 7, 7, 0, 1,
+                7, 7, 7, 7, 7, 0, 1
+        }));
+        assertThat(game.getNextPlayer(), equalTo(PLAYER_ONE));
+        verify(validator).validateMovement(game, PLAYER_ONE_SIXTH_PIT_INDEX);
+        verify(computerPlayer).selectMove(game.getBoard().getPits(), KalahEngine.PLAYER_TWO);
+        verify(gameRepository).updateMovement(game, null, 0);
+        verifyNoMoreInteractions(computerPlayer);
+    }
+
+    @Test
+    public void makeMovement_withRunningGameCache_shouldLeaveTheWriteToTheCache() throws GameApiException {
+        // given
+        Game game = buildGame();
+        GameResponse gameResponse = buildGameResponse();
+
+        given(gameCache.get(GAME_ID)).willReturn(Optional.of(game));
+        given(gameCache.update(game, null)).willReturn(true);
+        given(builder.buildGameStatusResponse(game)).willReturn(gameResponse);
+
+        // when
+        gameService.makeMovement(GAME_ID, PLAYER_ONE_FIRST_PIT);
+
+        // then
+        verify(validator).validateMovement(game, PLAYER_ONE_FIRST_PIT_INDEX);
+        verify(gameCache).update(game, null);
+        verifyNoMoreInteractions(gameRepository);
+    }
+
+    @Test
+    public void makeMovement_withConcurrentMovement_shouldReadTheGameAgain() throws GameApiException {
+        // given
+        Game staleGame = buildGame();
+        Game currentGame = buildGame();
+        currentGame.setVersion(1L);
+        GameResponse gameResponse = buildGameResponse();
+
+        given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(staleGame)).willReturn(Optional.of(currentGame));
+        doThrow(new OptimisticLockingFailureException("changed")).when(gameRepository).updateMovement(staleGame, null, 0);
+        given(builder.buildGameStatusResponse(currentGame)).willReturn(gameResponse);
+
+        // when
+        GameResponse result = gameService.makeMovement(GAME_ID, PLAYER_ONE_FIRST_PIT);
+
+        // then
+        assertThat(result, equalTo(gameResponse));
+        assertThat(currentGame.getVersion(), equalTo(2L));
+        verify(gameRepository, times(2)).findById(GAME_ID);
+        verify(validator).validateMovement(currentGame, PLAYER_ONE_FIRST_PIT_INDEX);
+        verify(gameRepository).updateMovement(currentGame, 1L, 0);
+    }
+
+    @Test
+    public void makeMovement_withConcurrentMovementOnEveryAttempt_shouldThrowConflict() throws GameApiException {
+        // given
+        given(gameRepository.findById(GAME_ID)).willAnswer(invocation -> Optional.of(buildGame()));
+        doThrow(new OptimisticLockingFailureException("changed")).when(gameRepository).updateMovement(any(Game.class), any(), anyInt());
+
+        // when
+        try {
+            gameService.makeMovement(GAME_ID, PLAYER_ONE_FIRST_PIT);
+            fail("The movement should be rejected");
+        } catch (GameApiException ex) {
+            // then
+            assertThat(ex.getErrorCode(), equalTo(CONCURRENT_MOVEMENT.getErrorCode()));
+            verify(gameRepository, times(3)).updateMovement(any(Game.class), any(), anyInt());
+            verify(builder, never()).buildGameStatusResponse(any(Game.class));
+        }
+    }
+
+    @Test
+    public void makeMovements_withValidMovements_shouldApplyAllAndSaveOnce() throws GameApiException {
+        // given
+        Game game = buildGame();
+        GameResponse gameResponse = buildGameResponse();
+        List<Integer> pitIds = Arrays.asList(PLAYER_ONE_FIRST_PIT, PLAYER_ONE_FIRST_PIT + 1);
+
+        given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
+        given(builder.buildGameStatusResponse(game)).willReturn(gameResponse);
+
+        // when
+        GameResponse result = gameService.makeMovements(GAME_ID, pitIds);
+
+        // then
+        assertThat(result, equalTo(gameResponse));
+        assertNull(result.getRejectedMovementIndex());
+        assertThat(game.getBoard().getPits(), equalTo(new int[] {
+                0, 0, 8, 8, 8, 8, 2,
+                7, 7, 6, 6, 6, 6, 0
+        }));
+        assertThat(game.getNextPlayer(), equalTo(PLAYER_TWO));
+        verify(sequencer).sequence(eq(GAME_ID), any());
+        verify(validator).validateMovements(pitIds);
+        verify(validator).validateMovement(game, PLAYER_ONE_FIRST_PIT_INDEX);
+        verify(validator).validateMovement(game, PLAYER_ONE_FIRST_PIT_INDEX + 1);
+        verify(gameRepository).findById(GAME_ID);
+        verify(gameRepository).updateMovement(game, null, 0);
+        verify(builder).buildGameStatusResponse(game);
+        verifyNoMoreInteractions(builder, gameRepository, validator);
+    }
+
+    @Test
+    public void makeMovements_withInvalidMovement_shouldStopOnTheInvalidMovement() throws GameApiException {
+        // given
+        Game game = buildGame();
+        GameResponse gameResponse = buildGameResponse();
+        List<Integer> pitIds = Arrays.asList(PLAYER_ONE_FIRST_PIT, PLAYER_TWO_THIRTEENTH_PIT, PLAYER_ONE_SIXTH_PIT);
+
+        given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
+        doThrow(new GameApiException(INVALID_MOVEMENT)).when(validator).validateMovement(game, PLAYER_TWO_THIRTEENTH_PIT_INDEX);
+        given(builder.buildGameStatusResponse(game)).willReturn(gameResponse);
+
+        // when
+        GameResponse result = gameService.makeMovements(GAME_ID, pitIds);
+
+        // then
+        assertThat(result.getRejectedMovementIndex(), equalTo(1));
+        assertThat(result.getRejectedMovementReason(), equalTo(INVALID_MOVEMENT.getErrorCode()));
+        verify(validator, never()).validateMovement(game, PLAYER_ONE_SIXTH_PIT_INDEX);
+        verify(gameRepository).updateMovement(game, null, 0);
+    }
+
+    @Test
+    public void makeMovements_withInvalidMovement_shouldPublishOnlyTheBoard() throws GameApiException {
+        // given
+        Game game = buildGame();
+        GameResponse board = buildGameResponse();
+        GameResponse gameResponse = buildGameResponse();
+        List<Integer> pitIds = Arrays.asList(PLAYER_ONE_FIRST_PIT, PLAYER_TWO_THIRTEENTH_PIT);
+
+        given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
+        doThrow(new GameApiException(INVALID_MOVEMENT)).when(validator).validateMovement(game, PLAYER_TWO_THIRTEENTH_PIT_INDEX);
+        given(builder.buildGameStatusResponse(game)).willReturn(board, gameResponse);
+
+        // when
+        GameResponse result = gameService.makeMovements(GAME_ID, pitIds);
+
+        // then
+        assertThat(result, equalTo(gameResponse));
+        assertThat(result.getRejectedMovementIndex(), equalTo(1));
+        ArgumentCaptor<GameChangedEvent> event = ArgumentCaptor.forClass(GameChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getGame(), equalTo(board));
+        assertNull(event.getValue().getGame().getRejectedMovementIndex());
+        assertNull(event.getValue().getGame().getRejectedMovementReason());
+    }
+
+    @Test
+    public void makeMovements_withFirstMovementInvalid_shouldNotSaveTheGame() throws GameApiException {
+        // given
+        Game game = buildGame();
+        GameResponse gameResponse = buildGameResponse();
+        List<Integer> pitIds = Collections.singletonList(PLAYER_TWO_THIRTEENTH_PIT);
+
+        given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
+        doThrow(new GameApiException(INVALID_MOVEMENT)).when(validator).validateMovement(game, PLAYER_TWO_THIRTEENTH_PIT_INDEX);
+        given(builder.buildGameStatusResponse(game)).willReturn(gameResponse);
+
+        // when
+        GameResponse result = gameService.makeMovements(GAME_ID, pitIds);
+
+        // then
+        assertThat(result.getRejectedMovementIndex(), equalTo(0));
+        verify(gameRepository, never()).updateMovement(any(Game.class), any(), anyInt());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
     private HashMap<Integer, Integer> buildPitForPlayerOneFirstMovePitOne() {
         HashMap<Integer, Integer> pits = new HashMap<>();
 
@@ -519,6 +921,21 @@ public class GameServiceTest {
         };
     }
 
+    private Game buildPlayerTwoBoardWithManyStones() {
+        return Game.builder()
+                .gameId(GAME_ID)
+                .nextPlayer(PLAYER_TWO)
+                .gameStatus(RUNNING)
+                .startedTime(now().toEpochMilli())
+                .board(Board.builder()
+                               .pits(new int[] {
+                                       1, 1, 1, 1, 1, 1, 0,
+                                       1, 1, 1, 1, 1, 40, 0
+                               })
+                               .build())
+                .build();
+    }
+
     private Board buildPlayerOneFinishingBoard() {
         return Board.builder()
                 .pits(initializePitsForPlayerOneGameOver())
@@ -0,0 +1,184 @@
+package com.edilson.justiniano.kalah.api.spectator;
+
+import com.edilson.justiniano.kalah.api.exception.GameApiException;
+import com.edilson.justiniano.kalah.api.model.GameResponse;
+import com.edilson.justiniano.kalah.api.service.GameChangedEvent;
+import com.edilson.justiniano.kalah.api.service.GameService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.GAME_NOT_FOUND;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link GameSpectators} class. The watchdog is stopped, the tests check the slow spectators themselves
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class GameSpectatorsTest {
+
+    private static final String GAME_ID = "gameId";
+
+    @Mock
+    private GameService gameService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private GameSpectators spectators;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        spectators = new GameSpectators(gameService, objectMapper,
+                                         new MockEnvironment().withProperty("kalah.spectator.send-time-limit-ms", "0"));
+        spectators.shutdown();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        spectators.shutdown();
+    }
+
+    @Test
+    public void onGameChanged_withSeveralSpectators_shouldEncodeTheBoardOnce() throws Exception {
+        // given
+        GameResponse board = GameResponse.builder().id(GAME_ID).build();
+        GameResponse changedBoard = GameResponse.builder().id("changed").build();
+        given(gameService.searchGameStatus(GAME_ID)).willReturn(board);
+        SpectatorResponse[] responses = new SpectatorResponse[3];
+        for (int i = 0; i < responses.length; i++) {
+            responses[i] = subscribe();
+        }
+
+        // when
+        spectators.onGameChanged(new GameChangedEvent(GAME_ID, changedBoard));
+
+        // then
+        assertThat(spectators.size(GAME_ID), equalTo(3));
+        verify(objectMapper, times(3)).writeValueAsBytes(board);
+        verify(objectMapper).writeValueAsBytes(changedBoard);
+        for (SpectatorResponse response : responses) {
+            assertThat(response.stream.content(),
+                       equalTo("event:board\ndata:{\"id\":\"gameId\"}\n\nevent:board\ndata:{\"id\":\"changed\"}\n\n"));
+        }
+    }
+
+    @Test
+    public void onGameChanged_withSlowSpectator_shouldSendTheLatestBoardWhenItIsReady() throws Exception {
+        // given
+        given(gameService.searchGameStatus(GAME_ID)).willReturn(GameResponse.builder().id(GAME_ID).build());
+        SpectatorResponse response = subscribe();
+        response.stream.ready = false;
+
+        // when
+        spectators.onGameChanged(new GameChangedEvent(GAME_ID, GameResponse.builder().id("first").build()));
+        spectators.onGameChanged(new GameChangedEvent(GAME_ID, GameResponse.builder().id("second").build()));
+        spectators.onGameChanged(new GameChangedEvent(GAME_ID, GameResponse.builder().id("third").build()));
+        response.stream.ready = true;
+        response.stream.listener.onWritePossible();
+
+        // then
+        assertThat(response.stream.content(),
+                   equalTo("event:board\ndata:{\"id\":\"gameId\"}\n\nevent:board\ndata:{\"id\":\"first\"}\n\n"
+                                   + "event:board\ndata:{\"id\":\"third\"}\n\n"));
+    }
+
+    @Test
+    public void dropSlowSpectators_withFrameWaitingTooLong_shouldDisconnectTheSpectator() throws Exception {
+        // given
+        given(gameService.searchGameStatus(GAME_ID)).willReturn(GameResponse.builder().id(GAME_ID).build());
+        SpectatorResponse slowResponse = subscribe();
+        SpectatorResponse response = subscribe();
+        slowResponse.stream.ready = false;
+        spectators.onGameChanged(new GameChangedEvent(GAME_ID, GameResponse.builder().id("changed").build()));
+
+        // when
+        spectators.dropSlowSpectators();
+
+        // then
+        assertThat(spectators.size(GAME_ID), equalTo(1));
+        assertThat(response.stream.content().endsWith("{\"id\":\"changed\"}\n\n"), equalTo(true));
+    }
+
+    @Test
+    public void subscribe_withUnknownGame_shouldNotKeepTheSpectator() throws Exception {
+        // given
+        given(gameService.searchGameStatus(GAME_ID)).willThrow(new GameApiException(GAME_NOT_FOUND));
+
+        // when
+        try {
+            subscribe();
+            fail("The game should not be found");
+        } catch (GameApiException ex) {
+            // then
+            assertThat(ex.getErrorCode(), equalTo(GAME_NOT_FOUND.getErrorCode()));
+            assertThat(spectators.size(GAME_ID), equalTo(0));
+        }
+    }
+
+    private SpectatorResponse subscribe() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        SpectatorResponse response = new SpectatorResponse();
+        spectators.subscribe(GAME_ID, request, response);
+        return response;
+    }
+
+    /*
+     * A response whose stream takes the frames only when the test says it is ready, like a slow connection
+     */
+    private static class SpectatorResponse extends MockHttpServletResponse {
+
+        private final NonBlockingStream stream = new NonBlockingStream();
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return stream;
+        }
+    }
+
+    private static class NonBlockingStream extends ServletOutputStream {
+
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        private volatile boolean ready = true;
+        private WriteListener listener;
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            content.write(b);
+        }
+
+        private String content() {
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.edilson.justiniano.kalah.endgame;
+
+import com.edilson.justiniano.kalah.engine.BoardGeometry;
+import com.edilson.justiniano.kalah.engine.KalahEngine;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_ONE;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link EndgameDatabase} and {@link EndgameDatabaseGenerator} classes. The values are compared with a
+ * plain minimax of the game
+ */
+@RunWith(JUnit4.class)
+public class EndgameDatabaseTest {
+
+    private static final int PITS_PER_SIDE = 4;
+    private static final int MAX_STONES = 10;
+
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+
+    private static EndgameDatabase endgameDatabase;
+
+    private KalahEngine engine = KalahEngine.of(BoardGeometry.of(PITS_PER_SIDE));
+    private Map<String, Integer> minimaxValues = new HashMap<>();
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Path file = folder.newFile("endgame.db").toPath();
+        EndgameDatabaseGenerator generator = new EndgameDatabaseGenerator(PITS_PER_SIDE, MAX_STONES);
+        generator.generate();
+        generator.write(file);
+        endgameDatabase = EndgameDatabase.open(file);
+    }
+
+    @Test
+    public void value_shouldBeThePerfectPlayValue() {
+        // given
+        SplittableRandom random = new SplittableRandom(3);
+
+        for (int i = 0; i < 300; i++) {
+            int[] pits = randomPosition(random);
+            int player = random.nextInt(2);
+
+            // when
+            int result = endgameDatabase.value(pits, player);
+
+            // then
+            assertThat(Arrays.toString(pits), result, equalTo(minimax(pits, player) - kalahDifference(pits, player)));
+        }
+    }
+
+    @Test
+    public void bestMove_shouldPlayThePerfectMovement() {
+        // given
+        SplittableRandom random = new SplittableRandom(5);
+
+        for (int i = 0; i < 300; i++) {
+            int[] pits = randomPosition(random);
+            int player = random.nextInt(2);
+
+            // when
+            int result = endgameDatabase.bestMove(pits, player);
+
+            // then
+            assertThat(Arrays.toString(pits), moveValue(pits, player, result), equalTo(minimax(pits, player)));
+        }
+    }
+
+    @Test
+    public void contains_shouldOnlyAcceptTheSolvedPositions() {
+        // then
+        assertTrue(endgameDatabase.contains(new int[] {1, 2, 3, 4, 30, 0, 0, 0, 0, 18}));
+        assertFalse(endgameDatabase.contains(new int[] {1, 2, 3, 4, 30, 0, 0, 0, 1, 18}));
+        assertFalse(endgameDatabase.contains(BoardGeometry.standard().initialPits(1)));
+        assertFalse(EndgameDatabase.empty().contains(new int[] {0, 1, 0, 0, 30, 0, 0, 0, 1, 18}));
+    }
+
+    @Test (expected = IOException.class)
+    public void open_withInvalidFile_shouldThrowIOException() throws IOException {
+        // given
+        Path file = folder.newFile("invalid.db").toPath();
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+
+        // when
+        EndgameDatabase.open(file);
+
+        // then throw IOException
+    }
+
+    /*
+     * A position that can happen in a game: both sides with stones and the kalahs with the rest of the 24 stones
+     */
+    private int[] randomPosition(SplittableRandom random) {
+        int[] pits = new int[10];
+        int stones = 2 + random.nextInt(MAX_STONES - 1);
+        pits[random.nextInt(PITS_PER_SIDE)]++;
+        pits[PITS_PER_SIDE + 1 + random.nextInt(PITS_PER_SIDE)]++;
+        for (int i = 2; i < stones; i++) {
+            int pit = random.nextInt(PITS_PER_SIDE * 2);
+            pits[pit < PITS_PER_SIDE ? pit : pit + 1]++;
+        }
+        pits[PITS_PER_SIDE] = random.nextInt(24 - stones + 1);
+        pits[9] = 24 - stones - pits[PITS_PER_SIDE];
+        return pits;
+    }
+
+    private int kalahDifference(int[] pits, int player) {
+        return player == PLAYER_ONE ? pits[PITS_PER_SIDE] - pits[9] : pits[9] - pits[PITS_PER_SIDE];
+    }
+
+    /*
+     * Final score difference of the player to play with a perfect play of both players
+     */
+    private int minimax(int[] pits, int player) {
+        String position = Arrays.toString(pits) + player;
+        Integer knownValue = minimaxValues.get(position);
+        if (knownValue != null) {
+            return knownValue;
+        }
+
+        int bestValue = Integer.MIN_VALUE;
+        int legalMoves = engine.legalMoves(pits, player);
+        for (int pitIndex = 0; pitIndex < pits.length; pitIndex++) {
+            if (KalahEngine.isLegalMove(legalMoves, pitIndex)) {
+                bestValue = Math.max(bestValue, moveValue(pits, player, pitIndex));
+            }
+        }
+        minimaxValues.put(position, bestValue);
+        return bestValue;
+    }
+
+    private int moveValue(int[] pits, int player, int pitIndex) {
+        int[] child = pits.clone();
+        int outcome = engine.move(child, player, pitIndex);
+        if (KalahEngine.isGameOver(outcome)) {
+            return engine.score(child, player) - engine.score(child, KalahEngine.opponent(player));
+        }
+        int value = minimax(child, KalahEngine.nextPlayer(outcome, player));
+        return KalahEngine.isExtraTurn(outcome) ? value : -value;
+    }
+}
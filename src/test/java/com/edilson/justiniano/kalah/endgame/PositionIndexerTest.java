@@ -0,0 +1,54 @@
+package com.edilson.justiniano.kalah.endgame;
+
+import com.edilson.justiniano.kalah.engine.BoardGeometry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_ONE;
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_TWO;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link PositionIndexer} class
+ */
+@RunWith(JUnit4.class)
+public class PositionIndexerTest {
+
+    private PositionIndexer indexer = new PositionIndexer(BoardGeometry.of(3), 5);
+
+    @Test
+    public void size_shouldCountAllThePositions() {
+        // then C(5 + 6, 6)
+        assertThat(indexer.size(), equalTo(462L));
+        assertThat(indexer.levelOffset(5) + indexer.levelSize(5), equalTo(indexer.size()));
+    }
+
+    @Test
+    public void index_shouldBeTheOppositeOfPosition() {
+        // given
+        int[] pits = new int[8];
+        long expectedIndex = 0;
+
+        for (int stones = 0; stones <= 5; stones++) {
+            for (long rank = 0; rank < indexer.levelSize(stones); rank++) {
+                // when
+                indexer.position(stones, rank, pits);
+
+                // then
+                assertThat(indexer.index(pits, PLAYER_ONE), equalTo(expectedIndex++));
+            }
+        }
+    }
+
+    @Test
+    public void index_ofThePlayerTwo_shouldSeeTheBoardFromItsSide() {
+        // given
+        int[] pits = new int[] {1, 0, 2, 9, 0, 1, 0, 7};
+        int[] swappedPits = new int[] {0, 1, 0, 7, 1, 0, 2, 9};
+
+        // when and then
+        assertThat(indexer.index(pits, PLAYER_TWO), equalTo(indexer.index(swappedPits, PLAYER_ONE)));
+    }
+}
@@ -0,0 +1,73 @@
+package com.edilson.justiniano.kalah.engine;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static com.edilson.justiniano.kalah.engine.BoardGeometry.NONE;
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_ONE;
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_TWO;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link BoardGeometry} class
+ */
+@RunWith(JUnit4.class)
+public class BoardGeometryTest {
+
+    private BoardGeometry geometry = BoardGeometry.standard();
+
+    @Test
+    public void nextPit_shouldSkipTheOpponentKalah() {
+        // when and then
+        assertThat(geometry.nextPit(PLAYER_ONE, 5), equalTo(6));
+        assertThat(geometry.nextPit(PLAYER_ONE, 12), equalTo(0));
+        assertThat(geometry.nextPit(PLAYER_TWO, 5), equalTo(7));
+        assertThat(geometry.nextPit(PLAYER_TWO, 12), equalTo(13));
+        assertThat(geometry.nextPit(PLAYER_TWO, 13), equalTo(0));
+    }
+
+    @Test
+    public void oppositePit_shouldReturnThePitInFrontOfIt() {
+        // when and then
+        assertThat(geometry.oppositePit(0), equalTo(12));
+        assertThat(geometry.oppositePit(3), equalTo(9));
+        assertThat(geometry.oppositePit(6), equalTo(NONE));
+    }
+
+    @Test
+    public void isPlayerPit_shouldOnlyAcceptThePlayerPits() {
+        // when and then
+        assertTrue(geometry.isPlayerPit(PLAYER_ONE, 0));
+        assertFalse(geometry.isPlayerPit(PLAYER_ONE, 6));
+        assertFalse(geometry.isPlayerPit(PLAYER_ONE, 7));
+        assertTrue(geometry.isPlayerPit(PLAYER_TWO, 12));
+        assertFalse(geometry.isPlayerPit(PLAYER_TWO, 13));
+        assertFalse(geometry.isPlayerPit(PLAYER_TWO, 20));
+        assertFalse(geometry.isPlayerPit(PLAYER_ONE, -1));
+    }
+
+    @Test
+    public void initialPits_shouldPutTheStonesOnlyInThePits() {
+        // when
+        int[] result = BoardGeometry.of(12).initialPits(12);
+
+        // then
+        assertThat(result.length, equalTo(26));
+        assertThat(result[0], equalTo(12));
+        assertThat(result[12], equalTo(0));
+        assertThat(result[24], equalTo(12));
+        assertThat(result[25], equalTo(0));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void of_withUnsupportedPitsPerSide_shouldThrowIllegalArgumentException() {
+        // when
+        BoardGeometry.of(BoardGeometry.MAX_PITS_PER_SIDE + 1);
+
+        // then throw IllegalArgumentException
+    }
+}
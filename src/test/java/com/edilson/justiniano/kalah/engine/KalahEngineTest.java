@@ -0,0 +1,200 @@
+package com.edilson.justiniano.kalah.engine;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.SplittableRandom;
+
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_ONE;
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_TWO;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link KalahEngine} class
+ */
+@RunWith(JUnit4.class)
+public class KalahEngineTest {
+
+    private KalahEngine engine = KalahEngine.standard();
+
+    @Test
+    public void move_lastStoneInOwnKalah_shouldGiveAnExtraTurn() {
+        // given
+        int[] pits = initializePits();
+
+        // when
+        int outcome = engine.move(pits, PLAYER_ONE, 0);
+
+        // then
+        assertThat(pits, equalTo(new int[] {
+                0, 7, 7, 7, 7, 7, 1,
+                6, 6, 6, 6, 6, 6, 0
+        }));
+        assertThat(KalahEngine.lastPitIndex(outcome), equalTo(6));
+        assertTrue(KalahEngine.isExtraTurn(outcome));
+        assertThat(KalahEngine.nextPlayer(outcome, PLAYER_ONE), equalTo(PLAYER_ONE));
+    }
+
+    @Test
+    public void move_lastStoneInOpponentPit_shouldChangeThePlayer() {
+        // given
+        int[] pits = initializePits();
+
+        // when
+        int outcome = engine.move(pits, PLAYER_TWO, 12);
+
+        // then
+        assertThat(pits, equalTo(new int[] {
+                7, 7, 7, 7, 7, 6, 0,
+                6, 6, 6, 6, 6, 0, 1
+        }));
+        assertFalse(KalahEngine.isExtraTurn(outcome));
+        assertThat(KalahEngine.nextPlayer(outcome, PLAYER_TWO), equalTo(PLAYER_ONE));
+    }
+
+    @Test
+    public void move_lastStoneInOwnEmptyPit_shouldCaptureTheOppositeStones() {
+        // given
+        int[] pits = new int[] {
+                2, 0, 0, 6, 6, 6, 0,
+                6, 6, 6, 6, 5, 6, 0
+        };
+
+        // when
+        int outcome = engine.move(pits, PLAYER_ONE, 0);
+
+        // then
+        assertThat(pits, equalTo(new int[] {
+                0, 1, 0, 6, 6, 6, 7,
+                6, 6, 6, 0, 5, 6, 0
+        }));
+        assertThat(KalahEngine.lastPitIndex(outcome), equalTo(2));
+        assertTrue(KalahEngine.isCapture(outcome));
+        assertThat(KalahEngine.nextPlayer(outcome, PLAYER_ONE), equalTo(PLAYER_TWO));
+    }
+
+    @Test
+    public void move_withMoreStonesThanOneLap_shouldSkipTheOpponentKalah() {
+        // given
+        int[] pits = new int[] {
+                1, 1, 1, 1, 1, 1, 0,
+                1, 1, 1, 1, 1, 40, 0
+        };
+
+        // when
+        int outcome = engine.move(pits, PLAYER_TWO, 12);
+
+        // then
+        assertThat(pits, equalTo(new int[] {
+                4, 4, 4, 4, 4, 4, 0,
+                4, 4, 4, 4, 4, 3, 4
+        }));
+        assertTrue(KalahEngine.isExtraTurn(outcome));
+    }
+
+    @Test
+    public void move_emptyingOneSide_shouldFinishTheGame() {
+        // given
+        int[] pits = new int[] {
+                0, 0, 0, 0, 0, 1, 25,
+                0, 0, 0, 0, 0, 1, 23
+        };
+
+        // when
+        int outcome = engine.move(pits, PLAYER_ONE, 5);
+
+        // then
+        assertTrue(KalahEngine.isGameOver(outcome));
+        assertThat(engine.score(pits, PLAYER_ONE), equalTo(26));
+        assertThat(engine.score(pits, PLAYER_TWO), equalTo(24));
+    }
+
+    @Test
+    public void move_withFourPitsPerSide_shouldUseTheBoardGeometry() {
+        // given
+        int[] pits = BoardGeometry.of(4).initialPits(3);
+        pits[1] = 8;
+
+        // when
+        int outcome = KalahEngine.forPits(pits).move(pits, PLAYER_ONE, 1);
+
+        // then
+        assertThat(pits, equalTo(new int[] {
+                4, 0, 4, 4, 1,
+                4, 4, 4, 4, 0
+        }));
+        assertThat(KalahEngine.lastPitIndex(outcome), equalTo(0));
+        assertThat(KalahEngine.nextPlayer(outcome, PLAYER_ONE), equalTo(PLAYER_TWO));
+    }
+
+    @Test
+    public void legalMoves_shouldOnlyHaveThePlayerPitsWithStones() {
+        // given
+        int[] pits = new int[] {
+                0, 3, 0, 0, 0, 1, 25,
+                2, 0, 0, 0, 0, 0, 23
+        };
+
+        // when
+        int playerOneMoves = engine.legalMoves(pits, PLAYER_ONE);
+        int playerTwoMoves = engine.legalMoves(pits, PLAYER_TWO);
+
+        // then
+        assertThat(playerOneMoves, equalTo(0b100010));
+        assertThat(playerTwoMoves, equalTo(1 << 7));
+        assertTrue(KalahEngine.isLegalMove(playerOneMoves, 5));
+        assertFalse(KalahEngine.isLegalMove(playerOneMoves, 0));
+        assertFalse(KalahEngine.isLegalMove(playerOneMoves, -1));
+        assertFalse(KalahEngine.isLegalMove(playerOneMoves, 40));
+    }
+
+    @Test
+    public void move_overPackedBoard_shouldPlayLikeThePitsArray() {
+        // given
+        SplittableRandom random = new SplittableRandom(42);
+        for (int pitsPerSide : new int[] {1, 4, 6, 12}) {
+            for (int seedsPerPit : new int[] {3, 6, 48}) {
+                KalahEngine boardEngine = KalahEngine.of(BoardGeometry.of(pitsPerSide));
+                int[] pits = boardEngine.getGeometry().initialPits(seedsPerPit);
+                PackedBoard board = PackedBoard.of(pits);
+                int player = PLAYER_ONE;
+                int outcome = 0;
+
+                // when
+                while (!KalahEngine.isGameOver(outcome)) {
+                    int legalMoves = boardEngine.legalMoves(pits, player);
+                    assertThat(boardEngine.legalMoves(board, player), equalTo(legalMoves));
+                    int pitIndex = randomMove(legalMoves, random);
+
+                    outcome = boardEngine.move(pits, player, pitIndex);
+
+                    // then
+                    assertThat(boardEngine.move(board, player, pitIndex), equalTo(outcome));
+                    assertThat(board.toPits(), equalTo(pits));
+                    player = KalahEngine.nextPlayer(outcome, player);
+                }
+                assertThat(boardEngine.score(board, PLAYER_ONE), equalTo(boardEngine.score(pits, PLAYER_ONE)));
+                assertThat(boardEngine.score(board, PLAYER_TWO), equalTo(boardEngine.score(pits, PLAYER_TWO)));
+            }
+        }
+    }
+
+    private static int randomMove(int legalMoves, SplittableRandom random) {
+        int remainingMoves = legalMoves;
+        for (int skip = random.nextInt(Integer.bitCount(legalMoves)); skip > 0; skip--) {
+            remainingMoves &= remainingMoves - 1;
+        }
+        return Integer.numberOfTrailingZeros(remainingMoves);
+    }
+
+    private int[] initializePits() {
+        return new int[] {
+                6, 6, 6, 6, 6, 6, 0,
+                6, 6, 6, 6, 6, 6, 0
+        };
+    }
+}
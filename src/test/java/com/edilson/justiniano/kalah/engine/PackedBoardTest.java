@@ -0,0 +1,106 @@
+package com.edilson.justiniano.kalah.engine;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_ONE;
+import static com.edilson.justiniano.kalah.engine.KalahEngine.PLAYER_TWO;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link PackedBoard} class
+ */
+@RunWith(JUnit4.class)
+public class PackedBoardTest {
+
+    @Test
+    public void of_shouldKeepEveryPit() {
+        // given
+        int[] pits = new int[] {
+                0, 3, 0, 0, 0, 1, 25,
+                2, 0, 0, 0, 0, 0, 41
+        };
+
+        // when
+        PackedBoard board = PackedBoard.of(pits);
+
+        // then
+        assertThat(board.toPits(), equalTo(pits));
+        assertThat(board.get(13), equalTo(41));
+        assertThat(board.getGeometry(), equalTo(BoardGeometry.standard()));
+    }
+
+    @Test
+    public void getPitsStones_shouldNotCountTheKalahs() {
+        // given
+        PackedBoard board = PackedBoard.of(new int[] {
+                0, 3, 0, 0, 0, 1, 25,
+                2, 0, 0, 0, 0, 0, 41
+        });
+
+        // when and then
+        assertThat(board.getPitsStones(PLAYER_ONE), equalTo(4));
+        assertThat(board.getPitsStones(PLAYER_TWO), equalTo(2));
+        assertFalse(board.isPitsEmpty(PLAYER_ONE));
+    }
+
+    @Test
+    public void isPitsEmpty_withStonesOnTheKalahOnly_shouldBeEmpty() {
+        // given
+        PackedBoard board = PackedBoard.of(new int[] {
+                0, 0, 0, 0, 0, 0, 30,
+                1, 0, 0, 0, 0, 5, 36
+        });
+
+        // when and then
+        assertTrue(board.isPitsEmpty(PLAYER_ONE));
+        assertFalse(board.isPitsEmpty(PLAYER_TWO));
+        assertThat(board.getPitsStones(PLAYER_TWO), equalTo(6));
+    }
+
+    @Test
+    public void of_withTheLargestBoard_shouldKeepAllTheStones() {
+        // given
+        int[] pits = BoardGeometry.of(BoardGeometry.MAX_PITS_PER_SIDE).initialPits(48);
+
+        // when
+        PackedBoard board = PackedBoard.of(pits);
+        board.set(0, 0);
+        board.add(11, 48);
+
+        // then
+        assertThat(board.get(11), equalTo(96));
+        assertThat(board.getPitsStones(PLAYER_ONE), equalTo(12 * 48));
+        assertThat(board.getPitsStones(PLAYER_TWO), equalTo(12 * 48));
+    }
+
+    @Test
+    public void copyFrom_shouldTakeTheStonesOfTheOtherBoard() {
+        // given
+        PackedBoard initialBoard = PackedBoard.of(BoardGeometry.standard().initialPits(6));
+        PackedBoard board = initialBoard.copy();
+        board.set(0, 0);
+        board.add(6, 6);
+
+        // when
+        board.copyFrom(initialBoard);
+
+        // then
+        assertThat(board.toPits(), equalTo(initialBoard.toPits()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void copyFrom_withAnotherLayout_shouldThrowIllegalArgumentException() {
+        // given
+        PackedBoard board = PackedBoard.of(BoardGeometry.standard().initialPits(6));
+
+        // when
+        board.copyFrom(PackedBoard.of(BoardGeometry.of(4).initialPits(6)));
+
+        // then throw IllegalArgumentException
+    }
+}
@@ -1,7 +1,9 @@
 package com.edilson.justiniano.kalah.integration.api;
 
+import com.edilson.justiniano.kalah.api.model.GameRequest;
 import com.edilson.justiniano.kalah.api.model.GameResponse;
 import com.edilson.justiniano.kalah.api.service.GameBuilder;
+import com.edilson.justiniano.kalah.persistence.game.archive.GameArchiver;
 import com.edilson.justiniano.kalah.persistence.game.model.Board;
 import com.edilson.justiniano.kalah.persistence.game.model.Game;
 import com.edilson.justiniano.kalah.persistence.game.repository.GameRepository;
@@ -10,10 +12,14 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration;
 import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -28,7 +34,11 @@ import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_
 import static java.time.Instant.now;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -38,9 +48,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
-@SpringBootTest
+// Without the cache of the running games nor the one of the unknown games, every request goes to the repository
+@SpringBootTest(properties = {"kalah.cache.max-games=0", "kalah.lookup.not-found-ttl-ms=0"})
 @AutoConfigureMockMvc
-@EnableAutoConfiguration(exclude={MongoAutoConfiguration.class, MongoDataAutoConfiguration.class})
+@EnableAutoConfiguration(exclude={MongoAutoConfiguration.class, MongoDataAutoConfiguration.class,
+        MongoReactiveAutoConfiguration.class, MongoReactiveDataAutoConfiguration.class,
+        MongoReactiveRepositoriesAutoConfiguration.class})
 public class GameControllerIt {
 
     private static final String GAME_ID = "gameId";
@@ -56,11 +69,15 @@ public class GameControllerIt {
     @MockBean
     private GameRepository gameRepository;
 
+    // Needs the MongoTemplate, which is not created without MongoDB
+    @MockBean
+    private GameArchiver gameArchiver;
+
     @Test
     public void createGame_shouldReturnCreatedGame() throws Exception {
         // given
         Game game = buildGame();
-        given(gameBuilder.buildGame()).willReturn(game);
+        given(gameBuilder.buildGame(any(GameRequest.class))).willReturn(game);
         given(gameRepository.save(any(Game.class))).willReturn(game);
         given(gameBuilder.buildGameResponse(game)).willReturn(buildGameResponse());
 
@@ -74,6 +91,19 @@ public class GameControllerIt {
         verify(gameRepository).save(any(Game.class));
     }
 
+    @Test
+    public void createGame_withInvalidBoard_shouldReturnError() throws Exception {
+        // when
+        mockMvc.perform(post("/games")
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                                .content("{\"pitsPerSide\": 20, \"seedsPerPit\": 6}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", is("kalahgame.api.game.invalid.board")));
+
+        // then
+        verify(gameRepository, never()).save(any(Game.class));
+    }
+
     @Test
     public void getGame_withValidId_shouldReturnTheGame() throws Exception {
         // given
@@ -91,6 +121,25 @@ public class GameControllerIt {
         verify(gameRepository).findById(GAME_ID);
     }
 
+    @Test
+    public void getLegalMoves_withValidId_shouldReturnTheLegalMoves() throws Exception {
+        // given
+        Game game = buildGame();
+        GameResponse gameResponse = buildGameResponse();
+        gameResponse.setLegalMoves(game.legalMoves());
+        given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
+        given(gameBuilder.buildLegalMovesResponse(game)).willReturn(gameResponse);
+
+        // when
+        mockMvc.perform(get("/games/" + GAME_ID + "/legal-moves")
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.legalMoves", is(0b111111)));
+
+        // then
+        verify(gameRepository).findById(GAME_ID);
+    }
+
     @Test
     public void getGame_withInvalidId_shouldReturnError() throws Exception {
         // given
@@ -150,7 +199,23 @@ public class GameControllerIt {
 
         // then
         verify(gameRepository).findById(GAME_ID);
-        verify(gameRepository).save(any(Game.class));
+        verify(gameRepository).updateMovement(any(Game.class), any(), anyInt());
+    }
+
+    @Test
+    public void moveGame_withConcurrentMovements_shouldReturnConflict() throws Exception {
+        // given
+        given(gameRepository.findById(GAME_ID)).willAnswer(invocation -> Optional.of(buildGame()));
+        doThrow(new OptimisticLockingFailureException("changed")).when(gameRepository).updateMovement(any(Game.class), any(), anyInt());
+
+        // when
+        mockMvc.perform(put("/games/" + GAME_ID + "/pits/" + PIT_ID)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode", is("kalahgame.api.game.concurrent.movement")));
+
+        // then
+        verify(gameRepository, times(3)).updateMovement(any(Game.class), any(), anyInt());
     }
 
     @Test
@@ -167,6 +232,38 @@ public class GameControllerIt {
         verify(gameRepository).findById(GAME_ID);
     }
 
+    @Test
+    public void moveGameInBatch_withValidId_shouldReturnOk() throws Exception {
+        // given
+        Game game = buildGame();
+        given(gameRepository.findById(GAME_ID)).willReturn(Optional.of(game));
+        given(gameBuilder.buildGameStatusResponse(game)).willReturn(buildGameStatusResponse());
+
+        // when
+        mockMvc.perform(put("/games/" + GAME_ID + "/pits")
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                                .content("{\"pitIds\": [1, 2, 3]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rejectedMovementIndex", is(2)))
+                .andExpect(jsonPath("$.rejectedMovementReason", is("kalahgame.api.game.invalid.movement")));
+
+        // then
+        verify(gameRepository).findById(GAME_ID);
+        verify(gameRepository).updateMovement(any(Game.class), any(), anyInt());
+    }
+
+    @Test
+    public void moveGameInBatch_withoutPits_shouldReturnError() throws Exception {
+        // when
+        mockMvc.perform(put("/games/" + GAME_ID + "/pits")
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                                .content("{\"pitIds\": []}"))
+                .andExpect(status().isBadRequest());
+
+        // then
+        verify(gameRepository, never()).findById(GAME_ID);
+    }
+
     private GameResponse buildGameResponse() {
         return GameResponse.builder()
                 .id(GAME_ID)
@@ -0,0 +1,134 @@
+package com.edilson.justiniano.kalah.integration.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The whole API over the in-memory repository, nothing is mocked and no MongoDB is needed
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("memory")
+@AutoConfigureMockMvc
+public class GameControllerMemoryIt {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void playGame_shouldKeepTheMovementsUntilTheGameIsDeleted() throws Exception {
+        // given
+        String content = mockMvc.perform(post("/games")
+                                                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode createdGame = objectMapper.readTree(content);
+        String gameUrl = "/games/" + createdGame.get("id").asText();
+
+        // when
+        mockMvc.perform(put(gameUrl + "/pits/1")
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // then
+        mockMvc.perform(get(gameUrl + "/legal-moves"))
+                .andExpect(status().isOk())
+                // Player one keeps playing (extra turn) and the pit 1 is empty
+                .andExpect(jsonPath("$.legalMoves", is(0b111110)));
+        mockMvc.perform(delete(gameUrl))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get(gameUrl))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void getGame_withTheETagOfTheGame_shouldReturnNotModifiedUntilTheNextMovement() throws Exception {
+        // given
+        String content = mockMvc.perform(post("/games")
+                                                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+        String gameUrl = "/games/" + objectMapper.readTree(content).get("id").asText();
+        String eTag = mockMvc.perform(get(gameUrl))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        mockMvc.perform(get(gameUrl).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(put(gameUrl + "/pits/1")
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // then
+        mockMvc.perform(get(gameUrl).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    public void createGames_shouldStreamTheCreatedGames() throws Exception {
+        // given
+        MvcResult result = mockMvc.perform(post("/games/bulk")
+                                                   .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                                                   .content("{\"count\": 1200, \"game\": {\"pitsPerSide\": 4}}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // when
+        String content = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        // then
+        JsonNode createdGames = objectMapper.readTree(content);
+        assertThat(createdGames.size(), is(1200));
+        mockMvc.perform(get("/games/" + createdGames.get(1199).get("id").asText() + "/legal-moves"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.legalMoves", is(0b1111)));
+    }
+
+    @Test
+    public void getGameEvents_withUnknownGame_shouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/games/unknown/events"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode", is("kalahgame.api.game.notfound")));
+    }
+
+    @Test
+    public void createGames_withTooManyGames_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/games/bulk")
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                                .content("{\"count\": 10001}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", is("kalahgame.api.game.invalid.count")));
+    }
+}
@@ -0,0 +1,79 @@
+package com.edilson.justiniano.kalah.integration.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+
+/**
+ * The events of the games for the spectators over a real server (the stream is written with non-blocking I/O) and the
+ * in-memory repository
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("memory")
+public class GameSpectatorsIt {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void getGameEvents_shouldStreamTheBoardOfEveryMovement() throws Exception {
+        // given
+        String gameId = createGame();
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + "/games/" + gameId + "/events").openConnection();
+        connection.setReadTimeout(5_000);
+        BufferedReader events = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+        assertThat(connection.getContentType(), startsWith("text/event-stream"));
+        assertThat(nextBoard(events), equalTo(6));
+
+        // when
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        restTemplate.put("/games/" + gameId + "/pits/1", new HttpEntity<>(headers));
+
+        // then
+        assertThat(nextBoard(events), equalTo(0));
+        connection.disconnect();
+    }
+
+    private String createGame() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String content = restTemplate.postForObject("/games", new HttpEntity<>(headers), String.class);
+        return objectMapper.readTree(content).get("id").asText();
+    }
+
+    // The stones of the first pit on the next board event
+    private int nextBoard(BufferedReader events) throws Exception {
+        assertThat(events.readLine(), equalTo("event:board"));
+        String data = events.readLine();
+        assertThat(data, startsWith("data:{"));
+        assertThat(events.readLine(), equalTo(""));
+        return objectMapper.readTree(data.substring("data:".length())).get("status").get("1").asInt();
+    }
+}
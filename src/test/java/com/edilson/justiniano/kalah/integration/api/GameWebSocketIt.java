@@ -0,0 +1,120 @@
+package com.edilson.justiniano.kalah.integration.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.GAME_NOT_FOUND;
+import static com.edilson.justiniano.kalah.api.exception.GameApiErrorReason.INVALID_MOVEMENT;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * The play channel of the games over a real server and the in-memory repository
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("memory")
+public class GameWebSocketIt {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void makeMovement_shouldPushTheBoardToEveryClientOfTheGame() throws Exception {
+        // given
+        String gameId = createGame();
+        BlockingQueue<String> playerOneMessages = new LinkedBlockingQueue<>();
+        BlockingQueue<String> playerTwoMessages = new LinkedBlockingQueue<>();
+        WebSocketSession playerOne = connect(gameId, playerOneMessages);
+        WebSocketSession playerTwo = connect(gameId, playerTwoMessages);
+        assertThat(nextMessage(playerOneMessages).get("status").get("1").asInt(), equalTo(6));
+        nextMessage(playerTwoMessages);
+
+        // when
+        playerOne.sendMessage(new TextMessage("1"));
+
+        // then
+        assertThat(nextMessage(playerOneMessages).get("status").get("1").asInt(), equalTo(0));
+        assertThat(nextMessage(playerTwoMessages).get("status").get("7").asInt(), equalTo(1));
+        playerOne.close();
+        playerTwo.close();
+    }
+
+    @Test
+    public void makeMovement_withInvalidMovement_shouldAnswerTheErrorToTheSenderOnly() throws Exception {
+        // given
+        String gameId = createGame();
+        BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        WebSocketSession session = connect(gameId, messages);
+        nextMessage(messages);
+
+        // when
+        session.sendMessage(new TextMessage("pit"));
+
+        // then
+        assertThat(nextMessage(messages).get("errorCode").asText(), equalTo(INVALID_MOVEMENT.getErrorCode()));
+        session.close();
+    }
+
+    @Test
+    public void connect_withUnknownGame_shouldAnswerGameNotFound() throws Exception {
+        // given
+        BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+
+        // when
+        connect("unknown", messages);
+
+        // then
+        assertThat(nextMessage(messages).get("errorCode").asText(), equalTo(GAME_NOT_FOUND.getErrorCode()));
+    }
+
+    private String createGame() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String content = restTemplate.postForObject("/games", new HttpEntity<>(headers), String.class);
+        return objectMapper.readTree(content).get("id").asText();
+    }
+
+    private WebSocketSession connect(String gameId, BlockingQueue<String> messages) throws Exception {
+        TextWebSocketHandler handler = new TextWebSocketHandler() {
+            @Override
+            protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+                messages.add(message.getPayload());
+            }
+        };
+        return new StandardWebSocketClient()
+                .doHandshake(handler, "ws://localhost:" + port + "/games/" + gameId + "/ws")
+                .get(5, TimeUnit.SECONDS);
+    }
+
+    private JsonNode nextMessage(BlockingQueue<String> messages) throws Exception {
+        String message = messages.poll(5, TimeUnit.SECONDS);
+        assertThat(message != null, equalTo(true));
+        return objectMapper.readTree(message);
+    }
+}
@@ -0,0 +1,167 @@
+package com.edilson.justiniano.kalah.integration.api;
+
+import com.edilson.justiniano.kalah.api.service.GameService;
+import com.edilson.justiniano.kalah.persistence.game.archive.GameArchiver;
+import com.edilson.justiniano.kalah.persistence.game.cache.RunningGameCache;
+import com.edilson.justiniano.kalah.persistence.game.model.Board;
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import com.edilson.justiniano.kalah.persistence.game.repository.GameRepository;
+import com.edilson.justiniano.kalah.persistence.game.repository.ReactiveGameRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.RUNNING;
+import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_ONE;
+import static java.time.Instant.now;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The API on the reactive stack (WebFlux and the reactive repository), it must answer like the Spring MVC one
+ */
+@RunWith(SpringRunner.class)
+// The test context takes the web stack from its own properties, not from the profile
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+@EnableAutoConfiguration(exclude={MongoAutoConfiguration.class, MongoDataAutoConfiguration.class,
+        MongoReactiveAutoConfiguration.class, MongoReactiveDataAutoConfiguration.class,
+        MongoReactiveRepositoriesAutoConfiguration.class})
+public class ReactiveGameControllerIt {
+
+    private static final String GAME_ID = "gameId";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @MockBean
+    private ReactiveGameRepository reactiveGameRepository;
+
+    @MockBean
+    private GameArchiver gameArchiver;
+
+    @Test
+    public void createGame_shouldReturnCreatedGame() {
+        // given
+        given(reactiveGameRepository.save(any(Game.class))).willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // when
+        webTestClient.post().uri("/games")
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNotEmpty()
+                .jsonPath("$.url").isNotEmpty();
+
+        // then
+        verify(reactiveGameRepository).save(any(Game.class));
+    }
+
+    @Test
+    public void getGame_withInvalidId_shouldReturnError() {
+        // given
+        given(reactiveGameRepository.findById(GAME_ID)).willReturn(Mono.empty());
+
+        // when
+        webTestClient.get().uri("/games/" + GAME_ID)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("kalahgame.api.game.notfound");
+    }
+
+    @Test
+    public void moveGame_withValidMovement_shouldReturnTheBoard() {
+        // given
+        given(reactiveGameRepository.findById(GAME_ID)).willReturn(Mono.fromSupplier(this::buildGame));
+        given(reactiveGameRepository.updateMovement(any(Game.class), eq(0L), eq(0))).willReturn(Mono.empty());
+
+        // when
+        webTestClient.put().uri("/games/" + GAME_ID + "/pits/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(GAME_ID)
+                .jsonPath("$.status.1").isEqualTo(0)
+                .jsonPath("$.status.7").isEqualTo(1);
+
+        // then
+        verify(reactiveGameRepository).updateMovement(any(Game.class), eq(0L), eq(0));
+    }
+
+    @Test
+    public void moveGame_withConcurrentMovements_shouldReturnConflict() {
+        // given
+        AtomicInteger reads = new AtomicInteger();
+        // Every attempt subscribes again, so the game is read again
+        given(reactiveGameRepository.findById(GAME_ID)).willReturn(Mono.fromSupplier(() -> {
+            reads.incrementAndGet();
+            return buildGame();
+        }));
+        given(reactiveGameRepository.updateMovement(any(Game.class), any(), anyInt()))
+                .willReturn(Mono.error(new OptimisticLockingFailureException("changed")));
+
+        // when
+        webTestClient.put().uri("/games/" + GAME_ID + "/pits/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("kalahgame.api.game.concurrent.movement");
+
+        // then
+        assertThat(reads.get(), equalTo(3));
+        verify(reactiveGameRepository, times(3)).updateMovement(any(Game.class), any(), anyInt());
+    }
+
+    @Test
+    public void context_shouldNotCreateTheBlockingServices() {
+        assertThat(applicationContext.getBeanNamesForType(GameService.class).length, equalTo(0));
+        assertThat(applicationContext.getBeanNamesForType(RunningGameCache.class).length, equalTo(0));
+        assertThat(applicationContext.getBeanNamesForType(GameRepository.class).length, equalTo(0));
+    }
+
+    private Game buildGame() {
+        return Game.builder()
+                .gameId(GAME_ID)
+                .version(0L)
+                .nextPlayer(PLAYER_ONE)
+                .gameStatus(RUNNING)
+                .startedTime(now().toEpochMilli())
+                .board(Board.builder()
+                               .pits(new int[] {6, 6, 6, 6, 6, 6, 0, 6, 6, 6, 6, 6, 6, 0})
+                               .build())
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.edilson.justiniano.kalah.persistence.game.archive;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Board;
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.edilson.justiniano.kalah.persistence.game.archive.GameArchiver.FIELD_DURATION;
+import static com.edilson.justiniano.kalah.persistence.game.archive.GameArchiver.FIELD_ID;
+import static com.edilson.justiniano.kalah.persistence.game.archive.GameArchiver.FIELD_PLAYER_ONE_SCORE;
+import static com.edilson.justiniano.kalah.persistence.game.archive.GameArchiver.FIELD_PLAYER_TWO_SCORE;
+import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.FINISHED;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link GameArchiver} class
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class GameArchiverTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private GameArchiver gameArchiver;
+
+    @Before
+    public void setUp() {
+        gameArchiver = new GameArchiver(mongoTemplate, new MockEnvironment()
+                .withProperty("kalah.archive.batch-size", "2"));
+    }
+
+    @Test
+    public void archiveFinishedGames_shouldMoveTheSummariesBatchByBatch() {
+        // given
+        given(mongoTemplate.find(any(Query.class), eq(Game.class)))
+                .willReturn(Arrays.asList(buildGame("gameOne"), buildGame("gameTwo")))
+                .willReturn(Collections.singletonList(buildGame("gameThree")));
+        given(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ArchivedGame.class)).willReturn(bulkOperations);
+        ArgumentCaptor<Query> summaryQuery = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> summary = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<Query> removeQuery = ArgumentCaptor.forClass(Query.class);
+
+        // when
+        int archivedGames = gameArchiver.archiveFinishedGames();
+
+        // then
+        assertThat(archivedGames, equalTo(3));
+        verify(bulkOperations, times(3)).upsert(summaryQuery.capture(), summary.capture());
+        verify(bulkOperations, times(2)).execute();
+        assertThat(summaryQuery.getAllValues().get(2).getQueryObject().get(FIELD_ID), equalTo("gameThree"));
+        Document set = (Document) summary.getAllValues().get(0).getUpdateObject().get("$set");
+        assertThat(set.get(FIELD_DURATION), equalTo(120L));
+        assertThat(set.get(FIELD_PLAYER_ONE_SCORE), equalTo(40));
+        assertThat(set.get(FIELD_PLAYER_TWO_SCORE), equalTo(32));
+
+        verify(mongoTemplate, times(2)).remove(removeQuery.capture(), eq(Game.class));
+        Document removed = (Document) removeQuery.getAllValues().get(0).getQueryObject().get(FIELD_ID);
+        assertThat(removed.get("$in"), equalTo(Arrays.asList("gameOne", "gameTwo")));
+    }
+
+    @Test
+    public void archiveFinishedGames_withoutFinishedGames_shouldWriteNothing() {
+        // given
+        given(mongoTemplate.find(any(Query.class), eq(Game.class))).willReturn(Collections.emptyList());
+
+        // when
+        int archivedGames = gameArchiver.archiveFinishedGames();
+
+        // then
+        assertThat(archivedGames, equalTo(0));
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(ArchivedGame.class));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(Game.class));
+    }
+
+    private Game buildGame(String gameId) {
+        return Game.builder()
+                .gameId(gameId)
+                .gameStatus(FINISHED)
+                .duration(120L)
+                .board(Board.builder()
+                               .pits(new int[] {0, 0, 0, 0, 0, 0, 40, 0, 0, 0, 0, 0, 0, 32})
+                               .build())
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.edilson.justiniano.kalah.persistence.game.cache;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Board;
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import com.edilson.justiniano.kalah.persistence.game.repository.GameRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.edilson.justiniano.kalah.persistence.game.cache.GameLoader.METRIC_LOOKUP;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link GameLoader} class
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class GameLoaderTest {
+
+    private static final String GAME_ID = "gameId";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Test
+    public void findById_concurrentReadsOfTheSameGame_shouldShareTheQuery() throws Exception {
+        // given
+        GameLoader gameLoader = new GameLoader(gameRepository, new MockEnvironment(), meterRegistry);
+        Game game = buildGame();
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(gameRepository.findById(GAME_ID)).willAnswer(invocation -> {
+            reading.countDown();
+            release.await();
+            return Optional.of(game);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        Future<Optional<Game>> firstRead = executor.submit(() -> gameLoader.findById(GAME_ID));
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        Future<Optional<Game>> secondRead = executor.submit(() -> gameLoader.findById(GAME_ID));
+        // The second read waits for the first one before it is released
+        while (lookups("in-flight", "hit") == 0) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        // then
+        assertThat(firstRead.get(5, TimeUnit.SECONDS).get(), sameInstance(game));
+        Game sharedGame = secondRead.get(5, TimeUnit.SECONDS).get();
+        assertThat(sharedGame, not(sameInstance(game)));
+        assertThat(sharedGame.getGameId(), equalTo(GAME_ID));
+        verify(gameRepository).findById(GAME_ID);
+        assertThat(lookups("in-flight", "miss"), equalTo(1.0));
+        executor.shutdown();
+    }
+
+    @Test
+    public void findById_unknownGame_shouldBeRememberedForAWhile() {
+        // given
+        GameLoader gameLoader = new GameLoader(gameRepository, new MockEnvironment(), meterRegistry);
+        given(gameRepository.findById(GAME_ID)).willReturn(Optional.empty());
+
+        // when
+        Optional<Game> firstRead = gameLoader.findById(GAME_ID);
+        Optional<Game> secondRead = gameLoader.findById(GAME_ID);
+
+        // then
+        assertFalse(firstRead.isPresent());
+        assertFalse(secondRead.isPresent());
+        verify(gameRepository).findById(GAME_ID);
+        assertThat(lookups("not-found", "hit"), equalTo(1.0));
+        assertThat(lookups("not-found", "miss"), equalTo(1.0));
+    }
+
+    @Test
+    public void findById_unknownGameWithoutTtl_shouldAlwaysReadTheRepository() {
+        // given
+        GameLoader gameLoader = new GameLoader(gameRepository, new MockEnvironment()
+                .withProperty("kalah.lookup.not-found-ttl-ms", "0"), meterRegistry);
+        given(gameRepository.findById(GAME_ID)).willReturn(Optional.empty());
+
+        // when
+        gameLoader.findById(GAME_ID);
+        gameLoader.findById(GAME_ID);
+
+        // then
+        verify(gameRepository, times(2)).findById(GAME_ID);
+        assertThat(lookups("not-found", "hit"), equalTo(0.0));
+    }
+
+    private double lookups(String cache, String result) {
+        return meterRegistry.get(METRIC_LOOKUP).tag("cache", cache).tag("result", result).counter().count();
+    }
+
+    private Game buildGame() {
+        return Game.builder()
+                .gameId(GAME_ID)
+                .board(Board.builder().pits(new int[] {6, 6, 6, 6, 6, 6, 0, 6, 6, 6, 6, 6, 6, 0}).build())
+                .build();
+    }
+}
@@ -0,0 +1,301 @@
+package com.edilson.justiniano.kalah.persistence.game.cache;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Board;
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import com.edilson.justiniano.kalah.persistence.game.repository.GameRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.FINISHED;
+import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.RUNNING;
+import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_ONE;
+import static java.time.Instant.now;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link RunningGameCache} class. The background flush is disabled by a long staleness, the tests call
+ * the flush themselves
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RunningGameCacheTest {
+
+    private static final String GAME_ID = "gameId";
+
+    @Mock
+    private GameRepository gameRepository;
+
+    private RunningGameCache gameCache;
+
+    @Before
+    public void setUp() {
+        gameCache = new RunningGameCache(gameRepository, new MockEnvironment()
+                .withProperty("kalah.cache.max-games", "2")
+                .withProperty("kalah.cache.max-staleness-ms", "3600000"));
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        gameCache.shutdown();
+    }
+
+    @Test
+    public void get_shouldReturnACopyOfTheCachedGame() {
+        // given
+        Game game = buildGame(GAME_ID);
+        gameCache.put(game);
+
+        // when
+        Game result = gameCache.get(GAME_ID).get();
+        result.getBoard().getPits()[0] = 0;
+
+        // then
+        assertThat(result, not(sameInstance(game)));
+        assertThat(gameCache.get(GAME_ID).get().getBoard().getPits()[0], equalTo(6));
+    }
+
+    @Test
+    public void update_withRunningGames_shouldWriteOnlyTheLastMovementOnTheFlush() {
+        // given
+        Game game = buildGame(GAME_ID);
+        ArgumentCaptor<Game> savedGame = ArgumentCaptor.forClass(Game.class);
+
+        // when
+        game.getBoard().getPits()[0] = 1;
+        assertTrue(updateGame(game));
+        game.getBoard().getPits()[0] = 2;
+        assertTrue(updateGame(game));
+
+        // then
+        verify(gameRepository, never()).updateMovement(any(Game.class), any(), anyInt());
+        gameCache.flush();
+        gameCache.flush();
+        verify(gameRepository, times(1)).updateMovement(savedGame.capture(), eq(null), anyInt());
+        assertThat(savedGame.getValue().getBoard().getPits()[0], equalTo(2));
+        assertThat(savedGame.getValue().getVersion(), equalTo(2L));
+    }
+
+    @Test
+    public void update_afterAFlush_shouldWriteFromTheWrittenVersion() {
+        // given
+        Game game = buildGame(GAME_ID);
+        updateGame(game);
+        gameCache.flush();
+
+        // when
+        updateGame(game);
+        gameCache.flush();
+
+        // then
+        verify(gameRepository).updateMovement(any(Game.class), eq(1L), anyInt());
+    }
+
+    @Test(expected = OptimisticLockingFailureException.class)
+    public void update_withAStaleGame_shouldRejectTheMovement() {
+        // given
+        Game game = buildGame(GAME_ID);
+        gameCache.put(game);
+        Game staleGame = gameCache.get(GAME_ID).get();
+        updateGame(game);
+
+        // when
+        updateGame(staleGame);
+    }
+
+    @Test
+    public void flush_withGameChangedOnTheDatabase_shouldDropTheGame() {
+        // given
+        Game game = buildGame(GAME_ID);
+        updateGame(game);
+        doThrow(new OptimisticLockingFailureException("changed")).when(gameRepository).updateMovement(any(Game.class), any(), anyInt());
+
+        // when
+        gameCache.flush();
+
+        // then
+        assertFalse(gameCache.get(GAME_ID).isPresent());
+    }
+
+    @Test
+    public void update_withFinishedGame_shouldWriteItRightAwayAndDropIt() {
+        // given
+        Game game = buildGame(GAME_ID);
+        updateGame(game);
+        game.setGameStatus(FINISHED);
+
+        // when
+        boolean result = updateGame(game);
+
+        // then
+        assertTrue(result);
+        verify(gameRepository).updateMovement(any(Game.class), eq(null), anyInt());
+        assertThat(gameCache.get(GAME_ID), equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void update_withFinishedGame_withFailedWrite_shouldKeepItUntilTheFlushWritesIt() {
+        // given
+        doThrow(new IllegalStateException("down")).doNothing()
+                .when(gameRepository).updateMovement(any(Game.class), any(), anyInt());
+        Game game = buildGame(GAME_ID);
+        updateGame(game);
+        game.setGameStatus(FINISHED);
+
+        // when
+        boolean result = updateGame(game);
+
+        // then
+        assertTrue(result);
+        assertThat(gameCache.get(GAME_ID).map(Game::getGameStatus), equalTo(Optional.of(FINISHED)));
+        gameCache.flush();
+        verify(gameRepository, times(2)).updateMovement(any(Game.class), eq(null), anyInt());
+        assertFalse(gameCache.get(GAME_ID).isPresent());
+    }
+
+    @Test
+    public void update_overTheMaximumOfGames_shouldEvictTheLeastRecentlyUsed() {
+        // given
+        updateGame(buildGame("first"));
+        gameCache.put(buildGame("second"));
+        gameCache.get("first");
+
+        // when
+        gameCache.put(buildGame("third"));
+
+        // then
+        assertThat(gameCache.size(), equalTo(2));
+        assertFalse(gameCache.get("second").isPresent());
+        assertTrue(gameCache.get("first").isPresent());
+        verify(gameRepository, never()).updateMovement(any(Game.class), any(), anyInt());
+    }
+
+    @Test
+    public void update_whileTheGameIsWrittenByTheEviction_shouldKeepTheMovementOnTheCache() throws Exception {
+        // given
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            written.await(5, TimeUnit.SECONDS);
+            return null;
+        }).doNothing().when(gameRepository).updateMovement(any(Game.class), any(), anyInt());
+        updateGame(buildGame("first"));
+        gameCache.put(buildGame("second"));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // when
+            Future<?> eviction = executor.submit(() -> gameCache.put(buildGame("third")));
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            Game game = gameCache.get("first").orElseThrow(AssertionError::new);
+            Future<Boolean> movement = executor.submit(() -> updateGame(game));
+            // The movement is on the cache while the eviction still writes the previous game
+            while (!Long.valueOf(2L).equals(gameCache.get("first").map(Game::getVersion).orElse(null))) {
+                Thread.sleep(1);
+            }
+            written.countDown();
+            eviction.get(5, TimeUnit.SECONDS);
+            assertTrue(movement.get(5, TimeUnit.SECONDS));
+            gameCache.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        assertThat(gameCache.get("first").map(Game::getVersion), equalTo(Optional.of(2L)));
+        ArgumentCaptor<Game> writtenGame = ArgumentCaptor.forClass(Game.class);
+        verify(gameRepository, times(2)).updateMovement(writtenGame.capture(), any(), anyInt());
+        assertThat(writtenGame.getAllValues().get(1).getVersion(), equalTo(2L));
+        verify(gameRepository).updateMovement(any(Game.class), eq(1L), anyInt());
+    }
+
+    @Test
+    public void update_overTheMaximumOfGames_withFailedWrite_shouldKeepTheDirtyGame() {
+        // given
+        doThrow(new IllegalStateException("down")).doNothing()
+                .when(gameRepository).updateMovement(any(Game.class), any(), anyInt());
+        updateGame(buildGame("first"));
+        gameCache.put(buildGame("second"));
+
+        // when
+        gameCache.put(buildGame("third"));
+        gameCache.flush();
+
+        // then
+        assertTrue(gameCache.get("first").isPresent());
+        verify(gameRepository, times(2)).updateMovement(any(Game.class), eq(null), anyInt());
+    }
+
+    @Test
+    public void remove_shouldDropTheGameWithoutWritingIt() {
+        // given
+        updateGame(buildGame(GAME_ID));
+
+        // when
+        gameCache.remove(GAME_ID);
+        gameCache.flush();
+
+        // then
+        assertFalse(gameCache.get(GAME_ID).isPresent());
+        verify(gameRepository, never()).updateMovement(any(Game.class), any(), anyInt());
+    }
+
+    @Test
+    public void shutdown_shouldWriteTheDirtyGames() throws InterruptedException {
+        // given
+        updateGame(buildGame(GAME_ID));
+
+        // when
+        gameCache.shutdown();
+
+        // then
+        verify(gameRepository).updateMovement(any(Game.class), any(), anyInt());
+    }
+
+    /*
+     * Changes the version of the game like the service does on every movement
+     */
+    private boolean updateGame(Game game) {
+        Long previousVersion = game.getVersion();
+        game.setVersion(game.nextVersion());
+        return gameCache.update(game, previousVersion);
+    }
+
+    private Game buildGame(String gameId) {
+        return Game.builder()
+                .gameId(gameId)
+                .startedTime(now().toEpochMilli())
+                .gameStatus(RUNNING)
+                .nextPlayer(PLAYER_ONE)
+                .board(Board.builder()
+                               .pits(new int[] {6, 6, 6, 6, 6, 6, 0, 6, 6, 6, 6, 6, 6, 0})
+                               .build())
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.edilson.justiniano.kalah.persistence.game.converter;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Board;
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import com.edilson.justiniano.kalah.persistence.game.model.Move;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Arrays;
+
+import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.FINISHED;
+import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.RUNNING;
+import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_ONE;
+import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_TWO;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link GameConverters} class, through the same MongoDB converter used by the application
+ */
+@RunWith(JUnit4.class)
+public class GameConvertersTest {
+
+    private static final int[] PITS = new int[] {0, 7, 7, 7, 7, 7, 1, 6, 6, 6, 6, 6, 6, 200};
+
+    private MappingMongoConverter converter;
+
+    @Before
+    public void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(GameConverters.getConverters());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+    }
+
+    @Test
+    public void encodePits_shouldTakeOneBytePerSmallPit() {
+        // when
+        byte[] result = GameConverters.encodePits(PITS);
+
+        // then
+        assertThat(result.length, equalTo(1 + PITS.length + 1));
+        assertThat(GameConverters.decodePits(result), equalTo(PITS));
+    }
+
+    @Test
+    public void write_shouldStoreTheBoardAsBinaryAndTheEnumsAsNumbers() {
+        // given
+        Document document = new Document();
+
+        // when
+        converter.write(buildGame(), document);
+
+        // then
+        assertThat(document.get("board"), instanceOf(Binary.class));
+        assertThat(document.get("nextPlayer"), equalTo(1));
+        assertThat(document.get("gameStatus"), equalTo(0));
+        assertThat(converter.read(Game.class, document).getBoard().getPits(), equalTo(PITS));
+    }
+
+    @Test
+    public void read_documentWrittenBefore_shouldReadTheArrayAndTheNames() {
+        // given
+        Document document = new Document("_id", "gameId")
+                .append("board", new Document("pits", Arrays.asList(0, 7, 7, 7, 7, 7, 1, 6, 6, 6, 6, 6, 6, 200)))
+                .append("nextPlayer", "PLAYER_ONE")
+                .append("gameStatus", "FINISHED");
+
+        // when
+        Game result = converter.read(Game.class, document);
+
+        // then
+        assertThat(result.getBoard().getPits(), equalTo(PITS));
+        assertThat(result.getNextPlayer(), equalTo(PLAYER_ONE));
+        assertThat(result.getGameStatus(), equalTo(FINISHED));
+    }
+
+    @Test
+    public void updateMapper_shouldConvertTheUpdatedFields() {
+        // given
+        Update update = new Update()
+                .set("board", Board.builder().pits(PITS.clone()).build())
+                .set("nextPlayer", PLAYER_TWO)
+                .push("moves", new Move(0, PLAYER_ONE, 1L));
+
+        // when
+        Document result = new UpdateMapper(converter).getMappedObject(update.getUpdateObject(),
+                                                                      converter.getMappingContext().getPersistentEntity(Game.class));
+
+        // then
+        Document set = (Document) result.get("$set");
+        assertThat(set.get("board"), instanceOf(Binary.class));
+        assertThat(set.get("nextPlayer"), equalTo(1));
+        Document move = (Document) ((Document) result.get("$push")).get("moves");
+        assertThat(move.get("player"), equalTo(0));
+    }
+
+    private Game buildGame() {
+        return Game.builder()
+                .gameId("gameId")
+                .gameStatus(RUNNING)
+                .nextPlayer(PLAYER_TWO)
+                .board(Board.builder().pits(PITS.clone()).build())
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.edilson.justiniano.kalah.persistence.game.id;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.edilson.justiniano.kalah.persistence.game.id.TimeOrderedGameIdGenerator.ID_LENGTH;
+import static com.edilson.justiniano.kalah.persistence.game.id.TimeOrderedGameIdGenerator.encode;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link TimeOrderedGameIdGenerator} class
+ */
+@RunWith(JUnit4.class)
+public class TimeOrderedGameIdGeneratorTest {
+
+    private TimeOrderedGameIdGenerator generator = new TimeOrderedGameIdGenerator(new MockEnvironment()
+            .withProperty("kalah.id.node", "7"));
+
+    @Test
+    public void nextId_shouldGenerateGrowingUrlSafeIds() {
+        // given
+        List<String> ids = new ArrayList<>();
+
+        // when
+        // More than the ids of a single millisecond, so some of them borrow the next one
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        // then
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0);
+        }
+        for (String id : ids) {
+            assertThat(id.length(), equalTo(ID_LENGTH));
+            assertTrue(id.matches("[A-Za-z0-9_-]+"));
+        }
+    }
+
+    @Test
+    public void encode_shouldKeepTheOrderOfTheIds() {
+        // when
+        String zero = encode(0);
+        String small = encode(63);
+        String bigger = encode(64);
+        String biggest = encode(Long.MAX_VALUE);
+
+        // then
+        assertThat(zero, equalTo("-----------"));
+        assertThat(small, equalTo("----------z"));
+        assertThat(bigger, equalTo("---------0-"));
+        assertTrue(zero.compareTo(small) < 0);
+        assertTrue(small.compareTo(bigger) < 0);
+        assertTrue(bigger.compareTo(biggest) < 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_withNodeOutOfRange_shouldFail() {
+        new TimeOrderedGameIdGenerator(new MockEnvironment().withProperty("kalah.id.node", "1024"));
+    }
+}
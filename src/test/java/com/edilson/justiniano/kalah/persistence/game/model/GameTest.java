@@ -0,0 +1,86 @@
+package com.edilson.justiniano.kalah.persistence.game.model;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+
+import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_ONE;
+import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_TWO;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link Game} class
+ */
+@RunWith(JUnit4.class)
+public class GameTest {
+
+    @Test
+    public void replayJournal_shouldPlayTheMovementsAfterTheSnapshot() {
+        // given
+        Game game = buildGame(new int[] {
+                0, 7, 7, 7, 7, 7, 1,
+                6, 6, 6, 6, 6, 6, 0
+        });
+        game.recordMove(0, PLAYER_ONE, 1L);
+        game.recordMove(1, PLAYER_ONE, 2L);
+        game.recordMove(12, PLAYER_TWO, 3L);
+        game.setSnapshotMoves(1);
+
+        // when
+        game.replayJournal();
+
+        // then
+        assertThat(game.getBoard().getPits(), equalTo(new int[] {
+                1, 1, 9, 9, 9, 8, 2,
+                7, 7, 6, 6, 6, 0, 1
+        }));
+        assertThat(game.getSnapshotMoves(), equalTo(3));
+        assertThat(game.getStoredMoves(), equalTo(3));
+    }
+
+    @Test
+    public void replayJournal_withoutJournal_shouldKeepTheBoard() {
+        // given
+        int[] pits = new int[] {
+                0, 7, 7, 7, 7, 7, 1,
+                6, 6, 6, 6, 6, 6, 0
+        };
+        Game game = buildGame(pits.clone());
+
+        // when
+        game.replayJournal();
+
+        // then
+        assertThat(game.getBoard().getPits(), equalTo(pits));
+        assertThat(game.moveCount(), equalTo(0));
+    }
+
+    @Test
+    public void copy_shouldNotShareTheJournal() {
+        // given
+        Game game = buildGame(new int[] {
+                6, 6, 6, 6, 6, 6, 0,
+                6, 6, 6, 6, 6, 6, 0
+        });
+        game.setMoves(new ArrayList<>());
+
+        // when
+        Game copy = game.copy();
+        copy.recordMove(0, PLAYER_ONE, 1L);
+
+        // then
+        assertThat(game.moveCount(), equalTo(0));
+        assertThat(copy.movesAfter(0).size(), equalTo(1));
+    }
+
+    private Game buildGame(int[] pits) {
+        return Game.builder()
+                .gameStatus(GameStatus.RUNNING)
+                .nextPlayer(PLAYER_ONE)
+                .board(Board.builder().pits(pits).build())
+                .build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.edilson.justiniano.kalah.persistence.game.repository;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Board;
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.FINISHED;
+import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.RUNNING;
+import static com.edilson.justiniano.kalah.persistence.game.model.Opponent.COMPUTER;
+import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_ONE;
+import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_TWO;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Unit tests for {@link FileGameRepository} class. Every test reopens the file to check what was written
+ */
+@RunWith(JUnit4.class)
+public class FileGameRepositoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    private FileGameRepository gameRepository;
+
+    @Before
+    public void setUp() throws IOException {
+        file = folder.getRoot().toPath().resolve("games.log");
+        gameRepository = open();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        gameRepository.close();
+    }
+
+    @Test
+    public void open_shouldRestoreTheSavedAndMovedGames() throws IOException {
+        // given
+        Game game = gameRepository.save(buildGame("first"));
+        gameRepository.save(buildGame("second"));
+        game.getBoard().getPits()[0] = 0;
+        game.getBoard().getPits()[6] = 1;
+        game.recordMove(0, PLAYER_ONE, 10L);
+        game.setGameStatus(FINISHED);
+        game.setNextPlayer(PLAYER_TWO);
+        game.setDuration(30L);
+        game.setVersion(1L);
+        gameRepository.updateMovement(game, 0L, 0);
+        gameRepository.deleteById("second");
+
+        // when
+        gameRepository.close();
+        gameRepository = open();
+
+        // then
+        Game storedGame = gameRepository.findById("first").get();
+        assertThat(storedGame.getVersion(), equalTo(1L));
+        assertThat(storedGame.getGameStatus(), equalTo(FINISHED));
+        assertThat(storedGame.getNextPlayer(), equalTo(PLAYER_TWO));
+        assertThat(storedGame.getDuration(), equalTo(30L));
+        assertThat(storedGame.getOpponent(), equalTo(COMPUTER));
+        assertThat(storedGame.getBoard().getPits(), equalTo(game.getBoard().getPits()));
+        assertThat(storedGame.getMoves().get(0).getPitIndex(), equalTo(0));
+        assertThat(storedGame.getMoves().get(0).getTime(), equalTo(10L));
+        assertFalse(gameRepository.findById("second").isPresent());
+    }
+
+    @Test
+    public void open_withIncompleteLastRecord_shouldKeepTheCompleteOnes() throws IOException {
+        // given
+        gameRepository.save(buildGame("first"));
+        gameRepository.save(buildGame("second"));
+        gameRepository.close();
+        corruptLastRecord();
+
+        // when
+        gameRepository = open();
+        gameRepository.save(buildGame("third"));
+        gameRepository.close();
+        gameRepository = open();
+
+        // then
+        assertThat(gameRepository.findById("first").isPresent(), equalTo(true));
+        assertFalse(gameRepository.findById("second").isPresent());
+        assertThat(gameRepository.findById("third").isPresent(), equalTo(true));
+    }
+
+    @Test
+    public void open_withMostlyDeadRecords_shouldCompactTheFile() throws IOException {
+        // given
+        Game game = gameRepository.save(buildGame("first"));
+        for (int i = 0; i < 10; i++) {
+            gameRepository.save(buildGame("deleted" + i));
+            gameRepository.deleteById("deleted" + i);
+        }
+        game.recordMove(0, PLAYER_ONE, 10L);
+        game.setVersion(1L);
+        gameRepository.updateMovement(game, 0L, 0);
+        long size = gameRepository.size();
+
+        // when
+        gameRepository.close();
+        gameRepository = open();
+        long compactedSize = gameRepository.size();
+        gameRepository.save(buildGame("second"));
+        gameRepository.close();
+        gameRepository = open();
+
+        // then
+        assertThat(compactedSize < size, equalTo(true));
+        assertThat(gameRepository.findById("first").get().getVersion(), equalTo(1L));
+        assertThat(gameRepository.findById("first").get().getMoves().size(), equalTo(1));
+        assertThat(gameRepository.findById("second").isPresent(), equalTo(true));
+        assertFalse(gameRepository.findById("deleted0").isPresent());
+        assertFalse(file.resolveSibling("games.log.compact").toFile().exists());
+    }
+
+    private FileGameRepository open() throws IOException {
+        return new FileGameRepository(new MockEnvironment().withProperty("kalah.store.file.path", file.toString()));
+    }
+
+    /*
+     * The last byte written is changed, like a record cut by a crash
+     */
+    private void corruptLastRecord() throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            long position = randomAccessFile.length() - 1;
+            while (position > 0) {
+                randomAccessFile.seek(position);
+                if (randomAccessFile.read() != 0) {
+                    break;
+                }
+                position--;
+            }
+            randomAccessFile.seek(position);
+            randomAccessFile.write(0x7F);
+        }
+    }
+
+    private Game buildGame(String gameId) {
+        return Game.builder()
+                .gameId(gameId)
+                .startedTime(1L)
+                .gameStatus(RUNNING)
+                .nextPlayer(PLAYER_ONE)
+                .opponent(COMPUTER)
+                .board(Board.builder()
+                               .pits(new int[] {6, 6, 6, 6, 6, 6, 0, 6, 6, 6, 6, 6, 6, 0})
+                               .build())
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.edilson.justiniano.kalah.persistence.game.repository;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Board;
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.mock.env.MockEnvironment;
+
+import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.RUNNING;
+import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_ONE;
+import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_TWO;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Unit tests for {@link InMemoryGameRepository} class
+ */
+@RunWith(JUnit4.class)
+public class InMemoryGameRepositoryTest {
+
+    private static final String GAME_ID = "gameId";
+
+    private final InMemoryGameRepository gameRepository = new InMemoryGameRepository(new MockEnvironment()
+            .withProperty("kalah.journal.snapshot-interval", "2"));
+
+    @Test
+    public void save_newGame_shouldStoreACopyOnTheFirstVersion() {
+        // given
+        Game game = buildGame();
+
+        // when
+        Game result = gameRepository.save(game);
+        game.getBoard().getPits()[0] = 0;
+
+        // then
+        assertThat(result.getVersion(), equalTo(0L));
+        Game storedGame = gameRepository.findById(GAME_ID).get();
+        assertThat(storedGame, not(sameInstance(game)));
+        assertThat(storedGame.getBoard().getPits()[0], equalTo(6));
+    }
+
+    @Test(expected = DuplicateKeyException.class)
+    public void save_newGameWithExistingId_shouldThrowException() {
+        // given
+        gameRepository.save(buildGame());
+
+        // when
+        gameRepository.save(buildGame());
+    }
+
+    @Test
+    public void updateMovement_shouldAppendTheJournalAndSnapshotOnTheInterval() {
+        // given
+        Game game = gameRepository.save(buildGame());
+        game.getBoard().getPits()[0] = 0;
+        game.recordMove(0, PLAYER_ONE, 1L);
+        game.setNextPlayer(PLAYER_TWO);
+        game.setVersion(1L);
+
+        // when
+        gameRepository.updateMovement(game, 0L, 0);
+        Game afterFirstMove = gameRepository.findById(GAME_ID).get();
+        game.getBoard().getPits()[7] = 0;
+        game.recordMove(7, PLAYER_TWO, 2L);
+        game.setVersion(2L);
+        gameRepository.updateMovement(game, 1L, 1);
+
+        // then
+        assertThat(afterFirstMove.moveCount(), equalTo(1));
+        assertThat(afterFirstMove.getNextPlayer(), equalTo(PLAYER_TWO));
+        assertThat(afterFirstMove.getBoard().getPits()[0], equalTo(6));
+        Game storedGame = gameRepository.findById(GAME_ID).get();
+        assertThat(storedGame.getVersion(), equalTo(2L));
+        assertThat(storedGame.moveCount(), equalTo(2));
+        assertThat(storedGame.getSnapshotMoves(), equalTo(2));
+        assertThat(storedGame.getBoard().getPits(), equalTo(game.getBoard().getPits()));
+    }
+
+    @Test(expected = OptimisticLockingFailureException.class)
+    public void updateMovement_withAnotherVersionStored_shouldThrowException() {
+        // given
+        Game game = gameRepository.save(buildGame());
+        game.setVersion(5L);
+
+        // when
+        gameRepository.updateMovement(game, 4L, 0);
+    }
+
+    @Test
+    public void deleteById_shouldRemoveTheGame() {
+        // given
+        gameRepository.save(buildGame());
+
+        // when
+        gameRepository.deleteById(GAME_ID);
+
+        // then
+        assertFalse(gameRepository.findById(GAME_ID).isPresent());
+    }
+
+    private Game buildGame() {
+        return Game.builder()
+                .gameId(GAME_ID)
+                .gameStatus(RUNNING)
+                .nextPlayer(PLAYER_ONE)
+                .board(Board.builder()
+                               .pits(new int[] {6, 6, 6, 6, 6, 6, 0, 6, 6, 6, 6, 6, 6, 0})
+                               .build())
+                .build();
+    }
+}
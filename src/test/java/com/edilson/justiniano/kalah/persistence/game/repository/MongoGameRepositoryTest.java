@@ -0,0 +1,122 @@
+package com.edilson.justiniano.kalah.persistence.game.repository;
+
+import com.edilson.justiniano.kalah.persistence.game.model.Board;
+import com.edilson.justiniano.kalah.persistence.game.model.Game;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mock.env.MockEnvironment;
+
+import static com.edilson.justiniano.kalah.persistence.game.model.GameStatus.RUNNING;
+import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_ONE;
+import static com.edilson.justiniano.kalah.persistence.game.model.Player.PLAYER_TWO;
+import static com.edilson.justiniano.kalah.persistence.game.repository.MongoGameRepository.FIELD_BOARD;
+import static com.edilson.justiniano.kalah.persistence.game.repository.MongoGameRepository.FIELD_ID;
+import static com.edilson.justiniano.kalah.persistence.game.repository.MongoGameRepository.FIELD_MOVES;
+import static com.edilson.justiniano.kalah.persistence.game.repository.MongoGameRepository.FIELD_SNAPSHOT_MOVES;
+import static com.edilson.justiniano.kalah.persistence.game.repository.MongoGameRepository.FIELD_VERSION;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link MongoGameRepository} class
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MongoGameRepositoryTest {
+
+    private static final String GAME_ID = "gameId";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private MongoGameRepository gameRepository;
+
+    @Before
+    public void setUp() {
+        gameRepository = new MongoGameRepository(mongoTemplate, new MockEnvironment()
+                .withProperty("kalah.journal.snapshot-interval", "4"));
+    }
+
+    @Test
+    public void updateMovement_shouldAppendOnlyTheNewMovementsWhenOnThePreviousVersion() {
+        // given
+        Game game = buildGame(3);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        given(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Game.class)))
+                .willReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // when
+        gameRepository.updateMovement(game, 4L, 1);
+
+        // then
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(Game.class));
+        Document filter = query.getValue().getQueryObject();
+        assertThat(filter.get(FIELD_ID), equalTo(GAME_ID));
+        assertThat(filter.get(FIELD_VERSION), equalTo(4L));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertThat(set.get(FIELD_VERSION), equalTo(5L));
+        assertFalse(set.containsKey(FIELD_BOARD));
+        Document push = (Document) update.getValue().getUpdateObject().get("$push");
+        assertThat(((Update.Modifiers) push.get(FIELD_MOVES)).getModifiers().iterator().next().getValue(),
+                   equalTo(game.movesAfter(1).toArray()));
+    }
+
+    @Test
+    public void updateMovement_passingTheSnapshotInterval_shouldWriteTheBoard() {
+        // given
+        Game game = buildGame(5);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        given(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Game.class)))
+                .willReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // when
+        gameRepository.updateMovement(game, 4L, 3);
+
+        // then
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(Game.class));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertThat(set.get(FIELD_BOARD), equalTo(game.getBoard()));
+        assertThat(set.get(FIELD_SNAPSHOT_MOVES), equalTo(5));
+    }
+
+    @Test(expected = OptimisticLockingFailureException.class)
+    public void updateMovement_withAnotherVersionStored_shouldThrowException() {
+        // given
+        given(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Game.class)))
+                .willReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        // when
+        gameRepository.updateMovement(buildGame(1), 4L, 0);
+    }
+
+    private Game buildGame(int moves) {
+        Game game = Game.builder()
+                .gameId(GAME_ID)
+                .version(5L)
+                .gameStatus(RUNNING)
+                .nextPlayer(PLAYER_TWO)
+                .board(Board.builder()
+                               .pits(new int[] {0, 7, 7, 7, 7, 7, 1, 6, 6, 6, 6, 6, 6, 0})
+                               .build())
+                .build();
+        for (int i = 0; i < moves; i++) {
+            game.recordMove(i % 6, PLAYER_ONE, i);
+        }
+        return game;
+    }
+}
@@ -0,0 +1,100 @@
+package com.edilson.justiniano.kalah.simulation;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.SplittableRandom;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link SimulationRunner} class
+ */
+@RunWith(JUnit4.class)
+public class SimulationRunnerTest {
+
+    private static final long NUMBER_OF_GAMES = 2_000;
+    private static final long SEED = 42L;
+
+    private static SimulationRunner runner;
+
+    @BeforeClass
+    public static void setUp() {
+        runner = new SimulationRunner(4);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        runner.close();
+    }
+
+    @Test
+    public void run_shouldPlayAllTheGames() {
+        // given
+        SimulationSettings settings = SimulationSettings.builder()
+                .numberOfGames(NUMBER_OF_GAMES)
+                .seed(SEED)
+                .build();
+
+        // when
+        SimulationReport report = runner.run(settings);
+
+        // then
+        assertThat(report.getNumberOfGames(), equalTo(NUMBER_OF_GAMES));
+        assertThat(report.getPlayerOneWins() + report.getPlayerTwoWins() + report.getDraws(), equalTo(NUMBER_OF_GAMES));
+        assertTrue(report.getAverageGameLength() > 1);
+        assertTrue(report.getFirstPlayerWinRate() > 0 && report.getFirstPlayerWinRate() < 1);
+    }
+
+    @Test
+    public void run_withTheSameSeed_shouldPlayTheSameGames() {
+        // given
+        SimulationSettings settings = SimulationSettings.builder()
+                .pitsPerSide(4)
+                .seedsPerPit(3)
+                .numberOfGames(NUMBER_OF_GAMES)
+                .seed(SEED)
+                .playerTwoPolicy(new ExtraTurnMovePolicy())
+                .build();
+
+        // when
+        SimulationReport firstReport = runner.run(settings);
+        SimulationReport secondReport = runner.run(settings);
+
+        // then
+        assertThat(secondReport.getNumberOfMoves(), equalTo(firstReport.getNumberOfMoves()));
+        assertThat(secondReport.getPlayerOneWins(), equalTo(firstReport.getPlayerOneWins()));
+        assertThat(secondReport.getDraws(), equalTo(firstReport.getDraws()));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void run_withInvalidBoard_shouldThrowIllegalArgumentException() {
+        // given
+        SimulationSettings settings = SimulationSettings.builder()
+                .pitsPerSide(20)
+                .build();
+
+        // when
+        runner.run(settings);
+
+        // then throw IllegalArgumentException
+    }
+
+    @Test
+    public void randomMove_shouldOnlyReturnLegalMoves() {
+        // given
+        SplittableRandom random = new SplittableRandom(SEED);
+        int legalMoves = 0b1010_0100_0000;
+
+        // when and then
+        for (int i = 0; i < 100; i++) {
+            int pitIndex = RandomMovePolicy.randomMove(legalMoves, random);
+            assertTrue(pitIndex == 6 || pitIndex == 9 || pitIndex == 11);
+        }
+    }
+}